@@ -0,0 +1,46 @@
+package com.codedreamplus.auto.benchmark;
+
+import com.codedreamplus.auto.service.AutoServiceLoader;
+import com.codedreamplus.auto.service.AutoServiceRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: [spi 加载基准测试]</p >
+ * Created on 2026-10-17
+ * <p>对比 {@link ServiceLoader} 读取生成的 META-INF/services 文件、{@link AutoServiceLoader} 读取服务索引
+ * 与 {@link AutoServiceRegistry} 读取缓存三种方式获取 {@code @AutoService} 实现的开销</p>
+ *
+ * @author mo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutoServiceBenchmark {
+
+    @Benchmark
+    public List<BenchmarkService> serviceLoader() {
+        List<BenchmarkService> services = new ArrayList<>();
+        for (BenchmarkService service : ServiceLoader.load(BenchmarkService.class)) {
+            services.add(service);
+        }
+        return services;
+    }
+
+    @Benchmark
+    public List<BenchmarkService> autoServiceLoader() {
+        return AutoServiceLoader.load(BenchmarkService.class);
+    }
+
+    @Benchmark
+    public List<BenchmarkService> autoServiceRegistry() {
+        return AutoServiceRegistry.getAll(BenchmarkService.class);
+    }
+}
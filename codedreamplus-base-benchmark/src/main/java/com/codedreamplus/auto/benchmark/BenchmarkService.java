@@ -0,0 +1,16 @@
+package com.codedreamplus.auto.benchmark;
+
+/**
+ * <p>Description: [spi 基准测试接口]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+public interface BenchmarkService {
+    /**
+     * 服务名称
+     *
+     * @return name
+     */
+    String name();
+}
@@ -0,0 +1,17 @@
+package com.codedreamplus.auto.benchmark;
+
+import com.codedreamplus.auto.service.AutoService;
+
+/**
+ * <p>Description: [spi 基准测试实现 1]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+@AutoService(value = BenchmarkService.class, order = 1)
+public class BenchmarkService1 implements BenchmarkService {
+    @Override
+    public String name() {
+        return "service-1";
+    }
+}
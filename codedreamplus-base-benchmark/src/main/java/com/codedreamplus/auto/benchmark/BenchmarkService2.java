@@ -0,0 +1,17 @@
+package com.codedreamplus.auto.benchmark;
+
+import com.codedreamplus.auto.service.AutoService;
+
+/**
+ * <p>Description: [spi 基准测试实现 2]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+@AutoService(value = BenchmarkService.class, order = 2)
+public class BenchmarkService2 implements BenchmarkService {
+    @Override
+    public String name() {
+        return "service-2";
+    }
+}
@@ -0,0 +1,72 @@
+package com.codedreamplus.auto.benchmark;
+
+import com.codedreamplus.auto.properties.CodeDreamPropertySourcePostProcessor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: [属性查找基准测试]</p >
+ * Created on 2026-10-17
+ * <p>测量加载完成后 {@code Environment.getProperty} 的吞吐量：hit 依次读取各个文件中的 key，
+ * miss 读取不存在的 key，需要遍历全部 PropertySource</p>
+ *
+ * @author mo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvironmentLookupBenchmark {
+    @Param({"100", "1000"})
+    public int keyCount;
+    @Param({"1", "10", "50"})
+    public int fileCount;
+    @Param({"0", "2"})
+    public int profileCount;
+    @Param({"false", "true"})
+    public boolean composite;
+
+    private PropertyFixture fixture;
+    private ConfigurableEnvironment environment;
+    private String[] keys;
+
+    @Setup
+    public void setup() throws IOException {
+        fixture = new PropertyFixture(keyCount, fileCount, profileCount);
+        Map<String, Object> settings = new HashMap<>(4);
+        settings.put(CodeDreamPropertySourcePostProcessor.COMPOSITE_PROPERTY, composite);
+        settings.put(CodeDreamPropertySourcePostProcessor.METRICS_PROPERTY, false);
+        environment = fixture.load(settings);
+        keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = fixture.key(i * 31);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fixture.delete();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public String hit(Cursor cursor) {
+        return environment.getProperty(keys[cursor.next++ & (keys.length - 1)]);
+    }
+
+    @Benchmark
+    public String miss() {
+        return environment.getProperty("codedream.benchmark.missing");
+    }
+}
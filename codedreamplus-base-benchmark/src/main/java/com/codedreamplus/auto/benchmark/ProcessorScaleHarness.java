@@ -0,0 +1,190 @@
+package com.codedreamplus.auto.benchmark;
+
+import com.codedreamplus.auto.factories.SpringFactoryProcessor;
+import com.codedreamplus.auto.properties.CodeDreamPropertySourceProcessor;
+import com.codedreamplus.auto.service.AutoServiceProcessor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * <p>Description: [注解处理器编译规模回归测试]</p >
+ * Created on 2026-10-17
+ * <p>按 {@link SyntheticSources} 生成不同规模的源码，通过 {@link JavaCompiler} 在当前进程内分别以 -proc:none
+ * 与只启用本项目的三个处理器编译，取多次编译中的最小耗时与最小内存分配，输出处理器带来的额外开销。
+ * 参数为 key=value 形式：
+ * classes(类数量，逗号分隔，默认 1000,10000,50000)、depth(组合注解层数，默认 3)、fanOut(每个 {@code @AutoService} 的接口数，默认 4)、
+ * warmup(预热轮数，不计入结果，默认 3)、runs(计入结果的轮数，默认 3，每一轮两种编译各一次并交替先后顺序)、maxOverhead(允许的耗时开销百分比，默认 100)、
+ * baseline(上一次的结果文件，开销超出其中同规模结果 tolerance 个百分点时失败)、tolerance(默认 10)、result(结果文件，默认 compile-scale.json)。
+ * 超出阈值时以状态码 1 退出，可直接用于 CI；
+ * 通过 processor-scale profile 在模块的 verify 阶段执行，默认不执行</p>
+ *
+ * @author mo
+ */
+public final class ProcessorScaleHarness {
+    private static final String PROCESSORS = String.join(",", AutoServiceProcessor.class.getName(),
+            SpringFactoryProcessor.class.getName(), CodeDreamPropertySourceProcessor.class.getName());
+
+    private ProcessorScaleHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (index < 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            options.put(arg.substring(0, index), arg.substring(index + 1));
+        }
+        int depth = Integer.parseInt(options.getOrDefault("depth", "3"));
+        int fanOut = Integer.parseInt(options.getOrDefault("fanOut", "4"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "3"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        double maxOverhead = Double.parseDouble(options.getOrDefault("maxOverhead", "100"));
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "10"));
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        JsonNode baseline = options.containsKey("baseline") ? objectMapper.readTree(new File(options.get("baseline"))) : null;
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (String classes : options.getOrDefault("classes", "1000,10000,50000").split(",")) {
+            int classCount = Integer.parseInt(classes.trim());
+            SyntheticSources sources = new SyntheticSources(classCount, depth, fanOut);
+            try {
+                Measurement[] measurements = measure(sources, warmup, runs);
+                Measurement plain = measurements[0];
+                Measurement processed = measurements[1];
+                double timeOverhead = overhead(processed.millis, plain.millis);
+                double memoryOverhead = overhead(processed.allocatedBytes, plain.allocatedBytes);
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("classes", classCount);
+                result.put("depth", depth);
+                result.put("fanOut", fanOut);
+                result.put("plainMillis", plain.millis);
+                result.put("processedMillis", processed.millis);
+                result.put("plainAllocatedBytes", plain.allocatedBytes);
+                result.put("processedAllocatedBytes", processed.allocatedBytes);
+                result.put("timeOverheadPercent", round(timeOverhead));
+                result.put("memoryOverheadPercent", round(memoryOverhead));
+                results.add(result);
+                System.out.printf("classes=%d  -proc:none %d ms %d MB  processors %d ms %d MB  overhead time %.1f%% memory %.1f%%%n",
+                        classCount, plain.millis, plain.allocatedBytes >> 20, processed.millis, processed.allocatedBytes >> 20,
+                        timeOverhead, memoryOverhead);
+
+                if (timeOverhead > maxOverhead) {
+                    failures.add(String.format("classes=%d time overhead %.1f%% > %.1f%%", classCount, timeOverhead, maxOverhead));
+                }
+                JsonNode previous = find(baseline, classCount, depth, fanOut);
+                if (previous != null) {
+                    check(failures, classCount, "time", timeOverhead, previous.path("timeOverheadPercent").asDouble(), tolerance);
+                    check(failures, classCount, "memory", memoryOverhead, previous.path("memoryOverheadPercent").asDouble(), tolerance);
+                }
+            } finally {
+                sources.delete();
+            }
+        }
+        objectMapper.writeValue(new File(options.getOrDefault("result", "compile-scale.json")), results);
+        if (!failures.isEmpty()) {
+            failures.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 预热后多次编译，取最小值；每一轮交替两种编译的先后顺序，避免先执行的一方总是承担 JIT 预热与 GC 的开销
+     *
+     * @return 下标 0 为 -proc:none，1 为启用处理器
+     */
+    private static Measurement[] measure(SyntheticSources sources, int warmup, int runs) throws IOException {
+        String[][] processorOptions = {{"-proc:none"}, {"-processor", PROCESSORS}};
+        Measurement[] best = new Measurement[2];
+        for (int run = 0; run < warmup + runs; run++) {
+            for (int i = 0; i < 2; i++) {
+                int kind = (run + i) % 2;
+                Measurement measurement = compile(sources, processorOptions[kind]);
+                if (run >= warmup) {
+                    best[kind] = best[kind] == null ? measurement : best[kind].min(measurement);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static Measurement compile(SyntheticSources sources, String... processorOptions) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Path output = sources.output("classes");
+        List<String> options = new ArrayList<>(Arrays.asList("-d", output.toString(),
+                "-classpath", System.getProperty("java.class.path"), "-implicit:none", "-nowarn"));
+        options.addAll(Arrays.asList(processorOptions));
+        StringWriter diagnostics = new StringWriter();
+        System.gc();
+        long allocated = threadBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, Locale.ROOT, null)) {
+            boolean success = compiler.getTask(diagnostics, fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromPaths(sources.getFiles())).call();
+            if (!success) {
+                throw new IllegalStateException("Compilation failed:\n" + diagnostics);
+            }
+        }
+        return new Measurement((System.nanoTime() - start) / 1_000_000, threadBean.getCurrentThreadAllocatedBytes() - allocated);
+    }
+
+    private static JsonNode find(JsonNode baseline, int classCount, int depth, int fanOut) {
+        if (baseline == null) {
+            return null;
+        }
+        for (JsonNode result : baseline) {
+            if (result.path("classes").asInt() == classCount && result.path("depth").asInt() == depth
+                    && result.path("fanOut").asInt() == fanOut) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static void check(List<String> failures, int classCount, String metric, double overhead, double previous, double tolerance) {
+        if (overhead > previous + tolerance) {
+            failures.add(String.format("classes=%d %s overhead %.1f%% regressed from baseline %.1f%% (tolerance %.1f)",
+                    classCount, metric, overhead, previous, tolerance));
+        }
+    }
+
+    private static double overhead(long processed, long plain) {
+        return plain == 0 ? 0 : (processed - plain) * 100.0 / plain;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    /**
+     * 一次编译的耗时与当前线程的内存分配量
+     */
+    private static final class Measurement {
+        private final long millis;
+        private final long allocatedBytes;
+
+        private Measurement(long millis, long allocatedBytes) {
+            this.millis = millis;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        private Measurement min(Measurement other) {
+            return new Measurement(Math.min(millis, other.millis), Math.min(allocatedBytes, other.allocatedBytes));
+        }
+    }
+}
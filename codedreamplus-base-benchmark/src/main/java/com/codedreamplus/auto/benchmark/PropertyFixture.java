@@ -0,0 +1,122 @@
+package com.codedreamplus.auto.benchmark;
+
+import com.codedreamplus.auto.properties.CodeDreamPropertySource;
+import com.codedreamplus.auto.properties.CodeDreamPropertySourcePostProcessor;
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.type.StandardAnnotationMetadata;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>Description: [基准测试用的配置文件]</p >
+ * Created on 2026-10-17
+ * <p>在临时目录中生成 fileCount 个 properties 文件，每个文件 keyCount 个 key；每个文件的每个 profile
+ * 都会被查找，其中偶数序号的 profile 文件真实存在。每个文件通过一个带 {@link CodeDreamPropertySource}
+ * 元数据的 bean 定义注册，无需为每个文件编写类</p>
+ *
+ * @author mo
+ */
+final class PropertyFixture {
+    private final Path directory;
+    private final int keyCount;
+    private final int fileCount;
+    private final String[] profiles;
+
+    PropertyFixture(int keyCount, int fileCount, int profileCount) throws IOException {
+        this.directory = Files.createTempDirectory("codedream-benchmark");
+        this.keyCount = keyCount;
+        this.fileCount = fileCount;
+        this.profiles = new String[profileCount];
+        for (int i = 0; i < profileCount; i++) {
+            profiles[i] = "p" + i;
+        }
+        for (int file = 0; file < fileCount; file++) {
+            write(directory.resolve("file" + file + ".properties"), file, "base");
+            for (int profile = 0; profile < profileCount; profile += 2) {
+                write(directory.resolve("file" + file + "-" + profiles[profile] + ".properties"), file, profiles[profile]);
+            }
+        }
+    }
+
+    /**
+     * 第 index 个 key，分布在所有文件中
+     *
+     * @param index 序号
+     * @return key
+     */
+    String key(int index) {
+        return "codedream.benchmark.file" + (index % fileCount) + ".key" + (index / fileCount % keyCount);
+    }
+
+    /**
+     * 执行一次 {@link CodeDreamPropertySourcePostProcessor#postProcessBeanFactory}
+     *
+     * @param settings 配置项，如 codedream.property-source.parallel
+     * @return 加载完成的 Environment
+     */
+    ConfigurableEnvironment load(Map<String, Object> settings) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", settings));
+        environment.setActiveProfiles(profiles);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("environment", environment);
+        for (int file = 0; file < fileCount; file++) {
+            beanFactory.registerBeanDefinition("file" + file, new AnnotatedGenericBeanDefinition(
+                    new PropertySourceMetadata("file:" + directory.resolve("file" + file + ".properties"), file)));
+        }
+        CodeDreamPropertySourcePostProcessor postProcessor = new CodeDreamPropertySourcePostProcessor();
+        postProcessor.postProcessBeanFactory(beanFactory);
+        return environment;
+    }
+
+    void delete() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private void write(Path path, int file, String value) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, UTF_8)) {
+            for (int key = 0; key < keyCount; key++) {
+                writer.write("codedream.benchmark.file" + file + ".key" + key + "=" + value + "-" + key + "\n");
+            }
+        }
+    }
+
+    /**
+     * 只包含 {@link CodeDreamPropertySource} 的类元数据
+     */
+    @SuppressWarnings("deprecation")
+    private static final class PropertySourceMetadata extends StandardAnnotationMetadata {
+        private final MergedAnnotations annotations;
+
+        private PropertySourceMetadata(String location, int order) {
+            super(Object.class, true);
+            Map<String, Object> attributes = new HashMap<>(4);
+            attributes.put("value", location);
+            attributes.put("order", order);
+            this.annotations = MergedAnnotations.of(Collections.singleton(MergedAnnotation.of(CodeDreamPropertySource.class, attributes)));
+        }
+
+        @Override
+        public MergedAnnotations getAnnotations() {
+            return annotations;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.codedreamplus.auto.benchmark;
+
+import com.codedreamplus.auto.properties.CodeDreamPropertySourcePostProcessor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: [配置文件加载基准测试]</p >
+ * Created on 2026-10-17
+ * <p>测量一次 {@link CodeDreamPropertySourcePostProcessor#postProcessBeanFactory} 的耗时，
+ * 包括查找 bean 定义上的注解、查找 profile 文件与解析全部配置文件</p>
+ *
+ * @author mo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertySourceLoadBenchmark {
+    @Param({"100", "1000"})
+    public int keyCount;
+    @Param({"1", "10", "50"})
+    public int fileCount;
+    @Param({"0", "2"})
+    public int profileCount;
+    @Param({"true", "false"})
+    public boolean parallel;
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private PropertyFixture fixture;
+    private Map<String, Object> settings;
+
+    @Setup
+    public void setup() throws IOException {
+        fixture = new PropertyFixture(keyCount, fileCount, profileCount);
+        settings = new HashMap<>(4);
+        settings.put(CodeDreamPropertySourcePostProcessor.PARALLEL_PROPERTY, parallel);
+        settings.put(CodeDreamPropertySourcePostProcessor.METRICS_PROPERTY, false);
+        settings.put(CodeDreamPropertySourcePostProcessor.CACHE_PROPERTY, cache);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public ConfigurableEnvironment postProcessBeanFactory() {
+        return fixture.load(settings);
+    }
+}
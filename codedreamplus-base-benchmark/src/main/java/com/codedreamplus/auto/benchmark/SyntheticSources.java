@@ -0,0 +1,131 @@
+package com.codedreamplus.auto.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>Description: [编译规模测试用的合成源码]</p >
+ * Created on 2026-10-17
+ * <p>在临时目录中生成 classCount 个类，按序号轮流为：
+ * 标注 {@code @Component} 或多层组合注解的组件、实现 fanOut 个接口的 {@code @AutoService} 实现、
+ * 实现 {@code ApplicationListener} 的 spring.factories 类、不含任何注解的普通类。
+ * 组合注解 Meta0 标注 {@code @Component}，MetaN 标注 MetaN-1，共 metaDepth 层；类分布在 100 个包中</p>
+ *
+ * @author mo
+ */
+final class SyntheticSources {
+    private static final int PACKAGE_COUNT = 100;
+    private static final String BASE_PACKAGE = "com.codedreamplus.synthetic";
+
+    private final Path directory;
+    private final List<Path> files = new ArrayList<>();
+
+    SyntheticSources(int classCount, int metaDepth, int fanOut) throws IOException {
+        this.directory = Files.createTempDirectory("codedream-synthetic");
+        for (int depth = 0; depth < metaDepth; depth++) {
+            String annotation = depth == 0 ? "org.springframework.stereotype.Component" : BASE_PACKAGE + ".meta.Meta" + (depth - 1);
+            write("meta", "Meta" + depth, "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+                    + "@java.lang.annotation.Target(java.lang.annotation.ElementType.TYPE)\n"
+                    + "@" + annotation + "\n"
+                    + "public @interface Meta" + depth + " {\n}\n");
+        }
+        StringJoiner services = new StringJoiner(", ");
+        StringJoiner serviceClasses = new StringJoiner(", ");
+        for (int service = 0; service < fanOut; service++) {
+            write("api", "Service" + service, "public interface Service" + service + " {\n}\n");
+            services.add(BASE_PACKAGE + ".api.Service" + service);
+            serviceClasses.add(BASE_PACKAGE + ".api.Service" + service + ".class");
+        }
+        for (int i = 0; i < classCount; i++) {
+            String packageName = "p" + (i % PACKAGE_COUNT);
+            String className = "Synthetic" + i;
+            switch (i % 4) {
+                case 0:
+                    // 直接标注 @Component 或第 n 层组合注解
+                    int depth = i / 4 % (metaDepth + 1);
+                    String annotation = depth == 0 ? "org.springframework.stereotype.Component" : BASE_PACKAGE + ".meta.Meta" + (depth - 1);
+                    write(packageName, className, "@" + annotation + "\npublic class " + className + " {\n}\n");
+                    break;
+                case 1:
+                    if (fanOut > 0) {
+                        write(packageName, className, "@com.codedreamplus.auto.service.AutoService({" + serviceClasses + "})\n"
+                                + "public class " + className + " implements " + services + " {\n}\n");
+                        break;
+                    }
+                    // fanOut 为 0 时按 spring.factories 类生成
+                case 2:
+                    write(packageName, className, "@com.codedreamplus.auto.factories.AutoFactories\n"
+                            + "public class " + className + " implements org.springframework.context.ApplicationListener"
+                            + "<org.springframework.context.event.ContextRefreshedEvent> {\n"
+                            + "    @Override\n"
+                            + "    public void onApplicationEvent(org.springframework.context.event.ContextRefreshedEvent event) {\n"
+                            + "    }\n"
+                            + "}\n");
+                    break;
+                default:
+                    write(packageName, className, "public class " + className + " {\n"
+                            + "    private final int value = " + i + ";\n\n"
+                            + "    public int getValue() {\n"
+                            + "        return value;\n"
+                            + "    }\n"
+                            + "}\n");
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 生成的全部源文件
+     *
+     * @return 源文件
+     */
+    List<Path> getFiles() {
+        return files;
+    }
+
+    /**
+     * 创建编译输出目录
+     *
+     * @param name 目录名
+     * @return 空目录
+     * @throws IOException 删除失败
+     */
+    Path output(String name) throws IOException {
+        Path output = directory.resolve(name);
+        delete(output);
+        return Files.createDirectories(output);
+    }
+
+    void delete() throws IOException {
+        delete(directory);
+    }
+
+    private void write(String packageName, String className, String body) throws IOException {
+        Path file = directory.resolve("src").resolve(packageName).resolve(className + ".java");
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+            writer.write("package " + BASE_PACKAGE + "." + packageName + ";\n\n" + body);
+        }
+        files.add(file);
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
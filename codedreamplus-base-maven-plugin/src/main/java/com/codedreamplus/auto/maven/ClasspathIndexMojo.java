@@ -0,0 +1,73 @@
+package com.codedreamplus.auto.maven;
+
+import com.codedreamplus.auto.index.ClasspathIndex;
+import com.codedreamplus.auto.index.ClasspathIndexCompiler;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Description: [生成 classpath 索引]</p >
+ * Created on 2026-10-17
+ * <p>在 prepare-package 阶段按运行时 classpath 顺序(classes 目录在前，依赖在后)合并 spring.factories 与 META-INF/services，
+ * 写入 classes 目录下的 {@link ClasspathIndex#INDEX_RESOURCE_LOCATION}，随 jar 包(以及 spring-boot 可执行 jar)一起打包。
+ * 只应在应用模块中使用，应用启动时调用 {@link ClasspathIndex#install(Class)} 生效</p>
+ *
+ * @author mo
+ */
+@Mojo(name = "index", defaultPhase = LifecyclePhase.PREPARE_PACKAGE, requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class ClasspathIndexMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * 索引写入的目录
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * 跳过生成
+     */
+    @Parameter(property = "codedream.index.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping classpath index.");
+            return;
+        }
+        List<Path> classpath = new ArrayList<>();
+        try {
+            for (String element : project.getRuntimeClasspathElements()) {
+                classpath.add(new File(element).toPath());
+            }
+        } catch (DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Failed to resolve the runtime classpath", e);
+        }
+        ClasspathIndexCompiler compiler = new ClasspathIndexCompiler();
+        try {
+            compiler.addAll(classpath);
+            ClasspathIndex index = compiler.toIndex();
+            boolean written = compiler.write(outputDirectory.toPath());
+            getLog().info(String.format("%s %s: %d factory type(s), %d service(s) from %d classpath entries",
+                    written ? "Wrote" : "Unchanged", ClasspathIndex.INDEX_RESOURCE_LOCATION,
+                    index.getFactories().size(), index.getServices().size(), compiler.getEntries()));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write " + ClasspathIndex.INDEX_RESOURCE_LOCATION, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.codedreamplus.auto.maven;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Description: [生成配置文件快照]</p >
+ * Created on 2026-10-17
+ * <p>在 process-classes 阶段执行 PropertySnapshotCompiler，把 classes 目录中 {@code @CodeDreamPropertySource} 索引引用的配置文件
+ * (包含 profile 文件)编译为 {配置文件名}.cdps 快照。编译器在项目的运行时 classpath 中执行，使用与应用相同的 spring boot 与
+ * PropertySourceLoader，插件本身不依赖 spring；项目的运行时依赖中需要有 codedreamplus-base-properties</p>
+ *
+ * @author mo
+ */
+@Mojo(name = "snapshot", defaultPhase = LifecyclePhase.PROCESS_CLASSES, requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class PropertySnapshotMojo extends AbstractMojo {
+    private static final String COMPILER_CLASS = "com.codedreamplus.auto.properties.PropertySnapshotCompiler";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * 配置文件与索引所在的 classes 目录
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * 只编译这些配置文件(相对于 classes 目录)，默认编译索引中 classpath 下的全部配置文件
+     */
+    @Parameter
+    private List<String> files;
+
+    /**
+     * 跳过生成
+     */
+    @Parameter(property = "codedream.snapshot.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping property snapshots.");
+            return;
+        }
+        List<String> arguments = new ArrayList<>();
+        arguments.add(outputDirectory.getAbsolutePath());
+        if (files != null) {
+            arguments.addAll(files);
+        }
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(getRuntimeClasspath(), getClass().getClassLoader())) {
+            Method main = classLoader.loadClass(COMPILER_CLASS).getMethod("main", String[].class);
+            thread.setContextClassLoader(classLoader);
+            main.invoke(null, (Object) arguments.toArray(new String[0]));
+        } catch (ClassNotFoundException e) {
+            throw new MojoExecutionException(COMPILER_CLASS + " is not on the runtime classpath, add codedreamplus-base-properties", e);
+        } catch (InvocationTargetException e) {
+            throw new MojoExecutionException("Failed to compile property snapshots", e.getCause());
+        } catch (ReflectiveOperationException | IOException e) {
+            throw new MojoExecutionException("Failed to compile property snapshots", e);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private URL[] getRuntimeClasspath() throws MojoExecutionException {
+        List<URL> urls = new ArrayList<>();
+        try {
+            for (String element : project.getRuntimeClasspathElements()) {
+                urls.add(new File(element).toURI().toURL());
+            }
+        } catch (DependencyResolutionRequiredException | MalformedURLException e) {
+            throw new MojoExecutionException("Failed to resolve the runtime classpath", e);
+        }
+        return urls.toArray(new URL[0]);
+    }
+}
@@ -0,0 +1,325 @@
+package com.codedreamplus.auto.common;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+
+/**
+ * <p>Description: [注解处理器公共父类]</p >
+ * Created on 2026-10-17
+ * <p>封装资源文件的回读与写入，供增量编译时合并上一次生成的内容</p>
+ *
+ * @author mo
+ */
+public abstract class AbstractCodeDreamProcessor extends AbstractProcessor {
+    /**
+     * 为 true 时通过 Messager 输出编译期统计摘要，配置 debug 参数时同样输出
+     */
+    public static final String STATS_OPTION = "codedream.stats";
+    /**
+     * 统计文件目录，配置后同样输出统计，并写入 {目录}/{处理器}.json；不写入 CLASS_OUTPUT，统计文件不会被打进 jar 包
+     */
+    public static final String STATS_DIR_OPTION = "codedream.stats.dir";
+    /**
+     * 为 true 时生成 GraalVM native-image 元数据：META-INF/native-image/{group}/{artifact}/{处理器}/ 下的
+     * reflect-config.json 与 resource-config.json
+     */
+    public static final String NATIVE_IMAGE_OPTION = "codedream.nativeImage";
+    /**
+     * native-image 元数据目录中的 group，建议与模块的 groupId 一致
+     */
+    public static final String NATIVE_IMAGE_GROUP_OPTION = "codedream.nativeImage.group";
+    /**
+     * native-image 元数据目录中的 artifact，建议与模块的 artifactId 一致，同一应用的多个模块不能相同
+     */
+    public static final String NATIVE_IMAGE_ARTIFACT_OPTION = "codedream.nativeImage.artifact";
+    private static final String DEBUG_OPTION = "debug";
+    protected Elements elementUtils;
+    protected Types typeUtils;
+    protected Filer filer;
+    protected Messager messager;
+    protected ProcessorStats stats;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elementUtils = processingEnv.getElementUtils();
+        this.typeUtils = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+        this.stats = new ProcessorStats(getClass().getSimpleName());
+    }
+
+    /**
+     * 子类声明的参数以及公共参数
+     *
+     * @return 支持的参数
+     */
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new LinkedHashSet<>(super.getSupportedOptions());
+        options.add(DEBUG_OPTION);
+        options.add(STATS_OPTION);
+        options.add(STATS_DIR_OPTION);
+        options.add(NATIVE_IMAGE_OPTION);
+        options.add(NATIVE_IMAGE_GROUP_OPTION);
+        options.add(NATIVE_IMAGE_ARTIFACT_OPTION);
+        return options;
+    }
+
+    /**
+     * 统计每一轮的耗时后交给 {@link #processRound} 处理，最后一轮结束后输出统计
+     */
+    @Override
+    public final boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        long start = System.nanoTime();
+        boolean claimed = processRound(annotations, roundEnv);
+        stats.round(System.nanoTime() - start);
+        if (roundEnv.processingOver() && isStatsEnabled()) {
+            writeStats();
+        }
+        return claimed;
+    }
+
+    /**
+     * 处理一轮注解
+     *
+     * @param annotations 请求处理的注解类型
+     * @param roundEnv    有关当前和上一轮信息的环境
+     * @return 是否声明了这些注解
+     */
+    protected abstract boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv);
+
+    private boolean isStatsEnabled() {
+        Map<String, String> options = processingEnv.getOptions();
+        String debug = options.get(DEBUG_OPTION);
+        return "true".equalsIgnoreCase(options.get(STATS_OPTION)) || options.containsKey(STATS_DIR_OPTION)
+                || (options.containsKey(DEBUG_OPTION) && !"false".equalsIgnoreCase(debug));
+    }
+
+    private void writeStats() {
+        note("%s", stats.summary());
+        String directory = processingEnv.getOptions().get(STATS_DIR_OPTION);
+        if (directory == null || directory.trim().isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(directory.trim(), getClass().getSimpleName() + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, stats.toJson().getBytes(UTF_8));
+        } catch (IOException e) {
+            warn("Failed to write %s: %s", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 最大支持的源码等级
+     *
+     * @return {@link SourceVersion}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * 读取 CLASS_OUTPUT 下上一次编译生成的资源文件，文件不存在时不做处理
+     *
+     * @param resourceFile 资源路径
+     * @param reader       读取回调
+     * @return 文件是否存在
+     */
+    protected boolean readResource(String resourceFile, ResourceReader reader) {
+        try {
+            FileObject resource = filer.getResource(CLASS_OUTPUT, "", resourceFile);
+            try (InputStream input = resource.openInputStream()) {
+                reader.read(input);
+            }
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            // 全量编译或首次编译时文件不存在
+            return false;
+        }
+    }
+
+    /**
+     * 写入 CLASS_OUTPUT 下的资源文件，每行以 \n 结尾，与平台无关
+     * <p>内容与已存在的文件完全一致时不再写入，文件及其修改时间保持不变，避免下游重新打包、重新测试</p>
+     *
+     * @param resourceFile        资源路径
+     * @param originatingElements 产生该文件的元素，供增量编译追踪
+     * @param lines               文件内容，调用方需保证顺序固定
+     * @throws IOException 抛出io异常
+     */
+    protected void writeResource(String resourceFile, Collection<? extends Element> originatingElements,
+                                 Collection<String> lines) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (String line : lines) {
+            builder.append(line).append('\n');
+        }
+        byte[] content = builder.toString().getBytes(UTF_8);
+        byte[][] existing = new byte[1][];
+        if (readResource(resourceFile, input -> existing[0] = input.readAllBytes()) && Arrays.equals(existing[0], content)) {
+            stats.increment("resourcesUnchanged");
+            stats.written(resourceFile, 0);
+            return;
+        }
+        Element[] elements = originatingElements.toArray(new Element[0]);
+        FileObject resource = filer.createResource(CLASS_OUTPUT, "", resourceFile, elements);
+        try (OutputStream output = resource.openOutputStream()) {
+            output.write(content);
+        }
+        stats.written(resourceFile, content.length);
+    }
+
+    /**
+     * 是否生成 native-image 元数据，配置了 group 或 artifact 时同样生成
+     *
+     * @return boolean
+     */
+    protected boolean isNativeImageEnabled() {
+        Map<String, String> options = processingEnv.getOptions();
+        String enabled = options.get(NATIVE_IMAGE_OPTION);
+        if (enabled != null) {
+            return "true".equalsIgnoreCase(enabled);
+        }
+        return options.containsKey(NATIVE_IMAGE_GROUP_OPTION) || options.containsKey(NATIVE_IMAGE_ARTIFACT_OPTION);
+    }
+
+    /**
+     * 写入 native-image 元数据，未开启或没有内容时不做处理；每个处理器使用单独的目录，互不覆盖
+     *
+     * @param metadata            元数据
+     * @param originatingElements 产生元数据的元素
+     * @throws IOException 抛出io异常
+     */
+    protected void writeNativeImageMetadata(NativeImageMetadata metadata, Collection<? extends Element> originatingElements) throws IOException {
+        if (!isNativeImageEnabled() || metadata.isEmpty()) {
+            return;
+        }
+        Map<String, String> options = processingEnv.getOptions();
+        String directory = "META-INF/native-image/" + options.getOrDefault(NATIVE_IMAGE_GROUP_OPTION, "com.codedreamplus")
+                + "/" + options.getOrDefault(NATIVE_IMAGE_ARTIFACT_OPTION, "codedream-generated")
+                + "/" + getClass().getSimpleName() + "/";
+        if (metadata.hasTypes()) {
+            writeResource(directory + "reflect-config.json", originatingElements, metadata.toReflectConfig());
+        }
+        if (metadata.hasResources()) {
+            writeResource(directory + "resource-config.json", originatingElements, metadata.toResourceConfig());
+        }
+    }
+
+    /**
+     * 类的二进制名称，嵌套类为 Outer$Inner，找不到类时原样返回
+     *
+     * @param className 类名
+     * @return 二进制名称
+     */
+    protected String getBinaryName(String className) {
+        TypeElement element = elementUtils.getTypeElement(className);
+        return element == null ? className : elementUtils.getBinaryName(element).toString();
+    }
+
+    /**
+     * Returns a {@link ExecutableElement} and its associated {@link AnnotationValue} if such
+     * an element was either declared in the usage represented by the provided
+     * {@link AnnotationMirror}, or if such an element was defined with a default.
+     *
+     * @param annotationMirror AnnotationMirror
+     * @param elementName      elementName
+     * @return AnnotationValue map
+     * @throws IllegalArgumentException if no element is defined with the given elementName.
+     */
+    public AnnotationValue getAnnotationValue(AnnotationMirror annotationMirror, String elementName) {
+        Objects.requireNonNull(annotationMirror);
+        Objects.requireNonNull(elementName);
+        for (Map.Entry<ExecutableElement, AnnotationValue> entry : getAnnotationValuesWithDefaults(annotationMirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(elementName)) {
+                return entry.getValue();
+            }
+        }
+        throw new IllegalArgumentException(String.format("does not define an element %s()", elementName));
+    }
+
+    /**
+     * Returns the {@link AnnotationMirror}'s map of {@link AnnotationValue} indexed by {@link
+     * ExecutableElement}, supplying default values from the annotation if the annotation property has
+     * not been set. This is equivalent to {@link
+     * Elements#getElementValuesWithDefaults(AnnotationMirror)} but can be called statically without
+     * an {@link Elements} instance.
+     *
+     * <p>The iteration order of elements of the returned map will be the order in which the {@link
+     * ExecutableElement}s are defined in {@code annotation}'s {@linkplain
+     * AnnotationMirror#getAnnotationType() type}.
+     *
+     * @param annotation AnnotationMirror
+     * @return AnnotationValue Map
+     */
+    public Map<ExecutableElement, AnnotationValue> getAnnotationValuesWithDefaults(AnnotationMirror annotation) {
+        Map<ExecutableElement, AnnotationValue> values = new HashMap<>(32);
+        Map<? extends ExecutableElement, ? extends AnnotationValue> declaredValues = annotation.getElementValues();
+        for (ExecutableElement method : ElementFilter.methodsIn(annotation.getAnnotationType().asElement().getEnclosedElements())) {
+            // Must iterate and put in this order, to ensure consistency in generated code.
+            if (declaredValues.containsKey(method)) {
+                values.put(method, declaredValues.get(method));
+            } else if (method.getDefaultValue() != null) {
+                values.put(method, method.getDefaultValue());
+            } else {
+
+                throw new IllegalStateException(
+                        "Unset annotation value without default should never happen: " + method.getSimpleName() + "()");
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    protected void note(String msg, Object... args) {
+        messager.printMessage(Diagnostic.Kind.NOTE, String.format(msg, args));
+    }
+
+    protected void warn(String msg, Object... args) {
+        messager.printMessage(Diagnostic.Kind.WARNING, String.format(msg, args));
+    }
+
+    protected void error(Element element, String msg, Object... args) {
+        messager.printMessage(Diagnostic.Kind.ERROR, String.format(msg, args), element);
+    }
+
+    /**
+     * 资源文件读取回调
+     */
+    @FunctionalInterface
+    protected interface ResourceReader {
+        void read(InputStream input) throws IOException;
+    }
+}
@@ -0,0 +1,149 @@
+package com.codedreamplus.auto.common;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * <p>Description: [GraalVM native-image 元数据]</p >
+ * Created on 2026-10-17
+ * <p>收集处理器注册的类与资源文件，生成 reflect-config.json 与 resource-config.json，
+ * 由 {@link AbstractCodeDreamProcessor#writeNativeImageMetadata} 写入 META-INF/native-image 目录，类名与资源均排序，内容固定</p>
+ *
+ * @author mo
+ */
+public class NativeImageMetadata {
+    /**
+     * 通过无参构造器实例化，如 ServiceLoader
+     */
+    public static final String NO_ARGS_CONSTRUCTOR = "noArgsConstructor";
+    /**
+     * 通过任意构造器实例化，如 SpringFactoriesLoader
+     */
+    public static final String ALL_DECLARED_CONSTRUCTORS = "allDeclaredConstructors";
+    /**
+     * 需要读取方法，如 @Bean 方法、生命周期回调
+     */
+    public static final String ALL_DECLARED_METHODS = "allDeclaredMethods";
+    /**
+     * 需要读写字段，如 @Autowired、@Value 字段
+     */
+    public static final String ALL_DECLARED_FIELDS = "allDeclaredFields";
+
+    /**
+     * key 类的二进制名称 -> value 需要反射访问的成员
+     */
+    private final Map<String, Set<String>> types = new TreeMap<>();
+    /**
+     * 资源文件的正则表达式
+     */
+    private final Set<String> resources = new TreeSet<>();
+
+    /**
+     * 注册需要反射访问的类
+     *
+     * @param className 类的二进制名称
+     * @param members   成员，见本类常量
+     * @return this
+     */
+    public NativeImageMetadata type(String className, String... members) {
+        Set<String> values = types.computeIfAbsent(className, (ignored) -> new TreeSet<>());
+        for (String member : members) {
+            values.add(member);
+        }
+        return this;
+    }
+
+    /**
+     * 注册资源文件
+     *
+     * @param path classpath 下的路径
+     * @return this
+     */
+    public NativeImageMetadata resource(String path) {
+        return resourcePattern(quote(path));
+    }
+
+    /**
+     * 注册匹配正则表达式的资源文件
+     *
+     * @param pattern 正则表达式
+     * @return this
+     */
+    public NativeImageMetadata resourcePattern(String pattern) {
+        resources.add(pattern);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return types.isEmpty() && resources.isEmpty();
+    }
+
+    boolean hasTypes() {
+        return !types.isEmpty();
+    }
+
+    boolean hasResources() {
+        return !resources.isEmpty();
+    }
+
+    /**
+     * 正则表达式中的字面量
+     *
+     * @param literal 字面量
+     * @return \Q...\E
+     */
+    public static String quote(String literal) {
+        return "\\Q" + literal + "\\E";
+    }
+
+    List<String> toReflectConfig() {
+        List<String> lines = new ArrayList<>();
+        lines.add("[");
+        Iterator<Map.Entry<String, Set<String>>> iterator = types.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Set<String>> entry = iterator.next();
+            lines.add("  {");
+            List<String> properties = new ArrayList<>();
+            properties.add("    \"name\": " + json(entry.getKey()));
+            for (String member : entry.getValue()) {
+                if (NO_ARGS_CONSTRUCTOR.equals(member)) {
+                    if (!entry.getValue().contains(ALL_DECLARED_CONSTRUCTORS)) {
+                        properties.add("    \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]");
+                    }
+                } else {
+                    properties.add("    " + json(member) + ": true");
+                }
+            }
+            for (int i = 0; i < properties.size(); i++) {
+                lines.add(i < properties.size() - 1 ? properties.get(i) + "," : properties.get(i));
+            }
+            lines.add(iterator.hasNext() ? "  }," : "  }");
+        }
+        lines.add("]");
+        return lines;
+    }
+
+    List<String> toResourceConfig() {
+        List<String> lines = new ArrayList<>();
+        lines.add("{");
+        lines.add("  \"resources\": {");
+        lines.add("    \"includes\": [");
+        Iterator<String> iterator = resources.iterator();
+        while (iterator.hasNext()) {
+            lines.add("      {\"pattern\": " + json(iterator.next()) + (iterator.hasNext() ? "}," : "}"));
+        }
+        lines.add("    ]");
+        lines.add("  }");
+        lines.add("}");
+        return lines;
+    }
+
+    private static String json(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
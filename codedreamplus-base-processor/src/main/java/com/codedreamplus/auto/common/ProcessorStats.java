@@ -0,0 +1,147 @@
+package com.codedreamplus.auto.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: [注解处理器编译期统计]</p >
+ * Created on 2026-10-17
+ * <p>记录每一轮的耗时、计数器、缓存命中情况以及写入的资源文件大小，开启
+ * {@link AbstractCodeDreamProcessor#STATS_OPTION} 或 debug 参数时在最后一轮输出</p>
+ *
+ * @author mo
+ */
+public class ProcessorStats {
+    private static final String HITS = ".hits";
+    private static final String MISSES = ".misses";
+
+    private final String processor;
+    private final List<Long> roundNanos = new ArrayList<>();
+    /**
+     * key 计数器名称 -> value 数量
+     */
+    private final Map<String, Long> counters = new TreeMap<>();
+    /**
+     * key 资源路径 -> value 字节数，内容未变化而跳过的文件为 0
+     */
+    private final Map<String, Long> resources = new TreeMap<>();
+
+    public ProcessorStats(String processor) {
+        this.processor = processor;
+    }
+
+    /**
+     * 计数器加一
+     *
+     * @param counter 计数器名称
+     */
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    /**
+     * 计数器增加指定数量
+     *
+     * @param counter 计数器名称
+     * @param delta   数量
+     */
+    public void add(String counter, long delta) {
+        counters.merge(counter, delta, Long::sum);
+    }
+
+    /**
+     * 记录一次缓存访问
+     *
+     * @param cache 缓存名称
+     * @param hit   是否命中
+     */
+    public void cache(String cache, boolean hit) {
+        increment(cache + (hit ? HITS : MISSES));
+    }
+
+    void round(long nanos) {
+        roundNanos.add(nanos);
+    }
+
+    void written(String resourceFile, long bytes) {
+        resources.put(resourceFile, bytes);
+    }
+
+    /**
+     * 一行摘要，通过 Messager 输出
+     *
+     * @return 摘要
+     */
+    String summary() {
+        StringBuilder builder = new StringBuilder(processor)
+                .append(": ").append(roundNanos.size()).append(" round(s), ")
+                .append(TimeUnit.NANOSECONDS.toMillis(totalNanos())).append("ms");
+        counters.forEach((k, v) -> {
+            if (!k.endsWith(HITS) && !k.endsWith(MISSES)) {
+                builder.append(", ").append(k).append('=').append(v);
+            }
+        });
+        getHitRates().forEach((k, v) -> builder.append(", ").append(k).append(" hit rate=").append(String.format(Locale.ROOT, "%.1f%%", v * 100)));
+        return builder.append(", ").append(resources.size()).append(" resource(s), ")
+                .append(resources.values().stream().mapToLong(Long::longValue).sum()).append(" byte(s) written").toString();
+    }
+
+    /**
+     * JSON 格式的完整统计
+     *
+     * @return json
+     */
+    String toJson() {
+        StringBuilder builder = new StringBuilder("{\n");
+        builder.append("  \"processor\": ").append(quote(processor)).append(",\n");
+        builder.append("  \"totalMillis\": ").append(TimeUnit.NANOSECONDS.toMillis(totalNanos())).append(",\n");
+        builder.append("  \"roundMillis\": [");
+        for (int i = 0; i < roundNanos.size(); i++) {
+            builder.append(i == 0 ? "" : ", ").append(String.format(Locale.ROOT, "%.3f", roundNanos.get(i) / 1e6));
+        }
+        builder.append("],\n");
+        appendObject(builder, "counters", counters);
+        builder.append(",\n");
+        appendObject(builder, "cacheHitRates", getHitRates());
+        builder.append(",\n");
+        appendObject(builder, "bytesWritten", resources);
+        return builder.append("\n}\n").toString();
+    }
+
+    private long totalNanos() {
+        return roundNanos.stream().mapToLong(Long::longValue).sum();
+    }
+
+    private Map<String, Double> getHitRates() {
+        Map<String, Double> hitRates = new TreeMap<>();
+        counters.forEach((k, v) -> {
+            if (k.endsWith(HITS)) {
+                String cache = k.substring(0, k.length() - HITS.length());
+                long total = v + counters.getOrDefault(cache + MISSES, 0L);
+                hitRates.put(cache, total == 0 ? 0 : (double) v / total);
+            } else if (k.endsWith(MISSES) && !counters.containsKey(k.substring(0, k.length() - MISSES.length()) + HITS)) {
+                hitRates.put(k.substring(0, k.length() - MISSES.length()), 0d);
+            }
+        });
+        return hitRates;
+    }
+
+    private static void appendObject(StringBuilder builder, String name, Map<String, ?> values) {
+        builder.append("  ").append(quote(name)).append(": {");
+        int i = 0;
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            builder.append(i++ == 0 ? "\n" : ",\n").append("    ").append(quote(entry.getKey())).append(": ");
+            Object value = entry.getValue();
+            builder.append(value instanceof Double ? String.format(Locale.ROOT, "%.4f", (Double) value) : value);
+        }
+        builder.append(values.isEmpty() ? "}" : "\n  }");
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
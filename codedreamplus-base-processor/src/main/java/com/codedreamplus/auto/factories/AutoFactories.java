@@ -0,0 +1,25 @@
+package com.codedreamplus.auto.factories;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>Description: [按父类/接口写入 spring.factories]</p >
+ * Created on 2026-10-17
+ * <p>标注的类会按其实现的 spring 扩展接口(见 {@link AutoTypeEnum})以及编译参数
+ * {@code codedream.factories.keys} 中声明的接口写入 spring.factories，例如 {@code ApplicationListener}、
+ * {@code EnvironmentPostProcessor}、{@code FailureAnalyzer} 等，无需再手动维护。</p>
+ *
+ * @author mo
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface AutoFactories {
+
+	/**
+	 * 指定写入的 key，为空时按父类/接口自动识别
+	 *
+	 * @return key 对应的接口
+	 */
+	Class<?>[] value() default {};
+}
@@ -0,0 +1,70 @@
+package com.codedreamplus.auto.factories;
+
+/**
+ * <p>Description: [自动配置注解类型]</p >
+ * Created on 2022-03-17
+ * <p>{@link #COMPONENT} 按注解匹配，其余类型按父类/接口匹配，spring.factories 中的 key 即为父类/接口全名</p>
+ *
+ * @author mo
+ */
+public enum AutoTypeEnum {
+	/**
+	 * 注解处理的类型
+	 */
+	COMPONENT("org.springframework.stereotype.Component", "org.springframework.boot.autoconfigure.EnableAutoConfiguration"),
+	/**
+	 * 以下为按父类/接口处理的类型
+	 */
+	APPLICATION_CONTEXT_INITIALIZER("org.springframework.context.ApplicationContextInitializer"),
+	APPLICATION_LISTENER("org.springframework.context.ApplicationListener"),
+	SPRING_APPLICATION_RUN_LISTENER("org.springframework.boot.SpringApplicationRunListener"),
+	SPRING_BOOT_EXCEPTION_REPORTER("org.springframework.boot.SpringBootExceptionReporter"),
+	BOOTSTRAP_REGISTRY_INITIALIZER("org.springframework.boot.BootstrapRegistryInitializer"),
+	ENVIRONMENT_POST_PROCESSOR("org.springframework.boot.env.EnvironmentPostProcessor"),
+	PROPERTY_SOURCE_LOADER("org.springframework.boot.env.PropertySourceLoader"),
+	CONFIG_DATA_LOCATION_RESOLVER("org.springframework.boot.context.config.ConfigDataLocationResolver"),
+	CONFIG_DATA_LOADER("org.springframework.boot.context.config.ConfigDataLoader"),
+	FAILURE_ANALYZER("org.springframework.boot.diagnostics.FailureAnalyzer"),
+	FAILURE_ANALYSIS_REPORTER("org.springframework.boot.diagnostics.FailureAnalysisReporter"),
+	AUTO_CONFIGURATION_IMPORT_FILTER("org.springframework.boot.autoconfigure.AutoConfigurationImportFilter"),
+	AUTO_CONFIGURATION_IMPORT_LISTENER("org.springframework.boot.autoconfigure.AutoConfigurationImportListener"),
+	TEMPLATE_AVAILABILITY_PROVIDER("org.springframework.boot.autoconfigure.template.TemplateAvailabilityProvider"),
+	DATABASE_INITIALIZER_DETECTOR("org.springframework.boot.sql.init.dependency.DatabaseInitializerDetector"),
+	DEPENDS_ON_DATABASE_INITIALIZATION_DETECTOR("org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitializationDetector");
+
+	/**
+	 * 注解全名，按父类/接口匹配时为 null
+	 */
+	private final String annotationName;
+	/**
+	 * spring.factories文件对应key
+	 */
+	private final String configureKey;
+
+	AutoTypeEnum(String annotationName, String configureKey) {
+		this.annotationName = annotationName;
+		this.configureKey = configureKey;
+	}
+
+	AutoTypeEnum(String superTypeName) {
+		this(null, superTypeName);
+	}
+
+	public final String getAnnotationName() {
+		return annotationName;
+	}
+
+	public final String getConfigureKey() {
+		return configureKey;
+	}
+
+	/**
+	 * 是否按父类/接口匹配
+	 *
+	 * @return boolean
+	 */
+	public final boolean isSuperType() {
+		return annotationName == null;
+	}
+
+}
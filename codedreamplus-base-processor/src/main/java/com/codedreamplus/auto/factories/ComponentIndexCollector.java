@@ -0,0 +1,218 @@
+package com.codedreamplus.auto.factories;
+
+import com.codedreamplus.auto.common.ProcessorStats;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import java.util.*;
+
+/**
+ * <p>Description: [spring.components 索引收集]</p >
+ * Created on 2026-10-17
+ * <p>规则与 spring-context-indexer 一致：类与注解类型记录直接或间接标注的 {@code @Indexed} 注解、
+ * 被 {@code @Indexed} 标注的父类/接口；类与接口另外记录直接标注的 javax.* 注解；package-info 记录为 package-info。
+ * 类型与 stereotype 均使用二进制名称(嵌套类型为 Outer$Inner)，每个注解类型、父类型的结果只计算一次并缓存</p>
+ *
+ * @author mo
+ */
+class ComponentIndexCollector {
+    private static final String INDEXED_ANNOTATION = "org.springframework.stereotype.Indexed";
+    private static final String PACKAGE_INFO = "package-info";
+
+    private final Elements elementUtils;
+    private final ProcessorStats stats;
+    /**
+     * key 注解类型全名 -> value 注解及其元注解中被 {@code @Indexed} 标注的注解
+     */
+    private final Map<String, Set<String>> annotationStereotypes = new HashMap<>();
+    /**
+     * key 类型全名 -> value 包含自身在内的父类/接口中被 {@code @Indexed} 标注的类型
+     */
+    private final Map<String, Set<String>> typeStereotypes = new HashMap<>();
+    /**
+     * 本次编译处理过的类型与包，用于剔除上一次生成的条目
+     */
+    private final Set<String> processed = new HashSet<>();
+    /**
+     * key 类型二进制名称或包名 -> value stereotype
+     */
+    private final Map<String, Set<String>> index = new TreeMap<>();
+    private final Map<String, Element> originatingElements = new HashMap<>();
+
+    ComponentIndexCollector(Elements elementUtils, ProcessorStats stats) {
+        this.elementUtils = elementUtils;
+        this.stats = stats;
+    }
+
+    /**
+     * 处理本轮的根元素及其静态嵌套类型
+     *
+     * @param rootElements 根元素
+     */
+    void collect(Collection<? extends Element> rootElements) {
+        for (Element element : rootElements) {
+            collect(element);
+        }
+    }
+
+    private void collect(Element element) {
+        if (element.getKind() == ElementKind.PACKAGE) {
+            String name = ((PackageElement) element).getQualifiedName().toString();
+            processed.add(name);
+            index.put(name, Collections.singleton(PACKAGE_INFO));
+            originatingElements.put(name, element);
+            return;
+        }
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        String name = elementUtils.getBinaryName(type).toString();
+        processed.add(name);
+        Set<String> stereotypes = getStereotypes(type);
+        if (!stereotypes.isEmpty()) {
+            index.put(name, stereotypes);
+            originatingElements.put(name, type);
+        }
+        for (Element enclosed : type.getEnclosedElements()) {
+            if ((enclosed.getKind().isClass() || enclosed.getKind().isInterface())
+                    && enclosed.getModifiers().contains(Modifier.STATIC)) {
+                collect(enclosed);
+            }
+        }
+    }
+
+    /**
+     * 合并上一次生成的索引，本次处理过或已删除的类型以本次结果为准
+     *
+     * @param previous 上一次生成的索引
+     * @return 合并后的索引，key 与 stereotype 均排序
+     */
+    Map<String, Set<String>> merge(Properties previous) {
+        Map<String, Set<String>> merged = new TreeMap<>();
+        for (String name : previous.stringPropertyNames()) {
+            Set<String> stereotypes = new TreeSet<>();
+            for (String stereotype : previous.getProperty(name).split(",")) {
+                if (!stereotype.trim().isEmpty()) {
+                    stereotypes.add(stereotype.trim());
+                }
+            }
+            if (!processed.contains(name) && exists(name, stereotypes)) {
+                merged.put(name, stereotypes);
+            }
+        }
+        merged.putAll(index);
+        return merged;
+    }
+
+    /**
+     * 获取索引条目对应的元素，本次编译未处理的从 classpath 中获取
+     *
+     * @param names 类型二进制名称或包名
+     * @return 元素
+     */
+    List<Element> getOriginatingElements(Collection<String> names) {
+        List<Element> elements = new ArrayList<>();
+        for (String name : names) {
+            Element element = originatingElements.get(name);
+            if (element == null) {
+                element = elementUtils.getTypeElement(name.replace('$', '.'));
+            }
+            if (element == null) {
+                element = elementUtils.getPackageElement(name);
+            }
+            if (element != null) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
+    private boolean exists(String name, Set<String> stereotypes) {
+        if (stereotypes.contains(PACKAGE_INFO)) {
+            return elementUtils.getPackageElement(name) != null;
+        }
+        return elementUtils.getTypeElement(name.replace('$', '.')) != null;
+    }
+
+    private Set<String> getStereotypes(TypeElement type) {
+        ElementKind kind = type.getKind();
+        Set<String> stereotypes = new TreeSet<>();
+        if (kind == ElementKind.CLASS || kind == ElementKind.ANNOTATION_TYPE) {
+            for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+                stereotypes.addAll(getAnnotationStereotypes((TypeElement) annotation.getAnnotationType().asElement()));
+            }
+            stereotypes.addAll(getTypeStereotypes(type));
+        }
+        if (kind == ElementKind.CLASS || kind == ElementKind.INTERFACE) {
+            for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+                TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+                if (annotationType.getQualifiedName().toString().startsWith("javax.")) {
+                    stereotypes.add(elementUtils.getBinaryName(annotationType).toString());
+                }
+            }
+        }
+        return stereotypes;
+    }
+
+    /**
+     * 注解本身被 {@code @Indexed} 标注时记录该注解，并继续查找其元注解；注解之间相互标注时按已访问截断
+     */
+    private Set<String> getAnnotationStereotypes(TypeElement annotationType) {
+        String name = annotationType.getQualifiedName().toString();
+        Set<String> stereotypes = annotationStereotypes.get(name);
+        stats.cache("componentStereotype", stereotypes != null);
+        if (stereotypes == null) {
+            stereotypes = new TreeSet<>();
+            collectAnnotationStereotypes(annotationType, stereotypes, new HashSet<>());
+            annotationStereotypes.put(name, stereotypes);
+        }
+        return stereotypes;
+    }
+
+    private void collectAnnotationStereotypes(TypeElement annotationType, Set<String> stereotypes, Set<String> visited) {
+        String name = annotationType.getQualifiedName().toString();
+        if (name.startsWith("java.lang") || !visited.add(name)) {
+            return;
+        }
+        for (AnnotationMirror annotation : annotationType.getAnnotationMirrors()) {
+            TypeElement element = (TypeElement) annotation.getAnnotationType().asElement();
+            if (INDEXED_ANNOTATION.contentEquals(element.getQualifiedName())) {
+                stereotypes.add(elementUtils.getBinaryName(annotationType).toString());
+            } else {
+                collectAnnotationStereotypes(element, stereotypes, visited);
+            }
+        }
+    }
+
+    private Set<String> getTypeStereotypes(TypeElement type) {
+        String name = type.getQualifiedName().toString();
+        Set<String> stereotypes = typeStereotypes.get(name);
+        if (stereotypes != null) {
+            return stereotypes;
+        }
+        stereotypes = new TreeSet<>();
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (INDEXED_ANNOTATION.equals(annotation.getAnnotationType().toString())) {
+                stereotypes.add(elementUtils.getBinaryName(type).toString());
+            }
+        }
+        List<TypeMirror> superTypes = new ArrayList<>(type.getInterfaces());
+        superTypes.add(type.getSuperclass());
+        for (TypeMirror superType : superTypes) {
+            if (superType.getKind() == TypeKind.DECLARED) {
+                stereotypes.addAll(getTypeStereotypes((TypeElement) ((DeclaredType) superType).asElement()));
+            }
+        }
+        typeStereotypes.put(name, stereotypes);
+        return stereotypes;
+    }
+}
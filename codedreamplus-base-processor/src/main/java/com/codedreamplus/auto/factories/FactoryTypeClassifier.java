@@ -0,0 +1,135 @@
+package com.codedreamplus.auto.factories;
+
+import com.codedreamplus.auto.common.ProcessorStats;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.*;
+
+/**
+ * <p>Description: [按父类/接口识别 spring.factories key]</p >
+ * Created on 2026-10-17
+ * <p>每个类型的全部父类/接口只计算一次并缓存，父类的结果被子类复用；识别时逐个父类型查表，
+ * 耗时只与继承层级有关，与 key 的数量无关。类型名称统一使用与 spring.factories key 一致的二进制名称(嵌套类为 Outer$Inner)</p>
+ *
+ * @author mo
+ */
+class FactoryTypeClassifier {
+    private final Elements elementUtils;
+    private final Types typeUtils;
+    /**
+     * key 父类/接口二进制名称 -> value spring.factories key
+     */
+    private final Map<String, String> factoryKeys = new HashMap<>();
+    /**
+     * key 类型二进制名称 -> value 包含自身在内的所有父类/接口的二进制名称
+     */
+    private final Map<String, Set<String>> superTypes = new HashMap<>();
+    private final ProcessorStats stats;
+
+    FactoryTypeClassifier(Elements elementUtils, Types typeUtils, Collection<String> extraKeys, ProcessorStats stats) {
+        this.elementUtils = elementUtils;
+        this.typeUtils = typeUtils;
+        this.stats = stats;
+        for (AutoTypeEnum autoType : AutoTypeEnum.values()) {
+            if (autoType.isSuperType()) {
+                factoryKeys.put(autoType.getConfigureKey(), autoType.getConfigureKey());
+            }
+        }
+        for (String extraKey : extraKeys) {
+            // 嵌套接口可以写为 Outer.Inner，写入 spring.factories 时使用 Outer$Inner
+            TypeElement keyElement = elementUtils.getTypeElement(extraKey);
+            String key = keyElement == null ? extraKey : getBinaryName(keyElement);
+            factoryKeys.put(key, key);
+        }
+    }
+
+    /**
+     * 识别类型对应的 spring.factories key
+     *
+     * @param element 类型
+     * @return key 集合
+     */
+    Set<String> classify(TypeElement element) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String superType : getSuperTypes(element)) {
+            String key = factoryKeys.get(superType);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 类型是否为已知的 spring.factories key
+     *
+     * @param key key
+     * @return boolean
+     */
+    boolean isFactoryKey(String key) {
+        return factoryKeys.containsKey(key);
+    }
+
+    /**
+     * 是否为指定类型的子类型(包含自身)
+     *
+     * @param element   类型
+     * @param superType 父类/接口的二进制名称
+     * @return boolean
+     */
+    boolean isSubtype(TypeElement element, String superType) {
+        return getSuperTypes(element).contains(superType);
+    }
+
+    /**
+     * 类型的二进制名称，嵌套类为 Outer$Inner
+     *
+     * @param element 类型
+     * @return 二进制名称
+     */
+    String getBinaryName(TypeElement element) {
+        return elementUtils.getBinaryName(element).toString();
+    }
+
+    /**
+     * 按二进制名称查找类型，嵌套类 Outer$Inner 按 Outer.Inner 查找
+     *
+     * @param binaryName 二进制名称
+     * @return 找不到时为 null
+     */
+    TypeElement getTypeElement(String binaryName) {
+        TypeElement element = elementUtils.getTypeElement(binaryName);
+        if (element == null && binaryName.indexOf('$') > 0) {
+            element = elementUtils.getTypeElement(binaryName.replace('$', '.'));
+        }
+        return element != null && binaryName.equals(getBinaryName(element)) ? element : null;
+    }
+
+    private Set<String> getSuperTypes(TypeElement element) {
+        String name = getBinaryName(element);
+        Set<String> result = superTypes.get(name);
+        stats.cache("superTypes", result != null);
+        if (result != null) {
+            return result;
+        }
+        result = new HashSet<>();
+        result.add(name);
+        for (TypeMirror superType : typeUtils.directSupertypes(element.asType())) {
+            if (superType.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            Element superElement = ((DeclaredType) superType).asElement();
+            if (superElement instanceof TypeElement) {
+                result.addAll(getSuperTypes((TypeElement) superElement));
+            }
+        }
+        superTypes.put(name, result);
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package com.codedreamplus.auto.factories;
+
+import com.codedreamplus.auto.common.ProcessorStats;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Description: [组合注解解析缓存]</p >
+ * Created on 2026-10-17
+ * <p>按注解类型缓存“是否被目标注解(直接或间接)标注”的结果，一次编译内每个注解类型只解析一次。
+ * 注解之间允许相互标注，解析时遇到环会截断，截断路径上得到的否定结果不会写入缓存。</p>
+ *
+ * @author mo
+ */
+class MetaAnnotationResolver {
+    /**
+     * key 目标注解 -> value (key 注解类型 -> value 是否被目标注解标注)
+     */
+    private final Map<String, Map<String, Boolean>> cache = new HashMap<>();
+    private final ProcessorStats stats;
+
+    MetaAnnotationResolver(ProcessorStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * 元素上是否存在目标注解，或者被目标注解标注过的注解
+     *
+     * @param e                  当前元素
+     * @param annotationFullName 目标注解名称
+     * @return 是否匹配
+     */
+    boolean isAnnotated(Element e, String annotationFullName) {
+        for (AnnotationMirror annotation : e.getAnnotationMirrors()) {
+            if (isAnnotation((TypeElement) annotation.getAnnotationType().asElement(), annotationFullName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 注解类型本身是否为目标注解，或者被目标注解标注过
+     *
+     * @param annotationType     注解类型
+     * @param annotationFullName 目标注解名称
+     * @return 是否匹配
+     */
+    boolean isAnnotation(TypeElement annotationType, String annotationFullName) {
+        Map<String, Boolean> verdicts = cache.computeIfAbsent(annotationFullName, (ignored) -> new HashMap<>());
+        return resolve(annotationType, annotationFullName, verdicts, new HashSet<>(), new boolean[1]);
+    }
+
+    private boolean resolve(TypeElement annotationType, String annotationFullName, Map<String, Boolean> verdicts,
+                            Set<String> visiting, boolean[] truncated) {
+        String name = annotationType.getQualifiedName().toString();
+        if (annotationFullName.equals(name)) {
+            return true;
+        }
+        Boolean verdict = verdicts.get(name);
+        stats.cache("metaAnnotation", verdict != null);
+        if (verdict != null) {
+            return verdict;
+        }
+        // 如果是 java 元注解，不再继续查找
+        if (name.startsWith("java.lang")) {
+            verdicts.put(name, Boolean.FALSE);
+            return false;
+        }
+        if (!visiting.add(name)) {
+            truncated[0] = true;
+            return false;
+        }
+        boolean[] childTruncated = new boolean[1];
+        boolean result = false;
+        for (AnnotationMirror annotation : annotationType.getAnnotationMirrors()) {
+            TypeElement element = (TypeElement) annotation.getAnnotationType().asElement();
+            if (resolve(element, annotationFullName, verdicts, visiting, childTruncated)) {
+                result = true;
+                break;
+            }
+        }
+        visiting.remove(name);
+        // 环上的节点尚未解析完成，否定结果只有在没有发生截断或者回到最外层时才是可信的
+        if (result || !childTruncated[0] || visiting.isEmpty()) {
+            verdicts.put(name, result);
+        }
+        truncated[0] |= childTruncated[0];
+        return result;
+    }
+}
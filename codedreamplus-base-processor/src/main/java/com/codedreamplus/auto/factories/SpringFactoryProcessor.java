@@ -0,0 +1,612 @@
+package com.codedreamplus.auto.factories;
+
+import com.codedreamplus.auto.common.AbstractCodeDreamProcessor;
+import com.codedreamplus.auto.common.NativeImageMetadata;
+
+import javax.annotation.processing.*;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.SimpleAnnotationValueVisitor8;
+import java.io.IOException;
+import java.util.*;
+
+import static java.lang.String.join;
+
+/**
+ * <p>Description: [自动配置注解类型]</p >
+ * Created on 2022-03-17
+ *
+ * @author mo
+ */
+@SupportedOptions({"debug", SpringFactoryProcessor.ANNOTATIONS_OPTION, SpringFactoryProcessor.KEYS_OPTION,
+        SpringFactoryProcessor.AUTOCONFIGURE_OPTION, SpringFactoryProcessor.COMPONENT_INDEX_OPTION})
+public class SpringFactoryProcessor extends AbstractCodeDreamProcessor {
+    /**
+     * 除默认的组件注解外额外处理的组合注解，多个用逗号分隔；配置为 * 时处理所有注解
+     * <p>默认只声明常用的组件注解，编译器不会把无关注解交给处理器，当前编译的源码中声明的组合注解仍然可以识别，
+     * 依赖包中的组合注解需要在这里配置。配置为 * 时依赖包中的组合注解无需配置，
+     * 增量编译的源码中不包含任何组件注解时处理器同样会运行并剔除失效的类</p>
+     */
+    public static final String ANNOTATIONS_OPTION = "codedream.factories.annotations";
+    /**
+     * 额外的 spring.factories key(接口全名，嵌套接口可写为 Outer.Inner 或 Outer$Inner)，多个用逗号分隔，{@link AutoFactories} 标注的类实现了这些接口时写入对应 key
+     */
+    public static final String KEYS_OPTION = "codedream.factories.keys";
+    /**
+     * 是否生成 AutoConfiguration.imports 以及 spring-autoconfigure-metadata.properties，默认不生成
+     * <p>不要与 spring-boot-autoconfigure-processor 同时开启；文件已被其他处理器创建时只输出警告，不会中断编译</p>
+     */
+    public static final String AUTOCONFIGURE_OPTION = "codedream.factories.autoconfigure";
+    /**
+     * 是否生成 spring.components 候选组件索引，默认不生成
+     * <p>classpath 中存在任意 spring.components 时 {@code @ComponentScan} 只读取索引，需要所有包含组件的模块都生成索引；
+     * 开启后处理器会检查每个类型，不能与 spring-context-indexer 同时使用</p>
+     */
+    public static final String COMPONENT_INDEX_OPTION = "codedream.factories.componentIndex";
+    /**
+     * The location to look for factories.
+     * <p>Can be present in multiple JAR files.
+     */
+    private static final String FACTORIES_RESOURCE_LOCATION = "META-INF/spring.factories";
+    /**
+     * spring boot 2.7 之后读取自动配置类的文件
+     */
+    private static final String AUTO_CONFIGURATION_IMPORTS_LOCATION = "META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports";
+    /**
+     * 自动配置类的条件元数据，spring boot 据此在加载类之前过滤自动配置
+     */
+    private static final String AUTO_CONFIGURE_METADATA_LOCATION = "META-INF/spring-autoconfigure-metadata.properties";
+    /**
+     * spring 的候选组件索引，由 CandidateComponentsIndexLoader 读取
+     */
+    private static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
+    /**
+     * 写入元数据的注解：注解全名，元数据 key，读取的注解属性
+     */
+    private static final String[][] AUTO_CONFIGURE_ANNOTATIONS = {
+            {"org.springframework.boot.autoconfigure.condition.ConditionalOnClass", "ConditionalOnClass", "value", "name"},
+            {"org.springframework.boot.autoconfigure.condition.ConditionalOnBean", "ConditionalOnBean", "value", "type"},
+            {"org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate", "ConditionalOnSingleCandidate", "value", "type"},
+            {"org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication", "ConditionalOnWebApplication", "type"},
+            {"org.springframework.boot.autoconfigure.AutoConfigureBefore", "AutoConfigureBefore", "value", "name"},
+            {"org.springframework.boot.autoconfigure.AutoConfigureAfter", "AutoConfigureAfter", "value", "name"},
+            {"org.springframework.boot.autoconfigure.AutoConfigureOrder", "AutoConfigureOrder", "value"},
+            {"org.springframework.boot.autoconfigure.AutoConfiguration", "AutoConfigureBefore", "before", "beforeName"},
+            {"org.springframework.boot.autoconfigure.AutoConfiguration", "AutoConfigureAfter", "after", "afterName"}
+    };
+    /**
+     * 默认声明的注解：{@code @Component} 以及 spring 中被 {@code @Component} 标注过的常用注解
+     */
+    private static final Set<String> COMPONENT_ANNOTATIONS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "org.springframework.stereotype.Component",
+            "org.springframework.stereotype.Service",
+            "org.springframework.stereotype.Repository",
+            "org.springframework.stereotype.Controller",
+            "org.springframework.context.annotation.Configuration",
+            "org.springframework.web.bind.annotation.RestController",
+            "org.springframework.web.bind.annotation.ControllerAdvice",
+            "org.springframework.web.bind.annotation.RestControllerAdvice",
+            "org.springframework.boot.SpringBootConfiguration",
+            "org.springframework.boot.autoconfigure.SpringBootApplication",
+            "org.springframework.boot.autoconfigure.AutoConfiguration",
+            "org.springframework.boot.jackson.JsonComponent"
+    )));
+    /**
+     * 组合注解解析缓存
+     */
+    private MetaAnnotationResolver annotationResolver;
+    /**
+     * 按父类/接口识别 spring.factories key
+     */
+    private FactoryTypeClassifier typeClassifier;
+    /**
+     * spring.components 索引，未开启时为 null
+     */
+    private ComponentIndexCollector componentIndexCollector;
+    /**
+     * 数据承载，key 与类名均排序，保证生成的文件内容固定
+     */
+    final protected Map<String, Set<String>> factories = new TreeMap<>();
+    /**
+     * 本次编译中产生配置的元素，key 类名 -> value 元素
+     */
+    final protected Map<String, TypeElement> originatingElements = new HashMap<>();
+    /**
+     * 自动配置类的条件元数据，key 类名 -> value (key 元数据 key -> value 元数据值)
+     */
+    final protected Map<String, Map<String, String>> autoConfigureMetadata = new HashMap<>();
+    /**
+     * 本次编译的源码中声明的顶层类型
+     */
+    final protected Set<String> rootTypeNames = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.annotationResolver = new MetaAnnotationResolver(stats);
+        this.typeClassifier = new FactoryTypeClassifier(elementUtils, typeUtils, splitOption(KEYS_OPTION), stats);
+        if ("true".equalsIgnoreCase(processingEnv.getOptions().get(COMPONENT_INDEX_OPTION))) {
+            this.componentIndexCollector = new ComponentIndexCollector(elementUtils, stats);
+        }
+    }
+
+    /**
+     * 这至关于每一个处理器的主函数main()。你在这里写你的扫描、评估和处理注解的代码，以及生成Java文件。
+     *
+     * @param annotations 请求处理的注解类型集合
+     * @param roundEnv    RoundEnviroment，可让你查询出包含特定注解的被注解元素，至关于“有关全局源码的上下文环境”。
+     * @return 若是返回 true，则这些注解已声明而且不要求后续 Processor 处理它们；若是返回 false，则这些注解未声明而且可能要求后续 Processor 处理它们
+     */
+    @Override
+    protected boolean processRound(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        processAnnotations(annotations, roundEnv);
+        if (componentIndexCollector != null) {
+            componentIndexCollector.collect(roundEnv.getRootElements());
+        }
+        // 处理至最后一轮时会进入此方法
+        if (roundEnv.processingOver()) {
+            try {
+                Map<String, Set<String>> allFactories = writeSpringFactoriesFile();
+                boolean autoconfigure = "true".equalsIgnoreCase(processingEnv.getOptions().get(AUTOCONFIGURE_OPTION));
+                if (autoconfigure) {
+                    Set<String> autoConfigurations = allFactories.getOrDefault(AutoTypeEnum.COMPONENT.getConfigureKey(), Collections.emptySet());
+                    writeAutoConfigurationImportsFile(autoConfigurations);
+                    writeAutoConfigureMetadataFile(autoConfigurations);
+                }
+                boolean componentIndex = writeComponentIndexFile();
+                writeNativeImageMetadataFile(allFactories, autoconfigure, componentIndex);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to write META-INF/spring.factories", e);
+            }
+        }
+        //这里必须为false，配置为 * 时是对所有注解进行处理，返回false后面的lombokProcessor还会进行处理，如果返回true后将编译不通过
+        return false;
+    }
+
+    /**
+     * 获取所支持的所有注解类型，默认只声明常用的组件注解、{@link AutoFactories} 以及 {@link #ANNOTATIONS_OPTION} 中配置的注解；
+     * {@link #ANNOTATIONS_OPTION} 配置为 * 时声明为 *，无关注解在 {@link #processAnnotations} 中按注解类型过滤，
+     * 解析结果由 {@link MetaAnnotationResolver} 缓存；生成 spring.components 时需要检查所有类型，同样声明为 *
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        List<String> extraAnnotations = splitOption(ANNOTATIONS_OPTION);
+        if (extraAnnotations.contains("*") || "true".equalsIgnoreCase(processingEnv.getOptions().get(COMPONENT_INDEX_OPTION))) {
+            return Collections.singleton("*");
+        }
+        Set<String> annotationTypes = new LinkedHashSet<>(COMPONENT_ANNOTATIONS);
+        annotationTypes.add(AutoFactories.class.getCanonicalName());
+        annotationTypes.addAll(extraAnnotations);
+        return annotationTypes;
+    }
+
+    /**
+     * 读取逗号分隔的编译参数
+     *
+     * @param option 参数名
+     * @return 参数值
+     */
+    private List<String> splitOption(String option) {
+        String value = processingEnv.getOptions().get(option);
+        List<String> values = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.split(",")) {
+                if (!item.trim().isEmpty()) {
+                    values.add(item.trim());
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 注解处理
+     *
+     * @param annotations 请求处理的注释类型
+     * @param roundEnv    有关当前和上一轮信息的环境
+     */
+    protected void processAnnotations(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (Element root : roundEnv.getRootElements()) {
+            if (root instanceof TypeElement) {
+                rootTypeNames.add(((TypeElement) root).getQualifiedName().toString());
+            }
+        }
+        String componentAnnotation = AutoTypeEnum.COMPONENT.getAnnotationName();
+        // 先按注解类型过滤，每个注解类型只解析一次，被匹配注解标注的元素无需再逐个解析
+        Deque<TypeElement> pending = new ArrayDeque<>();
+        for (TypeElement annotation : annotations) {
+            if (annotationResolver.isAnnotation(annotation, componentAnnotation)) {
+                pending.add(annotation);
+            }
+        }
+        Set<TypeElement> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            TypeElement annotation = pending.poll();
+            if (!visited.add(annotation)) {
+                continue;
+            }
+            for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                stats.increment("elementsInspected");
+                // 本轮源码中声明的组合注解，继续查找被其标注的元素
+                if (e.getKind() == ElementKind.ANNOTATION_TYPE) {
+                    pending.add((TypeElement) e);
+                    continue;
+                }
+                if (isClassOrInterface(e) && e instanceof TypeElement) {
+                    TypeElement x = (TypeElement) e;
+                    factories.computeIfAbsent(AutoTypeEnum.COMPONENT.getConfigureKey(), (ignored) -> new TreeSet<>()).add(x.toString());
+                    originatingElements.put(x.toString(), x);
+                    autoConfigureMetadata.put(x.toString(), getAutoConfigureMetadata(x));
+                }
+            }
+        }
+        for (Element e : roundEnv.getElementsAnnotatedWith(AutoFactories.class)) {
+            stats.increment("elementsInspected");
+            if (e.getKind() != ElementKind.CLASS || e.getModifiers().contains(Modifier.ABSTRACT)) {
+                error(e, "@AutoFactories can only be used on concrete classes");
+                continue;
+            }
+            TypeElement x = (TypeElement) e;
+            Set<String> keys = getFactoryKeys(x);
+            if (keys.isEmpty()) {
+                error(e, "%s does not implement any known spring.factories type, declare it with @AutoFactories(value) or -A%s", x, KEYS_OPTION);
+                continue;
+            }
+            for (String key : keys) {
+                factories.computeIfAbsent(key, (ignored) -> new TreeSet<>()).add(x.toString());
+            }
+            originatingElements.put(x.toString(), x);
+        }
+    }
+
+    /**
+     * 获取 {@link AutoFactories} 标注类对应的 spring.factories key，未指定时按父类/接口识别
+     *
+     * @param element 类型
+     * @return key 集合
+     */
+    private Set<String> getFactoryKeys(TypeElement element) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (!AutoFactories.class.getCanonicalName().equals(annotation.getAnnotationType().toString())) {
+                continue;
+            }
+            getAnnotationValue(annotation, "value").accept(new SimpleAnnotationValueVisitor8<Void, Void>() {
+                @Override
+                public Void visitType(TypeMirror typeMirror, Void v) {
+                    TypeElement keyElement = (TypeElement) typeUtils.asElement(typeMirror);
+                    String key = typeClassifier.getBinaryName(keyElement);
+                    if (typeClassifier.isSubtype(element, key)) {
+                        keys.add(key);
+                    } else {
+                        error(element, "%s is not a subtype of %s", element, typeMirror);
+                    }
+                    return null;
+                }
+
+                @Override
+                public Void visitArray(List<? extends AnnotationValue> values, Void v) {
+                    values.forEach(value -> value.accept(this, null));
+                    return null;
+                }
+            }, null);
+        }
+        return keys.isEmpty() ? typeClassifier.classify(element) : keys;
+    }
+
+
+    /**
+     * writeSpringFactoriesFile
+     * <p>增量编译时只会处理发生变化的类，因此需要回读上一次生成的文件，剔除已失效的类后再与本次结果合并</p>
+     *
+     * @return 合并后的配置
+     * @throws IOException 抛出io异常
+     */
+    protected Map<String, Set<String>> writeSpringFactoriesFile() throws IOException {
+        Map<String, Set<String>> allFactories = new TreeMap<>();
+        readResource(FACTORIES_RESOURCE_LOCATION, input -> {
+            Properties properties = new Properties();
+            properties.load(input);
+            for (String key : properties.stringPropertyNames()) {
+                for (String factory : properties.getProperty(key).split(",")) {
+                    String factoryName = factory.trim();
+                    if (!factoryName.isEmpty() && !isStaleFactory(key, factoryName)) {
+                        allFactories.computeIfAbsent(key, (ignored) -> new TreeSet<>()).add(factoryName);
+                    }
+                }
+            }
+        });
+        factories.forEach((k, v) -> allFactories.computeIfAbsent(k, (ignored) -> new TreeSet<>()).addAll(v));
+        if (allFactories.isEmpty()) {
+            return allFactories;
+        }
+        Set<String> factoryNames = new TreeSet<>();
+        allFactories.values().forEach(factoryNames::addAll);
+        List<String> lines = new ArrayList<>();
+        allFactories.forEach((k, v) -> {
+            lines.add(k + "=\\");
+            Iterator<String> iterator = v.iterator();
+            while (iterator.hasNext()) {
+                String factoryName = iterator.next();
+                lines.add(iterator.hasNext() ? factoryName + ",\\" : factoryName);
+            }
+        });
+        writeResource(FACTORIES_RESOURCE_LOCATION, getOriginatingElements(factoryNames), lines);
+        stats.add("entriesEmitted", factoryNames.size());
+        return allFactories;
+    }
+
+    /**
+     * 写入 AutoConfiguration.imports，内容与 spring.factories 中的自动配置类一致
+     *
+     * @param autoConfigurations 自动配置类
+     * @throws IOException 抛出io异常
+     */
+    protected void writeAutoConfigurationImportsFile(Set<String> autoConfigurations) throws IOException {
+        if (autoConfigurations.isEmpty()) {
+            return;
+        }
+        if (writeAutoConfigureResource(AUTO_CONFIGURATION_IMPORTS_LOCATION, autoConfigurations, autoConfigurations)) {
+            stats.add("entriesEmitted", autoConfigurations.size());
+        }
+    }
+
+    /**
+     * 写入 spring-autoconfigure-metadata.properties
+     * <p>回读上一次生成的文件，保留本次未处理且仍为自动配置类的元数据</p>
+     *
+     * @param autoConfigurations 自动配置类
+     * @throws IOException 抛出io异常
+     */
+    protected void writeAutoConfigureMetadataFile(Set<String> autoConfigurations) throws IOException {
+        if (autoConfigurations.isEmpty()) {
+            return;
+        }
+        Map<String, String> metadata = new TreeMap<>();
+        readResource(AUTO_CONFIGURE_METADATA_LOCATION, input -> {
+            Properties properties = new Properties();
+            properties.load(input);
+            for (String key : properties.stringPropertyNames()) {
+                String className = autoConfigurations.contains(key) ? key : key.substring(0, Math.max(key.lastIndexOf('.'), 0));
+                if (autoConfigurations.contains(className) && !autoConfigureMetadata.containsKey(className)) {
+                    metadata.put(key, properties.getProperty(key));
+                }
+            }
+        });
+        autoConfigureMetadata.forEach((className, values) -> {
+            if (autoConfigurations.contains(className)) {
+                metadata.put(className, "");
+                values.forEach((k, v) -> metadata.put(className + "." + k, v));
+            }
+        });
+        List<String> lines = new ArrayList<>();
+        metadata.forEach((k, v) -> lines.add(k + "=" + v));
+        if (writeAutoConfigureResource(AUTO_CONFIGURE_METADATA_LOCATION, autoConfigurations, lines)) {
+            stats.add("entriesEmitted", metadata.size());
+        }
+    }
+
+    /**
+     * 写入自动配置相关的文件，文件已被其他处理器(如 spring-boot-autoconfigure-processor)创建时跳过并输出警告
+     *
+     * @param resourceFile       文件位置
+     * @param autoConfigurations 自动配置类
+     * @param lines              文件内容
+     * @return 是否写入
+     * @throws IOException 抛出io异常
+     */
+    private boolean writeAutoConfigureResource(String resourceFile, Set<String> autoConfigurations,
+                                               Collection<String> lines) throws IOException {
+        try {
+            writeResource(resourceFile, getOriginatingElements(autoConfigurations), lines);
+            return true;
+        } catch (FilerException e) {
+            warn("Skipped %s, it has already been created by another processor: %s", resourceFile, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 写入 spring.components
+     * <p>与 spring.factories 相同，增量编译时回读上一次生成的文件，剔除本次处理过以及已删除的类型</p>
+     *
+     * @return 是否生成了文件
+     * @throws IOException 抛出io异常
+     */
+    protected boolean writeComponentIndexFile() throws IOException {
+        if (componentIndexCollector == null) {
+            return false;
+        }
+        Properties previous = new Properties();
+        readResource(COMPONENTS_RESOURCE_LOCATION, previous::load);
+        Map<String, Set<String>> index = componentIndexCollector.merge(previous);
+        if (index.isEmpty()) {
+            return false;
+        }
+        List<String> lines = new ArrayList<>();
+        index.forEach((name, stereotypes) -> lines.add(name + "=" + join(",", stereotypes)));
+        writeResource(COMPONENTS_RESOURCE_LOCATION, componentIndexCollector.getOriginatingElements(index.keySet()), lines);
+        stats.add("entriesEmitted", index.size());
+        return true;
+    }
+
+    /**
+     * 写入 native-image 元数据：spring.factories 中的类通过构造器反射创建，自动配置类还需要读取 @Bean 方法与注入字段
+     *
+     * @param allFactories   合并后的配置
+     * @param autoconfigure  是否生成了 AutoConfiguration.imports 与 spring-autoconfigure-metadata.properties
+     * @param componentIndex 是否生成了 spring.components
+     * @throws IOException 抛出io异常
+     */
+    protected void writeNativeImageMetadataFile(Map<String, Set<String>> allFactories, boolean autoconfigure,
+                                                boolean componentIndex) throws IOException {
+        if ((allFactories.isEmpty() && !componentIndex) || !isNativeImageEnabled()) {
+            return;
+        }
+        NativeImageMetadata metadata = new NativeImageMetadata();
+        if (!allFactories.isEmpty()) {
+            metadata.resource(FACTORIES_RESOURCE_LOCATION);
+        }
+        if (componentIndex) {
+            metadata.resource(COMPONENTS_RESOURCE_LOCATION);
+        }
+        Set<String> factoryNames = new TreeSet<>();
+        allFactories.forEach((key, names) -> {
+            boolean component = AutoTypeEnum.COMPONENT.getConfigureKey().equals(key);
+            for (String factoryName : names) {
+                factoryNames.add(factoryName);
+                if (component) {
+                    metadata.type(getBinaryName(factoryName), NativeImageMetadata.ALL_DECLARED_CONSTRUCTORS,
+                            NativeImageMetadata.ALL_DECLARED_METHODS, NativeImageMetadata.ALL_DECLARED_FIELDS);
+                } else {
+                    metadata.type(getBinaryName(factoryName), NativeImageMetadata.ALL_DECLARED_CONSTRUCTORS);
+                }
+            }
+        });
+        if (autoconfigure && allFactories.containsKey(AutoTypeEnum.COMPONENT.getConfigureKey())) {
+            metadata.resource(AUTO_CONFIGURATION_IMPORTS_LOCATION).resource(AUTO_CONFIGURE_METADATA_LOCATION);
+        }
+        writeNativeImageMetadata(metadata, getOriginatingElements(factoryNames));
+    }
+
+    /**
+     * 读取自动配置类上的条件注解，只读取类上直接声明的注解，与 spring-boot-autoconfigure-processor 保持一致
+     *
+     * @param element 自动配置类
+     * @return key 元数据 key -> value 元数据值
+     */
+    private Map<String, String> getAutoConfigureMetadata(TypeElement element) {
+        Map<String, Set<String>> values = new LinkedHashMap<>();
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            String annotationName = annotation.getAnnotationType().toString();
+            for (String[] autoConfigureAnnotation : AUTO_CONFIGURE_ANNOTATIONS) {
+                if (!autoConfigureAnnotation[0].equals(annotationName)) {
+                    continue;
+                }
+                for (int i = 2; i < autoConfigureAnnotation.length; i++) {
+                    Set<String> attributeValues = values.computeIfAbsent(autoConfigureAnnotation[1], (ignored) -> new LinkedHashSet<>());
+                    getAnnotationValue(annotation, autoConfigureAnnotation[i]).accept(new SimpleAnnotationValueVisitor8<Void, Set<String>>() {
+                        @Override
+                        public Void visitType(TypeMirror typeMirror, Set<String> result) {
+                            // 编译时不在 classpath 中的类为 ERROR 类型，直接使用源码中的写法
+                            Element typeElement = typeUtils.asElement(typeMirror);
+                            result.add(typeMirror.getKind() == TypeKind.DECLARED && typeElement instanceof TypeElement
+                                    ? elementUtils.getBinaryName((TypeElement) typeElement).toString() : typeMirror.toString());
+                            return null;
+                        }
+
+                        @Override
+                        public Void visitEnumConstant(VariableElement c, Set<String> result) {
+                            result.add(c.getSimpleName().toString());
+                            return null;
+                        }
+
+                        @Override
+                        public Void visitArray(List<? extends AnnotationValue> vals, Set<String> result) {
+                            vals.forEach(value -> value.accept(this, result));
+                            return null;
+                        }
+
+                        @Override
+                        protected Void defaultAction(Object o, Set<String> result) {
+                            result.add(String.valueOf(o));
+                            return null;
+                        }
+                    }, attributeValues);
+                }
+            }
+        }
+        Map<String, String> metadata = new LinkedHashMap<>();
+        values.forEach((k, v) -> {
+            if (!v.isEmpty()) {
+                metadata.put(k, join(",", v));
+            }
+        });
+        return metadata;
+    }
+
+    /**
+     * 获取类名对应的元素，本次编译未处理的类从 classpath 中获取
+     *
+     * @param classNames 类名
+     * @return 元素
+     */
+    private List<TypeElement> getOriginatingElements(Collection<String> classNames) {
+        List<TypeElement> elements = new ArrayList<>();
+        for (String className : classNames) {
+            TypeElement element = originatingElements.get(className);
+            elements.add(element != null ? element : elementUtils.getTypeElement(className));
+        }
+        return elements;
+    }
+
+    /**
+     * 上一次生成的配置是否已失效
+     * <p>本次编译的源码中的类型以本次处理结果为准，未收集到即失效；其他类型需要已删除、不再满足对应的注解或不再实现对应的接口</p>
+     *
+     * @param key         spring.factories 中的 key
+     * @param factoryName 类名
+     * @return 是否失效
+     */
+    private boolean isStaleFactory(String key, String factoryName) {
+        TypeElement element = elementUtils.getTypeElement(factoryName);
+        if (element == null) {
+            return true;
+        }
+        if (originatingElements.containsKey(factoryName) || isInCurrentSources(element)) {
+            return !factories.getOrDefault(key, Collections.emptySet()).contains(factoryName);
+        }
+        if (AutoTypeEnum.COMPONENT.getConfigureKey().equals(key)) {
+            return !annotationResolver.isAnnotated(element, AutoTypeEnum.COMPONENT.getAnnotationName());
+        }
+        if (!hasAutoFactoriesMirror(element)) {
+            return true;
+        }
+        // 类型不再实现对应的接口，无法识别的 key 不做处理
+        if (typeClassifier.isFactoryKey(key) || typeClassifier.getTypeElement(key) != null) {
+            return !typeClassifier.isSubtype(element, key);
+        }
+        return false;
+    }
+
+    /**
+     * 类型是否声明在本次编译的源码中
+     *
+     * @param element 类型
+     * @return 是否为本次编译的类型
+     */
+    private boolean isInCurrentSources(TypeElement element) {
+        Element current = element;
+        while (current.getEnclosingElement() != null && current.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+        return current instanceof TypeElement && rootTypeNames.contains(((TypeElement) current).getQualifiedName().toString());
+    }
+
+    /**
+     * 类型上是否仍然标注了 {@link AutoFactories}，注解为 CLASS 级别，classpath 中的类型同样可以读取
+     *
+     * @param element 类型
+     * @return 是否标注
+     */
+    private boolean hasAutoFactoriesMirror(TypeElement element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (AutoFactories.class.getCanonicalName().equals(annotation.getAnnotationType().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是类或者接口
+     *
+     * @param e 元素
+     * @return
+     */
+    private boolean isClassOrInterface(final Element e) {
+        ElementKind kind = e.getKind();
+        return kind == ElementKind.CLASS || kind == ElementKind.INTERFACE;
+    }
+}
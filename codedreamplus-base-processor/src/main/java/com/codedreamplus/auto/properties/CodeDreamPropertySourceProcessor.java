@@ -0,0 +1,246 @@
+package com.codedreamplus.auto.properties;
+
+import com.codedreamplus.auto.common.AbstractCodeDreamProcessor;
+import com.codedreamplus.auto.common.NativeImageMetadata;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
+
+/**
+ * <p>Description: [CodeDreamPropertySource 索引处理器]</p >
+ * Created on 2026-10-17
+ * <p>编译期把 {@code @CodeDreamPropertySource} 的配置写入索引文件，开启
+ * {@code CodeDreamPropertySourcePostProcessor.USE_INDEX_PROPERTY} 后启动时直接读取索引，无需遍历 bean 定义；
+ * 配置了 {@code CodeDreamPropertySource#accessor()} 时读取 classpath 下的配置文件，生成类型化的访问类</p>
+ *
+ * @author mo
+ */
+@SupportedOptions("debug")
+public class CodeDreamPropertySourceProcessor extends AbstractCodeDreamProcessor {
+    /**
+     * 索引文件，内容为：类名=order,loadActiveProfile,location；运行时由 properties 模块中的同名常量读取，两者需保持一致
+     */
+    public static final String INDEX_RESOURCE_LOCATION = "META-INF/codedream/property-sources.index";
+    /**
+     * 注解全名，处理器中不加载 spring 相关的类
+     */
+    private static final String ANNOTATION_NAME = "com.codedreamplus.auto.properties.CodeDreamPropertySource";
+    private static final String CLASSPATH_URL_PREFIX = "classpath:";
+    /**
+     * key 类名 -> value 索引内容
+     */
+    private final Map<String, String> propertySources = new HashMap<>();
+    /**
+     * key 类名 -> value 元素
+     */
+    private final Map<String, TypeElement> originatingElements = new HashMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return singleton(ANNOTATION_NAME);
+    }
+
+    @Override
+    protected boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                stats.increment("elementsInspected");
+                if (e instanceof TypeElement) {
+                    TypeElement typeElement = (TypeElement) e;
+                    String value = getIndexValue(typeElement);
+                    if (value != null) {
+                        propertySources.put(typeElement.getQualifiedName().toString(), value);
+                        originatingElements.put(typeElement.getQualifiedName().toString(), typeElement);
+                        generateAccessor(typeElement);
+                    }
+                }
+            }
+        }
+        // 处理至最后一轮时会进入此方法
+        if (roundEnv.processingOver()) {
+            try {
+                writeIndexFile();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to write " + INDEX_RESOURCE_LOCATION, e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 写入索引文件，回读上一次生成的文件，保留本次未处理且仍带有注解的类
+     *
+     * @throws IOException 抛出io异常
+     */
+    private void writeIndexFile() throws IOException {
+        Map<String, String> allPropertySources = new TreeMap<>();
+        readResource(INDEX_RESOURCE_LOCATION, input -> {
+            Properties properties = new Properties();
+            // 索引以 UTF-8 写入，location 中可能有非 ASCII 字符
+            properties.load(new InputStreamReader(input, UTF_8));
+            for (String className : properties.stringPropertyNames()) {
+                if (propertySources.containsKey(className)) {
+                    continue;
+                }
+                TypeElement element = elementUtils.getTypeElement(className);
+                String value = element == null ? null : getIndexValue(element);
+                if (value != null) {
+                    allPropertySources.put(className, value);
+                }
+            }
+        });
+        allPropertySources.putAll(propertySources);
+        if (allPropertySources.isEmpty()) {
+            return;
+        }
+        List<TypeElement> elements = new ArrayList<>();
+        for (String className : allPropertySources.keySet()) {
+            TypeElement element = originatingElements.get(className);
+            elements.add(element != null ? element : elementUtils.getTypeElement(className));
+        }
+        List<String> lines = new ArrayList<>();
+        allPropertySources.forEach((k, v) -> lines.add(k + "=" + v));
+        writeResource(INDEX_RESOURCE_LOCATION, elements, lines);
+        stats.add("entriesEmitted", allPropertySources.size());
+        writeNativeImageMetadata(getNativeImageMetadata(allPropertySources.values()), elements);
+    }
+
+    /**
+     * 索引文件以及 classpath 下的配置文件、profile 文件与快照文件，包含占位符的位置无法在编译期确定，不做处理
+     *
+     * @param indexValues 索引内容
+     * @return native-image 元数据
+     */
+    private NativeImageMetadata getNativeImageMetadata(Collection<String> indexValues) {
+        NativeImageMetadata metadata = new NativeImageMetadata().resource(INDEX_RESOURCE_LOCATION);
+        String snapshot = "(" + NativeImageMetadata.quote(".cdps") + ")?";
+        for (String indexValue : indexValues) {
+            // order,loadActiveProfile,location
+            String[] values = indexValue.split(",", 3);
+            String location = values[2].replace("\\\\", "\\");
+            if (!location.startsWith(CLASSPATH_URL_PREFIX) || location.contains("${")) {
+                continue;
+            }
+            String path = location.substring(CLASSPATH_URL_PREFIX.length());
+            path = path.startsWith("/") ? path.substring(1) : path;
+            int dot = path.lastIndexOf('.');
+            if (Boolean.parseBoolean(values[1]) && dot > path.lastIndexOf('/')) {
+                metadata.resourcePattern(NativeImageMetadata.quote(path.substring(0, dot)) + "(-[^/]*)?"
+                        + NativeImageMetadata.quote(path.substring(dot)) + snapshot);
+            } else {
+                metadata.resourcePattern(NativeImageMetadata.quote(path) + snapshot);
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * 生成 {@code CodeDreamPropertySource#accessor()} 指定的访问类，配置文件需要在编译期可以读取：
+     * 依次查找 CLASS_OUTPUT(maven 在编译前复制资源文件)、源码路径与 classpath
+     *
+     * @param element 标注注解的类
+     */
+    private void generateAccessor(TypeElement element) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            if (!ANNOTATION_NAME.equals(annotationMirror.getAnnotationType().toString())) {
+                continue;
+            }
+            String accessor = (String) getAnnotationValue(annotationMirror, "accessor").getValue();
+            if (accessor.isEmpty()) {
+                return;
+            }
+            String location = (String) getAnnotationValue(annotationMirror, "value").getValue();
+            if (!location.startsWith(CLASSPATH_URL_PREFIX) || location.contains("${")) {
+                error(element, "accessor requires a classpath: location without placeholders, but got %s", location);
+                return;
+            }
+            String path = location.substring(CLASSPATH_URL_PREFIX.length());
+            path = path.startsWith("/") ? path.substring(1) : path;
+            String className = accessor.contains(".") ? accessor
+                    : elementUtils.getPackageOf(element).getQualifiedName() + "." + accessor;
+            className = className.startsWith(".") ? className.substring(1) : className;
+            try {
+                Map<String, Class<?>> types = null;
+                for (JavaFileManager.Location searchLocation : Arrays.asList(StandardLocation.CLASS_OUTPUT,
+                        StandardLocation.SOURCE_PATH, StandardLocation.CLASS_PATH)) {
+                    types = readKeys(searchLocation, path);
+                    if (types != null) {
+                        break;
+                    }
+                }
+                if (types == null) {
+                    error(element, "%s not found on the class output, source path or classpath at compile time", location);
+                    return;
+                }
+                if (types.size() > PropertyAccessorGenerator.MAX_KEYS) {
+                    error(element, "%s has %d keys, typed accessors support at most %d", location, types.size(), PropertyAccessorGenerator.MAX_KEYS);
+                    return;
+                }
+                String source = PropertyAccessorGenerator.generate(className, location, types);
+                JavaFileObject sourceFile = filer.createSourceFile(className, element);
+                try (Writer writer = sourceFile.openWriter()) {
+                    writer.write(source);
+                }
+                stats.increment("accessorsGenerated");
+            } catch (IOException e) {
+                error(element, "Failed to generate %s from %s: %s", className, location, e.getMessage());
+            } catch (NoClassDefFoundError e) {
+                error(element, "Reading %s at compile time requires snakeyaml on the annotation processor path", location);
+            } catch (RuntimeException e) {
+                // 文件格式错误或多个 key 对应同一个字段名
+                error(element, "Cannot generate %s for %s: %s", className, location, e.getMessage());
+            }
+            return;
+        }
+    }
+
+    /**
+     * 读取配置文件中的 key
+     *
+     * @return key -> 值的类型，文件不存在时返回 null
+     * @throws IOException 读取失败
+     */
+    private Map<String, Class<?>> readKeys(JavaFileManager.Location location, String path) throws IOException {
+        InputStream input;
+        try {
+            FileObject resource = filer.getResource(location, "", path);
+            input = resource.openInputStream();
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        return PropertyAccessorGenerator.read(path, input);
+    }
+
+    /**
+     * 读取类上的注解，生成索引内容
+     *
+     * @param element 类
+     * @return order,loadActiveProfile,location，没有注解时返回 null
+     */
+    private String getIndexValue(TypeElement element) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            if (ANNOTATION_NAME.equals(annotationMirror.getAnnotationType().toString())) {
+                String location = (String) getAnnotationValue(annotationMirror, "value").getValue();
+                Object loadActiveProfile = getAnnotationValue(annotationMirror, "loadActiveProfile").getValue();
+                Object order = getAnnotationValue(annotationMirror, "order").getValue();
+                return order + "," + loadActiveProfile + "," + location.replace("\\", "\\\\");
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,259 @@
+package com.codedreamplus.auto.properties;
+
+import org.yaml.snakeyaml.Yaml;
+
+import javax.lang.model.SourceVersion;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>Description: [配置文件访问类源码生成]</p >
+ * Created on 2026-10-17
+ * <p>按编译期读取到的 key 为 {@code CodeDreamPropertySource#accessor()} 生成不可变的访问类：每个 key 对应一个 final 字段与 getter，
+ * 以及嵌套类 Keys 中的常量，类型按文件中的值推断(boolean、int、long、double，其余为 String)。生成的类标注 {@code @Component}，
+ * 构造器从 Environment 中一次性读取全部 key，缺少 key 或类型不匹配时启动失败；之后读取配置只是普通的字段访问，
+ * 写错的 key 在编译期即报错。字段的值在创建时确定，配置文件热加载后不会更新</p>
+ *
+ * @author mo
+ */
+final class PropertyAccessorGenerator {
+    /**
+     * 构造器中每个 key 约占 20 字节，超过该数量时单个方法可能超过 64KB
+     */
+    static final int MAX_KEYS = 2000;
+    private static final Pattern INTEGER = Pattern.compile("[-+]?\\d+");
+    private static final Pattern DECIMAL = Pattern.compile("[-+]?(\\d+\\.\\d*|\\.\\d+)([eE][-+]?\\d+)?|[-+]?\\d+[eE][-+]?\\d+");
+    private static final Pattern WORD = Pattern.compile("[^A-Za-z0-9]+");
+
+    private PropertyAccessorGenerator() {
+    }
+
+    /**
+     * 读取配置文件，按 spring 的规则展开为 a.b、a[0] 形式的 key
+     *
+     * @param fileName 文件名，按扩展名区分 properties 与 yml/yaml
+     * @param input    文件内容
+     * @return key -> 值的类型，按文件中的顺序排列
+     * @throws IOException 读取失败
+     */
+    static Map<String, Class<?>> read(String fileName, InputStream input) throws IOException {
+        Map<String, Class<?>> types = new LinkedHashMap<>();
+        if (fileName.endsWith(".yml") || fileName.endsWith(".yaml")) {
+            try (Reader reader = new InputStreamReader(input, UTF_8)) {
+                for (Object document : new Yaml().loadAll(reader)) {
+                    flatten("", document, types);
+                }
+            }
+        } else {
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(input, UTF_8)) {
+                properties.load(reader);
+            }
+            new TreeSet<>(properties.stringPropertyNames()).forEach(key -> types.put(key, infer(properties.getProperty(key))));
+        }
+        return types;
+    }
+
+    /**
+     * 生成访问类源码
+     *
+     * @param className 访问类全名
+     * @param location  配置文件位置
+     * @param types     key -> 值的类型
+     * @return 源码
+     * @throws IllegalArgumentException 多个 key 对应同一个字段名或常量名
+     */
+    static String generate(String className, String location, Map<String, Class<?>> types) {
+        int lastDot = className.lastIndexOf('.');
+        String simpleName = className.substring(lastDot + 1);
+        // key -> 字段名
+        Map<String, String> fields = new LinkedHashMap<>();
+        // key -> 常量名
+        Map<String, String> constants = new LinkedHashMap<>();
+        Map<String, String> keys = new HashMap<>();
+        Map<String, String> constantKeys = new HashMap<>();
+        for (String key : types.keySet()) {
+            String field = fieldName(key);
+            String other = keys.putIfAbsent(field, key);
+            if (other != null) {
+                throw new IllegalArgumentException("keys " + other + " and " + key + " both map to field " + field);
+            }
+            String constant = constantName(field);
+            other = constantKeys.putIfAbsent(constant, key);
+            if (other != null) {
+                throw new IllegalArgumentException("keys " + other + " and " + key + " both map to constant " + constant);
+            }
+            fields.put(key, field);
+            constants.put(key, constant);
+        }
+        StringBuilder source = new StringBuilder(512 + types.size() * 256);
+        if (lastDot > 0) {
+            source.append("package ").append(className, 0, lastDot).append(";\n\n");
+        }
+        source.append("import org.springframework.core.env.Environment;\n")
+                .append("import org.springframework.stereotype.Component;\n\n")
+                .append("/**\n")
+                .append(" * Typed accessor for ").append(javadoc(location)).append(" generated by ")
+                .append(CodeDreamPropertySourceProcessor.class.getName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("@Component\n")
+                .append("public final class ").append(simpleName).append(" {\n");
+        fields.forEach((key, field) -> source.append("    private final ").append(types.get(key).getSimpleName())
+                .append(" ").append(field).append(";\n"));
+        source.append("\n")
+                .append("    public ").append(simpleName).append("(Environment environment) {\n");
+        fields.forEach((key, field) -> source.append("        this.").append(field)
+                .append(" = environment.getRequiredProperty(Keys.").append(constants.get(key)).append(", ")
+                .append(boxed(types.get(key))).append(".class);\n"));
+        source.append("    }\n");
+        fields.forEach((key, field) -> {
+            Class<?> type = types.get(key);
+            source.append("\n")
+                    .append("    /**\n")
+                    .append("     * ").append(javadoc(key)).append("\n")
+                    .append("     */\n")
+                    .append("    public ").append(type.getSimpleName()).append(" ")
+                    .append(type == boolean.class ? "is" : "get").append(Character.toUpperCase(field.charAt(0)))
+                    .append(field, 1, field.length()).append("() {\n")
+                    .append("        return ").append(field).append(";\n")
+                    .append("    }\n");
+        });
+        source.append("\n")
+                .append("    /**\n")
+                .append("     * Property keys of ").append(javadoc(location)).append(".\n")
+                .append("     */\n")
+                .append("    public static final class Keys {\n");
+        constants.forEach((key, constant) -> source.append("        public static final String ").append(constant)
+                .append(" = ").append(literal(key)).append(";\n"));
+        source.append("\n")
+                .append("        private Keys() {\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private static void flatten(String path, Object value, Map<String, Class<?>> types) {
+        if (value instanceof Map) {
+            ((Map<?, ?>) value).forEach((key, child) -> {
+                String name = key instanceof String ? (String) key : "[" + key + "]";
+                flatten(path.isEmpty() ? name : name.startsWith("[") ? path + name : path + "." + name, child, types);
+            });
+        } else if (value instanceof Collection) {
+            int index = 0;
+            for (Object child : (Collection<?>) value) {
+                flatten(path + "[" + index++ + "]", child, types);
+            }
+            if (index == 0 && !path.isEmpty()) {
+                types.put(path, String.class);
+            }
+        } else if (!path.isEmpty()) {
+            types.put(path, type(value));
+        }
+    }
+
+    private static Class<?> type(Object value) {
+        if (value instanceof Boolean) {
+            return boolean.class;
+        }
+        if (value instanceof Integer) {
+            return int.class;
+        }
+        if (value instanceof Long || (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64)) {
+            return long.class;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return double.class;
+        }
+        return String.class;
+    }
+
+    /**
+     * properties 中的值均为字符串，按写法推断类型
+     */
+    private static Class<?> infer(String value) {
+        String trimmed = value.trim();
+        if ("true".equalsIgnoreCase(trimmed) || "false".equalsIgnoreCase(trimmed)) {
+            return boolean.class;
+        }
+        if (INTEGER.matcher(trimmed).matches()) {
+            BigInteger number = new BigInteger(trimmed);
+            return number.bitLength() < 32 ? int.class : number.bitLength() < 64 ? long.class : String.class;
+        }
+        if (DECIMAL.matcher(trimmed).matches()) {
+            return double.class;
+        }
+        return String.class;
+    }
+
+    /**
+     * server.port -> serverPort，my-app.max_size -> myAppMaxSize，hosts[0] -> hosts0
+     */
+    private static String fieldName(String key) {
+        StringBuilder name = new StringBuilder(key.length());
+        for (String word : WORD.split(key)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            name.append(name.length() == 0 ? Character.toLowerCase(word.charAt(0)) : Character.toUpperCase(word.charAt(0)))
+                    .append(word, 1, word.length());
+        }
+        if (name.length() == 0 || Character.isDigit(name.charAt(0))) {
+            name.insert(0, '_');
+        }
+        return SourceVersion.isKeyword(name) ? name + "_" : name.toString();
+    }
+
+    /**
+     * serverPort -> SERVER_PORT，maxURL -> MAX_URL，hosts0 -> HOSTS0
+     */
+    private static String constantName(String field) {
+        StringBuilder name = new StringBuilder(field.length() + 8);
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(field.charAt(i - 1)) && field.charAt(i - 1) != '_') {
+                name.append('_');
+            }
+            name.append(Character.toUpperCase(c));
+        }
+        return name.toString();
+    }
+
+    private static String boxed(Class<?> type) {
+        if (type == boolean.class) {
+            return "Boolean";
+        }
+        if (type == int.class) {
+            return "Integer";
+        }
+        if (type == long.class) {
+            return "Long";
+        }
+        return type == double.class ? "Double" : "String";
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static String javadoc(String value) {
+        return value.replace("*/", "*&#47;").replace("\\u", "\\\\u");
+    }
+}
@@ -0,0 +1,511 @@
+package com.codedreamplus.auto.service;
+
+import com.codedreamplus.auto.common.AbstractCodeDreamProcessor;
+import com.codedreamplus.auto.common.NativeImageMetadata;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.SimpleAnnotationValueVisitor8;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
+
+/**
+ * java spi 服务自动处理器 参考：google auto
+ * <p>生成spi服务文件 可通过{@link ServiceLoader#load(Class)}加载注解{@code AutoService#value()}指定的父类接口下的实现类</p>
+ *
+ * @author mo
+ */
+@SupportedOptions({"debug", AutoServiceProcessor.INDEX_OPTION})
+public class AutoServiceProcessor extends AbstractCodeDreamProcessor {
+    /**
+     * 服务索引，默认不生成；配置为 true 时生成第一个实现类所在包下的 CodeDreamServiceIndex_{实现类集合哈希}，也可以直接配置索引类全名
+     * <p>索引中的方法引用由 javac 编译，实现类很多时会明显增加编译耗时，因此需要显式开启</p>
+     */
+    public static final String INDEX_OPTION = "codedream.service.index";
+    /**
+     * {@code AutoService} 注解与 {@code ServiceIndex} 接口位于 codedreamplus-base-runtime，处理器只按名称引用，不依赖 runtime
+     */
+    static final String AUTO_SERVICE_NAME = "com.codedreamplus.auto.service.AutoService";
+    static final String SERVICE_INDEX_NAME = "com.codedreamplus.auto.service.ServiceIndex";
+    /**
+     * 默认的服务索引类名
+     */
+    private static final String INDEX_SIMPLE_NAME = "CodeDreamServiceIndex";
+    /**
+     * 生成过 spi 文件的接口列表，增量编译时据此回读上一次生成的文件，即使本次编译没有任何 {@code AutoService}
+     */
+    private static final String INTERFACES_RESOURCE_LOCATION = "META-INF/codedream/auto-service.interfaces";
+    /**
+     * spi 服务集合，key 接口 -> value 实现列表
+     */
+    private final Map<String, Set<String>> providers = new HashMap<>();
+    /**
+     * 本次编译中产生 spi 配置的元素，key 实现类 -> value 元素
+     */
+    private final Map<String, TypeElement> originatingElements = new HashMap<>();
+    /**
+     * 实现类排序值，key 实现类 -> value {@code AutoService#order()}
+     */
+    private final Map<String, Integer> providerOrders = new HashMap<>();
+    /**
+     * 上一次编译生成的索引类名
+     */
+    private final Set<String> previousIndexClassNames = new LinkedHashSet<>();
+    /**
+     * 已写入索引的实现类，key 接口 -> value 实现列表，后续轮次只为新增的实现类生成索引
+     */
+    private final Map<String, Set<String>> indexedProviders = new HashMap<>();
+    /**
+     * 服务索引类名，未开启或无法确定时为 null
+     */
+    private String indexClassName;
+    /**
+     * 已生成的索引类数量
+     */
+    private int indexCount;
+    /**
+     * 本次编译的源码中声明的顶层类型
+     */
+    private final Set<String> rootTypeNames = new HashSet<>();
+    /**
+     * 上一次编译生成过 spi 文件的接口，不存在时为空
+     */
+    private final Set<String> previousInterfaces = new LinkedHashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment env) {
+        super.init(env);
+        readResource(INTERFACES_RESOURCE_LOCATION, input -> previousInterfaces.addAll(readServiceFile(input)));
+        // 上一次生成的接口都需要回读、剔除失效的实现类
+        previousInterfaces.forEach(providerInterface -> providers.put(providerInterface, new LinkedHashSet<>()));
+    }
+
+    @Override
+    protected boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement) {
+                rootTypeNames.add(((TypeElement) element).getQualifiedName().toString());
+            }
+        }
+        processAnnotations(annotations, roundEnv);
+        // 源码需要在最后一轮之前生成，才能参与编译；最后一轮不会再出现新的实现类，每一轮新增的实现类(如其他处理器生成的类)写入单独的索引类
+        if (!roundEnv.processingOver() && !providers.isEmpty()) {
+            try {
+                generateServiceIndex();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to generate service index", e);
+            }
+        }
+        // 处理至最后一轮时会进入此方法
+        if (roundEnv.processingOver()) {
+            try {
+                writeAutoServiceFiles();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to write META-INF/services", e);
+            }
+        }
+        // 处理所有注解时不声明，其他处理器仍然可以处理
+        return previousInterfaces.isEmpty();
+    }
+
+    /**
+     * 获取所支持的所有注解类型
+     * <p>存在上一次生成的 spi 文件时处理所有注解：增量编译中只有去掉了 {@code AutoService} 的类时，javac 只会调用处理所有注解的处理器</p>
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return previousInterfaces.isEmpty() ? singleton(AUTO_SERVICE_NAME) : singleton("*");
+    }
+
+    /**
+     * 注解处理
+     * @param annotations 请求处理的注释类型
+     * @param roundEnv    有关当前和上一轮信息的环境
+     */
+    private void processAnnotations(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement autoService = processingEnv.getElementUtils().getTypeElement(AUTO_SERVICE_NAME);
+        if (autoService == null) {
+            // classpath 中没有 codedreamplus-base-runtime，不可能存在 @AutoService
+            return;
+        }
+        Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(autoService);
+        for (Element e : elements) {
+            stats.increment("elementsInspected");
+            TypeElement providerImplementer = (TypeElement) e;
+            //获取实现类名称
+            String providerImplementerName = providerImplementer.getQualifiedName().toString();
+            AnnotationMirror annotationMirror = getAutoServiceMirror(providerImplementer);
+            if (annotationMirror == null) {
+                continue;
+            }
+            providerOrders.put(providerImplementerName, getOrder(annotationMirror));
+            //获取接口名称(需要先授权访问)
+            getValueFieldOfClasses(annotationMirror).forEach(x -> {
+                String providerInterfaceName = x.toString();
+                if (checkImplementer(providerImplementer, x)) {
+                    providers.computeIfAbsent(providerInterfaceName, (ignored) -> new LinkedHashSet<>()).add(providerImplementerName);
+                    originatingElements.put(providerImplementerName, providerImplementer);
+                }
+            });
+        }
+    }
+
+    /**
+     * 写入META-INF.services文件
+     * <p>增量编译时只会处理发生变化的类，因此需要回读上一次生成的文件，剔除已不存在的实现类后再与本次结果合并</p>
+     *
+     * @throws IOException
+     */
+    private void writeAutoServiceFiles() throws IOException {
+        if (providers.isEmpty()) {
+            return;
+        }
+        boolean nativeImage = isNativeImageEnabled();
+        NativeImageMetadata nativeImageMetadata = new NativeImageMetadata();
+        List<TypeElement> allElements = new ArrayList<>();
+        Set<String> interfaces = new TreeSet<>();
+        for (Map.Entry<String, Set<String>> entry : providers.entrySet()) {
+            String providerInterface = entry.getKey();
+            String resourceFile = "META-INF/services/" + providerInterface;
+            Set<String> allServices = mergeProviders(providerInterface, entry.getValue());
+            if (allServices.isEmpty()) {
+                // 实现类都已失效，Filer 无法删除文件，写入空文件
+                if (previousInterfaces.contains(providerInterface)) {
+                    writeResource(resourceFile, Collections.emptyList(), Collections.emptyList());
+                }
+                continue;
+            }
+            interfaces.add(providerInterface);
+            List<TypeElement> elements = new ArrayList<>();
+            for (String service : allServices) {
+                TypeElement element = originatingElements.get(service);
+                elements.add(element != null ? element : elementUtils.getTypeElement(service));
+                if (nativeImage) {
+                    // ServiceLoader 通过无参构造器反射创建实现类
+                    String binaryName = element != null ? elementUtils.getBinaryName(element).toString() : getBinaryName(service);
+                    nativeImageMetadata.type(binaryName, NativeImageMetadata.NO_ARGS_CONSTRUCTOR);
+                }
+            }
+            writeResource(resourceFile, elements, allServices);
+            stats.add("entriesEmitted", allServices.size());
+            if (nativeImage) {
+                nativeImageMetadata.resource(resourceFile);
+            }
+            allElements.addAll(elements);
+        }
+        if (!interfaces.isEmpty() || !previousInterfaces.isEmpty()) {
+            writeResource(INTERFACES_RESOURCE_LOCATION, allElements, interfaces);
+        }
+        writeNativeImageMetadata(nativeImageMetadata, allElements);
+    }
+
+    /**
+     * 回读上一次生成的文件，剔除已失效的实现类后与本次结果合并，按 {@code AutoService#order()} 以及类名排序
+     *
+     * @param providerInterface 接口名称
+     * @param services          本次编译的实现类
+     * @return 合并后的实现类
+     */
+    private Set<String> mergeProviders(String providerInterface, Set<String> services) {
+        Set<String> allServices = new HashSet<>();
+        // 每个模块只有一个服务索引，不保留上一次生成的索引类
+        if (!SERVICE_INDEX_NAME.equals(providerInterface)) {
+            readResource("META-INF/services/" + providerInterface, input -> allServices.addAll(readServiceFile(input)));
+            allServices.removeIf(service -> !services.contains(service) && isStaleProvider(providerInterface, service));
+        }
+        allServices.addAll(services);
+        Set<String> sortedServices = new TreeSet<>(Comparator.comparingInt(this::getProviderOrder).thenComparing(Comparator.naturalOrder()));
+        sortedServices.addAll(allServices);
+        return sortedServices;
+    }
+
+    /**
+     * 获取实现类排序值，上一次编译生成的实现类从 class 文件中的注解读取
+     *
+     * @param service 实现类名称
+     * @return 排序值
+     */
+    private int getProviderOrder(String service) {
+        return providerOrders.computeIfAbsent(service, (ignored) -> {
+            TypeElement providerImplementer = elementUtils.getTypeElement(service);
+            AnnotationMirror annotationMirror = providerImplementer == null ? null : getAutoServiceMirror(providerImplementer);
+            return annotationMirror == null ? 0 : getOrder(annotationMirror);
+        });
+    }
+
+    /**
+     * 为尚未写入索引的实现类生成服务索引类，运行时通过 {@code AutoServiceLoader} 直接创建实现类
+     * <p>第一个索引类使用 {@link #getIndexClassName()}，之后的轮次依次生成 {索引类名}_2、{索引类名}_3...，运行时合并。
+     * 无法直接访问的实现类(非 public、缺少 public 无参构造器等)不写入索引，所在接口记录在 {@code ServiceIndex#getIncompleteServices()} 中，
+     * 运行时该接口仍通过 {@link ServiceLoader} 查找</p>
+     *
+     * @throws IOException 抛出io异常
+     */
+    private void generateServiceIndex() throws IOException {
+        if (getIndexClassName() == null) {
+            return;
+        }
+        Map<String, List<TypeElement>> newProviders = new LinkedHashMap<>();
+        Map<String, Integer> orders = new TreeMap<>();
+        Set<String> incomplete = new TreeSet<>();
+        List<TypeElement> elements = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> entry : providers.entrySet()) {
+            TypeElement providerType = elementUtils.getTypeElement(entry.getKey());
+            if (providerType == null || SERVICE_INDEX_NAME.equals(entry.getKey())) {
+                continue;
+            }
+            String providerTypeName = elementUtils.getBinaryName(providerType).toString();
+            Set<String> indexed = indexedProviders.computeIfAbsent(entry.getKey(), (ignored) -> new HashSet<>());
+            List<TypeElement> implementers = new ArrayList<>();
+            for (String service : mergeProviders(entry.getKey(), entry.getValue())) {
+                if (!indexed.add(service)) {
+                    continue;
+                }
+                TypeElement implementer = originatingElements.get(service);
+                if (implementer == null) {
+                    implementer = elementUtils.getTypeElement(service);
+                }
+                if (isIndexable(implementer)) {
+                    implementers.add(implementer);
+                } else {
+                    incomplete.add(providerTypeName);
+                }
+            }
+            if (implementers.isEmpty()) {
+                continue;
+            }
+            newProviders.put(providerTypeName, implementers);
+            elements.addAll(implementers);
+            for (TypeElement implementer : implementers) {
+                int order = getProviderOrder(implementer.getQualifiedName().toString());
+                if (order != 0) {
+                    orders.put(elementUtils.getBinaryName(implementer).toString(), order);
+                }
+            }
+        }
+        if (newProviders.isEmpty() && incomplete.isEmpty()) {
+            return;
+        }
+        String className = indexCount == 0 ? indexClassName : indexClassName + "_" + (indexCount + 1);
+        if (elementUtils.getTypeElement(className) != null && !previousIndexClassNames.contains(className)) {
+            // 依赖中已存在同名索引类，生成后会在 classpath 上互相覆盖
+            error(originatingElements.values().iterator().next(),
+                    "Service index %s already exists on the classpath, use -A%s=<class name> to choose a unique name", className, INDEX_OPTION);
+            return;
+        }
+        indexCount++;
+        JavaFileObject sourceFile = filer.createSourceFile(className, elements.toArray(new Element[0]));
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(ServiceIndexGenerator.generate(className, newProviders, orders, incomplete));
+        }
+        providers.computeIfAbsent(SERVICE_INDEX_NAME, (ignored) -> new LinkedHashSet<>()).add(className);
+    }
+
+    /**
+     * 获取服务索引类名，未开启索引时返回 null；优先沿用上一次生成的类名，保证增量编译时类名稳定
+     * <p>默认类名带有本模块实现类集合的哈希，避免不同模块的实现类在同一个包下时生成同名索引类</p>
+     *
+     * @return 索引类名，不生成索引时返回 null
+     */
+    private String getIndexClassName() {
+        if (indexClassName == null) {
+            indexClassName = resolveIndexClassName();
+        }
+        return indexClassName;
+    }
+
+    private String resolveIndexClassName() {
+        String option = processingEnv.getOptions().get(INDEX_OPTION);
+        if (option == null || option.trim().isEmpty() || "false".equalsIgnoreCase(option)) {
+            return null;
+        }
+        readResource("META-INF/services/" + SERVICE_INDEX_NAME, input -> previousIndexClassNames.addAll(readServiceFile(input)));
+        if (!"true".equalsIgnoreCase(option)) {
+            return option.trim();
+        }
+        if (!previousIndexClassNames.isEmpty()) {
+            // 之后轮次生成的索引类名以第一个索引类名为前缀，排序在后
+            return new TreeSet<>(previousIndexClassNames).first();
+        }
+        if (originatingElements.isEmpty()) {
+            return null;
+        }
+        SortedSet<String> sortedProviders = new TreeSet<>(originatingElements.keySet());
+        PackageElement packageElement = elementUtils.getPackageOf(originatingElements.get(sortedProviders.first()));
+        if (packageElement.isUnnamed()) {
+            return null;
+        }
+        String hash = String.format("%08x", String.join(",", sortedProviders).hashCode());
+        return packageElement.getQualifiedName() + "." + INDEX_SIMPLE_NAME + "_" + hash;
+    }
+
+    /**
+     * 实现类能否在生成的索引中直接通过构造器创建
+     *
+     * @param implementer 实现类
+     * @return 是否可以写入索引
+     */
+    private boolean isIndexable(TypeElement implementer) {
+        if (implementer == null || elementUtils.getPackageOf(implementer).isUnnamed()) {
+            return false;
+        }
+        Element current = implementer;
+        while (current.getKind().isClass() || current.getKind().isInterface()) {
+            if (!current.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            if (current.getEnclosingElement().getKind() != ElementKind.PACKAGE && !current.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        if (implementer.getKind() != ElementKind.CLASS || implementer.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        return ElementFilter.constructorsIn(implementer.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+    }
+
+    /**
+     * 上一次生成的实现类是否已失效：类已删除、不再实现该接口或者不再声明该接口；本次编译的源码中的类以本次处理结果为准
+     *
+     * @param providerInterface 接口名称
+     * @param service           实现类名称
+     * @return 是否失效
+     */
+    private boolean isStaleProvider(String providerInterface, String service) {
+        TypeElement providerImplementer = elementUtils.getTypeElement(service);
+        TypeElement providerType = elementUtils.getTypeElement(providerInterface);
+        if (providerImplementer == null || providerType == null) {
+            return true;
+        }
+        if (isInCurrentSources(providerImplementer)) {
+            return !providers.getOrDefault(providerInterface, Collections.emptySet()).contains(service);
+        }
+        if (!checkImplementer(providerImplementer, providerType.asType())) {
+            return true;
+        }
+        AnnotationMirror annotationMirror = getAutoServiceMirror(providerImplementer);
+        // 旧版本 AutoService 为 SOURCE 级别，class 文件中读取不到注解时保留
+        return annotationMirror != null && getValueFieldOfClasses(annotationMirror).stream()
+                .noneMatch(x -> x.toString().equals(providerInterface));
+    }
+
+    /**
+     * 类型是否声明在本次编译的源码中
+     *
+     * @param element 类型
+     * @return 是否为本次编译的类型
+     */
+    private boolean isInCurrentSources(TypeElement element) {
+        Element current = element;
+        while (current.getEnclosingElement() != null && current.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+        return current instanceof TypeElement && rootTypeNames.contains(((TypeElement) current).getQualifiedName().toString());
+    }
+
+    /**
+     * 获取类上的 AutoService 注解
+     *
+     * @param providerImplementer 实现类
+     * @return AnnotationMirror，不存在时返回 null
+     */
+    private static AnnotationMirror getAutoServiceMirror(TypeElement providerImplementer) {
+        for (AnnotationMirror annotationMirror : providerImplementer.getAnnotationMirrors()) {
+            if (AUTO_SERVICE_NAME.equals(annotationMirror.getAnnotationType().toString())) {
+                return annotationMirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 读取 AutoService 上的 order 值
+     *
+     * @param annotationMirror AnnotationMirror
+     * @return order
+     */
+    private int getOrder(AnnotationMirror annotationMirror) {
+        return (Integer) getAnnotationValue(annotationMirror, "order").getValue();
+    }
+
+    /**
+     * 读取 spi 服务文件，忽略空行与注释
+     *
+     * @param input 输入流
+     * @return 实现类集合
+     * @throws IOException 抛出io异常
+     */
+    private static Set<String> readServiceFile(InputStream input) throws IOException {
+        Set<String> serviceClasses = new LinkedHashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int commentStart = line.indexOf('#');
+                if (commentStart >= 0) {
+                    line = line.substring(0, commentStart);
+                }
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    serviceClasses.add(line);
+                }
+            }
+        }
+        return serviceClasses;
+    }
+
+    /**
+     * Verifies {@link java.util.spi.LocaleServiceProvider} constraints on the concrete provider class.
+     * Note that these constraints are enforced at runtime via the ServiceLoader,
+     * we're just checking them at compile time to be extra nice to our users.
+     */
+    private boolean checkImplementer(TypeElement providerImplementer, TypeMirror providerType) {
+        // TODO: We're currently only enforcing the subtype relationship
+        // constraint. It would be nice to enforce them all.
+        Types types = processingEnv.getTypeUtils();
+
+        return types.isSubtype(providerImplementer.asType(), providerType);
+    }
+
+    /**
+     * 读取 AutoService 上的 value 值
+     *
+     * @param annotationMirror AnnotationMirror
+     * @return value 集合
+     */
+    private Set<TypeMirror> getValueFieldOfClasses(AnnotationMirror annotationMirror) {
+        return getAnnotationValue(annotationMirror, "value")
+                .accept(new SimpleAnnotationValueVisitor8<Set<TypeMirror>, Void>() {
+                    @Override
+                    public Set<TypeMirror> visitType(TypeMirror typeMirror, Void v) {
+                        Set<TypeMirror> declaredTypeSet = new HashSet<>(1);
+                        declaredTypeSet.add(typeMirror);
+                        return Collections.unmodifiableSet(declaredTypeSet);
+                    }
+
+                    @Override
+                    public Set<TypeMirror> visitArray(
+                            List<? extends AnnotationValue> values, Void v) {
+                        return values
+                                .stream()
+                                .flatMap(value -> value.accept(this, null).stream())
+                                .collect(Collectors.toSet());
+                    }
+                }, null);
+    }
+}
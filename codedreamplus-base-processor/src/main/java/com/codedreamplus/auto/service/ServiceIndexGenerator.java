@@ -0,0 +1,175 @@
+package com.codedreamplus.auto.service;
+
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Description: [服务索引源码生成]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+final class ServiceIndexGenerator {
+
+    private ServiceIndexGenerator() {
+    }
+
+    /**
+     * 每个嵌套类注册的实现类数量上限，避免单个方法超过 64KB、单个类的常量池超过 65535 项
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * 生成 {@code ServiceIndex} 实现类源码，实现类按 {@link #CHUNK_SIZE} 分组注册在嵌套类 Providers0、Providers1... 中，
+     * 排序值同样分组写入 Orders0、Orders1...
+     *
+     * @param indexClassName 索引类全名
+     * @param providers      key 接口名称 -> value 实现类
+     * @param orders         key 实现类二进制名称 -> value 排序值，只包含不为 0 的实现类
+     * @param incomplete     实现类没有全部写入索引的接口
+     * @return 源码
+     */
+    static String generate(String indexClassName, Map<String, List<TypeElement>> providers, Map<String, Integer> orders,
+                           Set<String> incomplete) {
+        int lastDot = indexClassName.lastIndexOf('.');
+        String packageName = indexClassName.substring(0, lastDot);
+        String simpleName = indexClassName.substring(lastDot + 1);
+        List<StringBuilder> chunks = chunks(providers);
+        StringBuilder source = new StringBuilder(256 + providers.size() * 128);
+        source.append("package ").append(packageName).append(";\n\n")
+                .append("import ").append(AutoServiceProcessor.SERVICE_INDEX_NAME).append(";\n\n")
+                .append("import java.util.ArrayList;\n")
+                .append("import java.util.Arrays;\n")
+                .append("import java.util.HashMap;\n")
+                .append("import java.util.HashSet;\n")
+                .append("import java.util.List;\n")
+                .append("import java.util.Map;\n")
+                .append("import java.util.Set;\n")
+                .append("import java.util.function.Supplier;\n\n")
+                .append("/**\n")
+                .append(" * Service index generated by ").append(AutoServiceProcessor.class.getName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName).append(" implements ServiceIndex {\n\n")
+                .append("    @Override\n")
+                .append("    public Map<String, List<Supplier<?>>> getProviders() {\n")
+                .append("        Map<String, List<Supplier<?>>> providers = new HashMap<>(")
+                .append(Math.max(16, providers.size() * 2)).append(");\n");
+        for (int i = 0; i < chunks.size(); i++) {
+            source.append("        Providers").append(i).append(".register(providers);\n");
+        }
+        source.append("        return providers;\n")
+                .append("    }\n");
+        List<StringBuilder> orderChunks = orderChunks(orders);
+        if (!orderChunks.isEmpty()) {
+            source.append("\n")
+                    .append("    @Override\n")
+                    .append("    public Map<String, Integer> getProviderOrders() {\n")
+                    .append("        Map<String, Integer> orders = new HashMap<>(").append(Math.max(16, orders.size() * 2)).append(");\n");
+            for (int i = 0; i < orderChunks.size(); i++) {
+                source.append("        Orders").append(i).append(".register(orders);\n");
+            }
+            source.append("        return orders;\n")
+                    .append("    }\n");
+        }
+        if (!incomplete.isEmpty()) {
+            source.append("\n")
+                    .append("    @Override\n")
+                    .append("    public Set<String> getIncompleteServices() {\n")
+                    .append("        return new HashSet<>(Arrays.asList(");
+            Iterator<String> iterator = incomplete.iterator();
+            while (iterator.hasNext()) {
+                source.append("\"").append(iterator.next()).append("\"");
+                if (iterator.hasNext()) {
+                    source.append(", ");
+                }
+            }
+            source.append("));\n")
+                    .append("    }\n");
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            source.append("\n")
+                    .append("    private static final class Providers").append(i).append(" {\n\n")
+                    .append("        static void register(Map<String, List<Supplier<?>>> providers) {\n")
+                    .append(chunks.get(i))
+                    .append("        }\n")
+                    .append("    }\n");
+        }
+        for (int i = 0; i < orderChunks.size(); i++) {
+            source.append("\n")
+                    .append("    private static final class Orders").append(i).append(" {\n\n")
+                    .append("        static void register(Map<String, Integer> orders) {\n")
+                    .append(orderChunks.get(i))
+                    .append("        }\n")
+                    .append("    }\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * 按顺序把注册语句分组，实现类较多的接口拆分为多条语句
+     */
+    private static List<StringBuilder> chunks(Map<String, List<TypeElement>> providers) {
+        List<StringBuilder> chunks = new ArrayList<>();
+        StringBuilder chunk = null;
+        int chunkSize = CHUNK_SIZE;
+        for (Map.Entry<String, List<TypeElement>> entry : providers.entrySet()) {
+            List<TypeElement> implementers = entry.getValue();
+            int from = 0;
+            while (from < implementers.size()) {
+                if (chunkSize == CHUNK_SIZE) {
+                    chunk = new StringBuilder();
+                    chunks.add(chunk);
+                    chunkSize = 0;
+                }
+                int to = Math.min(implementers.size(), from + CHUNK_SIZE - chunkSize);
+                String key = "\"" + entry.getKey() + "\"";
+                if (from == 0 && to == implementers.size()) {
+                    chunk.append("            providers.put(").append(key).append(", ");
+                    appendSuppliers(chunk, implementers.subList(from, to)).append(");\n");
+                } else if (from == 0) {
+                    chunk.append("            providers.put(").append(key).append(", new ArrayList<>(");
+                    appendSuppliers(chunk, implementers.subList(from, to)).append("));\n");
+                } else {
+                    chunk.append("            providers.get(").append(key).append(").addAll(");
+                    appendSuppliers(chunk, implementers.subList(from, to)).append(");\n");
+                }
+                chunkSize += to - from;
+                from = to;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * 排序值的注册语句，每 {@link #CHUNK_SIZE} 条为一组
+     */
+    private static List<StringBuilder> orderChunks(Map<String, Integer> orders) {
+        List<StringBuilder> chunks = new ArrayList<>();
+        int count = 0;
+        for (Map.Entry<String, Integer> entry : orders.entrySet()) {
+            if (count++ % CHUNK_SIZE == 0) {
+                chunks.add(new StringBuilder());
+            }
+            chunks.get(chunks.size() - 1).append("            orders.put(\"").append(entry.getKey()).append("\", ")
+                    .append(entry.getValue()).append(");\n");
+        }
+        return chunks;
+    }
+
+    private static StringBuilder appendSuppliers(StringBuilder source, List<TypeElement> implementers) {
+        source.append("Arrays.<Supplier<?>>asList(");
+        Iterator<TypeElement> iterator = implementers.iterator();
+        while (iterator.hasNext()) {
+            source.append(iterator.next().getQualifiedName()).append("::new");
+            if (iterator.hasNext()) {
+                source.append(", ");
+            }
+        }
+        return source.append(")");
+    }
+}
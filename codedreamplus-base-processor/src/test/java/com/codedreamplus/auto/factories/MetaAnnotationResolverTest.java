@@ -0,0 +1,117 @@
+package com.codedreamplus.auto.factories;
+
+import com.codedreamplus.auto.common.ProcessorStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Description: [组合注解解析缓存]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class MetaAnnotationResolverTest {
+    private static final String COMPONENT = "org.springframework.stereotype.Component";
+
+    @TempDir
+    Path temp;
+
+    /**
+     * 注解相互标注时解析结果与顺序无关：环上截断得到的否定结果不会被缓存，之后从环上其他注解查找时仍能找到目标注解
+     */
+    @Test
+    void resolvesCyclicMetaAnnotations() throws IOException {
+        Map<String, Boolean> expected = new LinkedHashMap<>();
+        expected.put("demo.A", true);
+        expected.put("demo.B", true);
+        expected.put("demo.C", false);
+        expected.put("demo.D", false);
+        for (List<String> order : Arrays.asList(Arrays.asList("demo.A", "demo.B", "demo.C", "demo.D"),
+                Arrays.asList("demo.B", "demo.A", "demo.D", "demo.C"))) {
+            ResolvingProcessor processor = new ResolvingProcessor(order);
+            compile(processor);
+            assertEquals(expected, processor.verdicts, order.toString());
+            assertEquals(expected, processor.cachedVerdicts, order.toString());
+            assertTrue(processor.isAnnotated);
+        }
+    }
+
+    private void compile(ResolvingProcessor processor) throws IOException {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(COMPONENT, "package org.springframework.stereotype;\npublic @interface Component {}\n");
+        // A 与 B 相互标注，A 同时被 @Component 标注；C 与 D 相互标注，均未被 @Component 标注
+        sources.put("demo.A", "package demo;\n@B @org.springframework.stereotype.Component public @interface A {}\n");
+        sources.put("demo.B", "package demo;\n@A public @interface B {}\n");
+        sources.put("demo.C", "package demo;\n@D public @interface C {}\n");
+        sources.put("demo.D", "package demo;\n@C public @interface D {}\n");
+        sources.put("demo.X", "package demo;\n@D @B public class X {}\n");
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = temp.resolve("src-" + processor.hashCode()).resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            files.add(Files.write(file, source.getValue().getBytes(UTF_8)));
+        }
+        Path output = Files.createDirectories(temp.resolve("classes-" + processor.hashCode()));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList("-d", output.toString(), "-proc:only"), null,
+                    fileManager.getJavaFileObjectsFromPaths(files));
+            task.setProcessors(Collections.singletonList(processor));
+            assertTrue(task.call(), "compilation failed");
+        }
+    }
+
+    /**
+     * 按指定顺序解析注解类型，再次解析时读取缓存
+     */
+    @SupportedAnnotationTypes("*")
+    private static class ResolvingProcessor extends AbstractProcessor {
+        private final List<String> order;
+        private final Map<String, Boolean> verdicts = new LinkedHashMap<>();
+        private final Map<String, Boolean> cachedVerdicts = new LinkedHashMap<>();
+        private boolean isAnnotated;
+
+        private ResolvingProcessor(List<String> order) {
+            this.order = order;
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (roundEnv.processingOver()) {
+                return false;
+            }
+            MetaAnnotationResolver resolver = new MetaAnnotationResolver(new ProcessorStats("test"));
+            for (String name : order) {
+                verdicts.put(name, resolver.isAnnotation(processingEnv.getElementUtils().getTypeElement(name), COMPONENT));
+            }
+            for (String name : order) {
+                cachedVerdicts.put(name, resolver.isAnnotation(processingEnv.getElementUtils().getTypeElement(name), COMPONENT));
+            }
+            isAnnotated = resolver.isAnnotated(processingEnv.getElementUtils().getTypeElement("demo.X"), COMPONENT);
+            return false;
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+    }
+}
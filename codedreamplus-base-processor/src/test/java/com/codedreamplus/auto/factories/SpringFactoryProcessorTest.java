@@ -0,0 +1,388 @@
+package com.codedreamplus.auto.factories;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Description: [增量编译时 spring.factories 的合并]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class SpringFactoryProcessorTest {
+    private static final String KEY = "demo.Key";
+
+    @TempDir
+    Path temp;
+
+    /**
+     * 本次编译的源码中去掉了 {@link AutoFactories} 的类不再保留
+     */
+    @Test
+    void removesSourceTypeWithoutAnnotation() throws IOException {
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, output.toString(), source("demo.Key", "public interface Key {}"),
+                source("demo.A", annotated("A")), source("demo.B", annotated("B")));
+        assertEquals(Arrays.asList("demo.A", "demo.B"), readFactories(output));
+
+        compile(output, output.toString(), source("demo.A", "public class A implements Key {}"), source("demo.C", annotated("C")));
+        assertEquals(Arrays.asList("demo.B", "demo.C"), readFactories(output));
+    }
+
+    /**
+     * classpath 中去掉了 {@link AutoFactories} 的类不再保留，即使仍然实现了对应的接口
+     */
+    @Test
+    void removesClasspathTypeWithoutAnnotation() throws IOException {
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, output.toString(), source("demo.Key", "public interface Key {}"),
+                source("demo.A", annotated("A")), source("demo.B", annotated("B")));
+
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, output.toString(), source("demo.B", "public class B implements Key {}"));
+        Files.delete(output.resolve("demo/B.class"));
+        compile(output, library + File.pathSeparator + output, source("demo.C", annotated("C")));
+        assertEquals(Arrays.asList("demo.A", "demo.C"), readFactories(output));
+    }
+
+    /**
+     * 依赖包中被 {@code @Component} 标注的组合注解，配置到 {@link SpringFactoryProcessor#ANNOTATIONS_OPTION} 或配置为 * 时可以识别
+     */
+    @Test
+    void detectsComponentMetaAnnotationFromClasspath() throws IOException {
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, "", new AbstractMap.SimpleEntry<>("org.springframework.stereotype.Component",
+                        "package org.springframework.stereotype;\npublic @interface Component {}\n"),
+                source("demo.MyComponent", "@org.springframework.stereotype.Component public @interface MyComponent {}"));
+
+        for (String annotations : Arrays.asList("demo.MyComponent", "*")) {
+            Path output = Files.createDirectories(temp.resolve("classes-" + annotations.hashCode()));
+            compile(output, library.toString(), Collections.singletonList("-Acodedream.factories.annotations=" + annotations),
+                    source("demo.X", "@MyComponent public class X {}"));
+            Properties properties = readProperties(output);
+            assertEquals("demo.X", properties.getProperty(AutoTypeEnum.COMPONENT.getConfigureKey()), annotations);
+        }
+    }
+
+    /**
+     * 默认只声明常用的组件注解：本次编译的源码中声明的组合注解可以识别，依赖包中未配置的组合注解不会交给处理器
+     */
+    @Test
+    void declaresComponentAnnotationsByDefault() throws IOException {
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, "", new AbstractMap.SimpleEntry<>("org.springframework.stereotype.Component",
+                        "package org.springframework.stereotype;\npublic @interface Component {}\n"),
+                source("demo.LibraryComponent", "@org.springframework.stereotype.Component public @interface LibraryComponent {}"));
+
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, library.toString(),
+                source("demo.MyComponent", "@org.springframework.stereotype.Component public @interface MyComponent {}"),
+                source("demo.X", "@MyComponent public class X {}"));
+        assertEquals("demo.X", readProperties(output).getProperty(AutoTypeEnum.COMPONENT.getConfigureKey()));
+
+        Path other = Files.createDirectories(temp.resolve("other"));
+        compile(other, library.toString(), source("demo.Y", "@LibraryComponent public class Y {}"));
+        assertFalse(Files.exists(other.resolve("META-INF/spring.factories")));
+    }
+
+    /**
+     * 嵌套接口的 key 使用二进制名称，增量编译时 classpath 中的实现类不会被当作失效
+     */
+    @Test
+    void keepsNestedFactoryInterface() throws IOException {
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        List<String> options = Collections.singletonList("-Acodedream.factories.keys=demo.Outer$Inner");
+        compile(output, output.toString(), options, source("demo.Outer", "public class Outer { public interface Inner {} }"),
+                source("demo.A", "@com.codedreamplus.auto.factories.AutoFactories public class A implements Outer.Inner {}"),
+                source("demo.B", "@com.codedreamplus.auto.factories.AutoFactories(Outer.Inner.class) public class B implements Outer.Inner {}"));
+        assertEquals("demo.A,demo.B", readProperties(output).getProperty("demo.Outer$Inner"));
+
+        compile(output, output.toString(), options,
+                source("demo.C", "@com.codedreamplus.auto.factories.AutoFactories public class C implements Outer.Inner {}"));
+        assertEquals("demo.A,demo.B,demo.C", readProperties(output).getProperty("demo.Outer$Inner"));
+    }
+
+    /**
+     * 第二次编译生成的内容与已存在的文件一致时不再写入，修改时间保持不变；换行统一为 \n
+     */
+    @Test
+    void skipsUnchangedResources() throws IOException {
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, "", new AbstractMap.SimpleEntry<>("org.springframework.stereotype.Component",
+                "package org.springframework.stereotype;\npublic @interface Component {}\n"));
+
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        List<String> options = Collections.singletonList("-Acodedream.factories.autoconfigure=true");
+        compile(output, library.toString(), options, source("demo.X", "@org.springframework.stereotype.Component public class X {}"),
+                source("demo.Y", "@org.springframework.stereotype.Component public class Y {}"));
+        Path imports = output.resolve("META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports");
+        Path factories = output.resolve("META-INF/spring.factories");
+        assertEquals("demo.X\ndemo.Y\n", new String(Files.readAllBytes(imports), UTF_8));
+        assertEquals(AutoTypeEnum.COMPONENT.getConfigureKey() + "=\\\ndemo.X,\\\ndemo.Y\n",
+                new String(Files.readAllBytes(factories), UTF_8));
+        FileTime modified = FileTime.fromMillis(1000000000000L);
+        Files.setLastModifiedTime(imports, modified);
+        Files.setLastModifiedTime(factories, modified);
+
+        compile(output, library + File.pathSeparator + output, options,
+                source("demo.Y", "@org.springframework.stereotype.Component public class Y {}"));
+        assertEquals(modified, Files.getLastModifiedTime(imports));
+        assertEquals(modified, Files.getLastModifiedTime(factories));
+        assertEquals("demo.X\ndemo.Y\n", new String(Files.readAllBytes(imports), UTF_8));
+    }
+
+    /**
+     * {@link AutoFactories} 未指定 key 时按父类/接口识别内置 key 与 {@link SpringFactoryProcessor#KEYS_OPTION} 中的 key，
+     * 一个类可以对应多个 key；生成的文件与源码顺序无关
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void classifiesFactoryKeysInFixedOrder() throws IOException {
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, "", new AbstractMap.SimpleEntry<>("org.springframework.context.ApplicationListener",
+                        "package org.springframework.context;\npublic interface ApplicationListener<E> {}\n"),
+                new AbstractMap.SimpleEntry<>("org.springframework.boot.env.EnvironmentPostProcessor",
+                        "package org.springframework.boot.env;\npublic interface EnvironmentPostProcessor {}\n"));
+
+        List<String> options = Collections.singletonList("-Acodedream.factories.keys=demo.Extra");
+        Map.Entry<String, String>[] sources = new Map.Entry[]{
+                source("demo.Extra", "public interface Extra {}"),
+                source("demo.BaseListener", "public abstract class BaseListener implements org.springframework.context.ApplicationListener<Object> {}"),
+                source("demo.L", "@com.codedreamplus.auto.factories.AutoFactories public class L extends BaseListener {}"),
+                source("demo.P", "@com.codedreamplus.auto.factories.AutoFactories public class P implements org.springframework.boot.env.EnvironmentPostProcessor, Extra {}"),
+                source("demo.E", "@com.codedreamplus.auto.factories.AutoFactories public class E implements Extra {}"),
+                source("demo.N", "public class N implements Extra {}")};
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, library.toString(), options, sources);
+        List<Map.Entry<String, String>> reversed = new ArrayList<>(Arrays.asList(sources));
+        Collections.reverse(reversed);
+        Path reversedOutput = Files.createDirectories(temp.resolve("reversed"));
+        compile(reversedOutput, library.toString(), options, reversed.toArray(new Map.Entry[0]));
+
+        byte[] factories = Files.readAllBytes(output.resolve("META-INF/spring.factories"));
+        assertEquals("demo.Extra=\\\ndemo.E,\\\ndemo.P\n"
+                        + "org.springframework.boot.env.EnvironmentPostProcessor=\\\ndemo.P\n"
+                        + "org.springframework.context.ApplicationListener=\\\ndemo.L\n",
+                new String(factories, UTF_8));
+        assertArrayEquals(factories, Files.readAllBytes(reversedOutput.resolve("META-INF/spring.factories")));
+    }
+
+    /**
+     * 开启自动配置文件生成时，spring-autoconfigure-metadata.properties 已被其他处理器创建只输出警告
+     */
+    @Test
+    void skipsAutoConfigureMetadataCreatedByAnotherProcessor() throws IOException {
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, "", new AbstractMap.SimpleEntry<>("org.springframework.stereotype.Component",
+                "package org.springframework.stereotype;\npublic @interface Component {}\n"));
+
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, library.toString(), Arrays.asList("-Acodedream.factories.autoconfigure=true",
+                        "-processor", MetadataProcessor.class.getName() + "," + SpringFactoryProcessor.class.getName()),
+                source("demo.X", "@org.springframework.stereotype.Component public class X {}"));
+        assertEquals("demo.X", readProperties(output).getProperty(AutoTypeEnum.COMPONENT.getConfigureKey()));
+        assertEquals(Collections.singletonList("demo.X"), Files.readAllLines(output.resolve(
+                "META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports"), UTF_8));
+        assertEquals(Collections.singletonList("# other"), Files.readAllLines(output.resolve(
+                "META-INF/spring-autoconfigure-metadata.properties"), UTF_8));
+    }
+
+    /**
+     * spring.components 中的类型与 stereotype 使用二进制名称，静态嵌套组件写为 Outer$Inner
+     */
+    @Test
+    void writesComponentIndexWithBinaryNames() throws IOException {
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, "", new AbstractMap.SimpleEntry<>("org.springframework.stereotype.Indexed",
+                        "package org.springframework.stereotype;\npublic @interface Indexed {}\n"),
+                new AbstractMap.SimpleEntry<>("org.springframework.stereotype.Component",
+                        "package org.springframework.stereotype;\n@Indexed public @interface Component {}\n"),
+                new AbstractMap.SimpleEntry<>("javax.demo.Markers",
+                        "package javax.demo;\npublic class Markers { public @interface Nested {} }\n"));
+
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, library.toString(), Collections.singletonList("-Acodedream.factories.componentIndex=true"),
+                source("demo.Outer", "public class Outer {\n"
+                        + "    @org.springframework.stereotype.Component public static class Inner {}\n"
+                        + "    @org.springframework.stereotype.Indexed public @interface Stereotype {}\n"
+                        + "    @Stereotype @javax.demo.Markers.Nested public static class Marked {}\n"
+                        + "    @org.springframework.stereotype.Component public class NotStatic {}\n"
+                        + "}"));
+        assertEquals(Arrays.asList(
+                "demo.Outer$Inner=org.springframework.stereotype.Component",
+                "demo.Outer$Marked=demo.Outer$Stereotype,javax.demo.Markers$Nested",
+                "demo.Outer$Stereotype=demo.Outer$Stereotype"
+        ), Files.readAllLines(output.resolve("META-INF/spring.components"), UTF_8));
+    }
+
+    /**
+     * 开启 native-image 元数据后，组件注册全部构造器、方法与字段，其他 spring.factories 实现类只注册构造器，生成的文件注册为资源
+     */
+    @Test
+    void writesNativeImageMetadata() throws IOException {
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, "", new AbstractMap.SimpleEntry<>("org.springframework.stereotype.Component",
+                "package org.springframework.stereotype;\npublic @interface Component {}\n"));
+
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, library.toString(), Arrays.asList("-Acodedream.factories.autoconfigure=true",
+                        "-Acodedream.nativeImage=true"),
+                source("demo.Key", "public interface Key {}"), source("demo.A", annotated("A")),
+                source("demo.X", "@org.springframework.stereotype.Component public class X {}"));
+
+        Path directory = output.resolve("META-INF/native-image/com.codedreamplus/codedream-generated/SpringFactoryProcessor");
+        assertEquals(Arrays.asList(
+                "[",
+                "  {",
+                "    \"name\": \"demo.A\",",
+                "    \"allDeclaredConstructors\": true",
+                "  },",
+                "  {",
+                "    \"name\": \"demo.X\",",
+                "    \"allDeclaredConstructors\": true,",
+                "    \"allDeclaredFields\": true,",
+                "    \"allDeclaredMethods\": true",
+                "  }",
+                "]"
+        ), Files.readAllLines(directory.resolve("reflect-config.json"), UTF_8));
+        assertEquals(Arrays.asList(
+                "{",
+                "  \"resources\": {",
+                "    \"includes\": [",
+                "      {\"pattern\": \"\\\\QMETA-INF/spring-autoconfigure-metadata.properties\\\\E\"},",
+                "      {\"pattern\": \"\\\\QMETA-INF/spring.factories\\\\E\"},",
+                "      {\"pattern\": \"\\\\QMETA-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports\\\\E\"}",
+                "    ]",
+                "  }",
+                "}"
+        ), Files.readAllLines(directory.resolve("resource-config.json"), UTF_8));
+    }
+
+    /**
+     * 配置统计目录后写入 {目录}/SpringFactoryProcessor.json，包含检查的元素、写入的条目与资源文件字节数；内容未变化的文件计为 0 字节
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesStatsFile() throws IOException {
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, "", new AbstractMap.SimpleEntry<>("org.springframework.stereotype.Component",
+                "package org.springframework.stereotype;\npublic @interface Component {}\n"));
+
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        Path statsDir = temp.resolve("stats");
+        List<String> options = Collections.singletonList("-Acodedream.stats.dir=" + statsDir);
+        Map.Entry<String, String>[] sources = new Map.Entry[]{source("demo.Key", "public interface Key {}"), source("demo.A", annotated("A")),
+                source("demo.X", "@org.springframework.stereotype.Component public class X {}"),
+                source("demo.Y", "@org.springframework.stereotype.Component public class Y {}")};
+        compile(output, library.toString(), options, sources);
+        Path statsFile = statsDir.resolve("SpringFactoryProcessor.json");
+        List<String> stats = Files.readAllLines(statsFile, UTF_8);
+        assertEquals("{", stats.get(0));
+        assertEquals("  \"processor\": \"SpringFactoryProcessor\",", stats.get(1));
+        assertTrue(stats.get(3).matches("  \"roundMillis\": \\[\\d+\\.\\d{3}(, \\d+\\.\\d{3})+],"), stats.get(3));
+        assertTrue(stats.contains("    \"elementsInspected\": 3,"), stats.toString());
+        assertTrue(stats.contains("    \"entriesEmitted\": 3,"), stats.toString());
+        assertTrue(stats.contains("    \"META-INF/spring.factories\": " + Files.size(output.resolve("META-INF/spring.factories"))), stats.toString());
+        assertFalse(stats.stream().anyMatch(line -> line.contains("resourcesUnchanged")), stats.toString());
+        assertFalse(Files.exists(output.resolve("SpringFactoryProcessor.json")));
+
+        compile(output, library + File.pathSeparator + output, options, sources);
+        stats = Files.readAllLines(statsFile, UTF_8);
+        assertTrue(stats.contains("    \"resourcesUnchanged\": 1,"), stats.toString());
+        assertTrue(stats.contains("    \"META-INF/spring.factories\": 0"), stats.toString());
+    }
+
+    /**
+     * 与 spring-boot-autoconfigure-processor 一样在最后一轮写入 spring-autoconfigure-metadata.properties
+     */
+    @SupportedAnnotationTypes("*")
+    public static class MetadataProcessor extends AbstractProcessor {
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (roundEnv.processingOver()) {
+                try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                        "META-INF/spring-autoconfigure-metadata.properties").openWriter()) {
+                    writer.write("# other\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+    }
+
+    private static Map.Entry<String, String> source(String className, String body) {
+        return new AbstractMap.SimpleEntry<>(className, "package demo;\n" + body + "\n");
+    }
+
+    private static String annotated(String simpleName) {
+        return "@com.codedreamplus.auto.factories.AutoFactories(Key.class) public class " + simpleName + " implements Key {}";
+    }
+
+    @SafeVarargs
+    private final void compile(Path output, String classpath, Map.Entry<String, String>... sources) throws IOException {
+        compile(output, classpath, Collections.emptyList(), sources);
+    }
+
+    @SafeVarargs
+    private final void compile(Path output, String classpath, List<String> options, Map.Entry<String, String>... sources) throws IOException {
+        Path sourceDir = Files.createTempDirectory(temp, "src");
+        List<String> arguments = new ArrayList<>(Arrays.asList("-d", output.toString(),
+                "-classpath", classpath + File.pathSeparator + System.getProperty("java.class.path"),
+                "-processor", SpringFactoryProcessor.class.getName()));
+        arguments.addAll(options);
+        for (Map.Entry<String, String> source : sources) {
+            Path file = sourceDir.resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getValue().getBytes(UTF_8));
+            arguments.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(new String[0])), "compilation failed");
+    }
+
+    private static Properties readProperties(Path output) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(output.resolve("META-INF/spring.factories"))) {
+            properties.load(input);
+        }
+        return properties;
+    }
+
+    private static List<String> readFactories(Path output) throws IOException {
+        List<String> factories = new ArrayList<>();
+        for (String factory : readProperties(output).getProperty(KEY, "").split(",")) {
+            factories.add(factory.trim());
+        }
+        return factories;
+    }
+}
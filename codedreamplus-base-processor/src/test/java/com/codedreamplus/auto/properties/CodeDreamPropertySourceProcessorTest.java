@@ -0,0 +1,130 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * <p>Description: [CodeDreamPropertySource 访问类生成]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class CodeDreamPropertySourceProcessorTest {
+    @TempDir
+    Path temp;
+
+    /**
+     * 访问类的 Keys 中每个 key 对应一个常量，构造器按常量与推断的类型从 Environment 中读取，getter 返回读取到的值
+     */
+    @Test
+    void generatesTypedAccessor() throws Exception {
+        Path library = Files.createDirectories(temp.resolve("library"));
+        compile(library, "",
+                source("com.codedreamplus.auto.properties.CodeDreamPropertySource", "package com.codedreamplus.auto.properties;\n"
+                        + "public @interface CodeDreamPropertySource {\n"
+                        + "    String value(); boolean loadActiveProfile() default true; int order() default 0; String accessor() default \"\";\n"
+                        + "}\n"),
+                source("org.springframework.core.env.Environment", "package org.springframework.core.env;\n"
+                        + "public interface Environment { <T> T getRequiredProperty(String key, Class<T> targetType); }\n"),
+                source("org.springframework.stereotype.Component", "package org.springframework.stereotype;\n"
+                        + "public @interface Component {}\n"));
+
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        Files.write(output.resolve("demo.yml"), ("db:\n"
+                + "  url: jdbc:h2:mem:demo\n"
+                + "  pool:\n"
+                + "    max-size: 8\n"
+                + "    enabled: true\n"
+                + "timeout: 1.5\n"
+                + "hosts:\n"
+                + "  - a\n"
+                + "  - b\n").getBytes(UTF_8));
+        compile(output, library.toString(), source("demo.DemoConfig", "package demo;\n"
+                + "@com.codedreamplus.auto.properties.CodeDreamPropertySource(value = \"classpath:demo.yml\", accessor = \"DemoProperties\")\n"
+                + "public class DemoConfig {\n"
+                + "    static final String KEY = DemoProperties.Keys.DB_POOL_MAX_SIZE;\n"
+                + "}\n"));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL(), library.toUri().toURL()}, null)) {
+            Class<?> keys = classLoader.loadClass("demo.DemoProperties$Keys");
+            Map<String, Object> constants = new LinkedHashMap<>();
+            for (Field field : keys.getFields()) {
+                constants.put(field.getName(), field.get(null));
+            }
+            Map<String, Object> expected = new LinkedHashMap<>();
+            expected.put("DB_URL", "db.url");
+            expected.put("DB_POOL_MAX_SIZE", "db.pool.max-size");
+            expected.put("DB_POOL_ENABLED", "db.pool.enabled");
+            expected.put("TIMEOUT", "timeout");
+            expected.put("HOSTS0", "hosts[0]");
+            expected.put("HOSTS1", "hosts[1]");
+            assertEquals(expected, constants);
+
+            Map<String, Object> values = new HashMap<>();
+            values.put("db.url", "jdbc:h2:mem:test");
+            values.put("db.pool.max-size", 16);
+            values.put("db.pool.enabled", false);
+            values.put("timeout", 2.5d);
+            values.put("hosts[0]", "x");
+            values.put("hosts[1]", "y");
+            Map<String, Class<?>> requested = new LinkedHashMap<>();
+            Class<?> environmentType = classLoader.loadClass("org.springframework.core.env.Environment");
+            Object environment = Proxy.newProxyInstance(classLoader, new Class<?>[]{environmentType}, (proxy, method, args) -> {
+                requested.put((String) args[0], (Class<?>) args[1]);
+                return values.get(args[0]);
+            });
+            Class<?> accessorType = classLoader.loadClass("demo.DemoProperties");
+            Object accessor = accessorType.getConstructor(environmentType).newInstance(environment);
+
+            Map<String, Class<?>> expectedTypes = new LinkedHashMap<>();
+            expectedTypes.put("db.url", String.class);
+            expectedTypes.put("db.pool.max-size", Integer.class);
+            expectedTypes.put("db.pool.enabled", Boolean.class);
+            expectedTypes.put("timeout", Double.class);
+            expectedTypes.put("hosts[0]", String.class);
+            expectedTypes.put("hosts[1]", String.class);
+            assertEquals(expectedTypes, requested);
+            assertEquals("jdbc:h2:mem:test", accessorType.getMethod("getDbUrl").invoke(accessor));
+            assertEquals(16, accessorType.getMethod("getDbPoolMaxSize").invoke(accessor));
+            assertEquals(int.class, accessorType.getMethod("getDbPoolMaxSize").getReturnType());
+            assertEquals(false, accessorType.getMethod("isDbPoolEnabled").invoke(accessor));
+            assertEquals(2.5d, accessorType.getMethod("getTimeout").invoke(accessor));
+            assertEquals("y", accessorType.getMethod("getHosts1").invoke(accessor));
+        }
+    }
+
+    private static Map.Entry<String, String> source(String className, String content) {
+        return new AbstractMap.SimpleEntry<>(className, content);
+    }
+
+    @SafeVarargs
+    private final void compile(Path output, String classpath, Map.Entry<String, String>... sources) throws IOException {
+        Path sourceDir = Files.createTempDirectory(temp, "src");
+        List<String> arguments = new ArrayList<>(Arrays.asList("-d", output.toString(),
+                "-classpath", classpath + File.pathSeparator + System.getProperty("java.class.path"),
+                "-processor", CodeDreamPropertySourceProcessor.class.getName()));
+        for (Map.Entry<String, String> source : sources) {
+            Path file = sourceDir.resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getValue().getBytes(UTF_8));
+            arguments.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(new String[0])), "compilation failed");
+    }
+}
@@ -0,0 +1,120 @@
+package com.codedreamplus.auto.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Description: [服务索引与 ServiceLoader 的合并]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class AutoServiceLoaderTest {
+    private static final String SERVICE_FILE = "META-INF/services/demo.Greeter";
+
+    @TempDir
+    Path temp;
+
+    /**
+     * 所有 META-INF/services 文件都来自带有索引的模块时只使用索引，不再读取 META-INF/services
+     */
+    @Test
+    void trustsCompleteIndex() throws Exception {
+        Path indexed = compileIndexedModule();
+        // 索引之外追加的实现只有 ServiceLoader 才能找到
+        compile(indexed, indexed.toString(), null, source("demo.Hidden", "public class Hidden implements Greeter {}"));
+        Files.write(indexed.resolve(SERVICE_FILE), "demo.Hidden\n".getBytes(UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals(Collections.singletonList("demo.A"), load(indexed));
+    }
+
+    /**
+     * 其他模块手写的 META-INF/services 中的实现与索引合并
+     */
+    @Test
+    void mergesModulesWithoutIndex() throws Exception {
+        Path indexed = compileIndexedModule();
+        Path plain = Files.createDirectories(temp.resolve("plain"));
+        compile(plain, indexed.toString(), null, source("demo.B", "public class B implements Greeter {}"));
+        Files.createDirectories(plain.resolve(SERVICE_FILE).getParent());
+        Files.write(plain.resolve(SERVICE_FILE), "demo.B\n".getBytes(UTF_8));
+
+        assertEquals(Arrays.asList("demo.A", "demo.B"), load(indexed, plain));
+    }
+
+    /**
+     * 无法写入索引的实现类通过 ServiceLoader 加载
+     */
+    @Test
+    void fallsBackForIncompleteIndex() throws Exception {
+        Path indexed = Files.createDirectories(temp.resolve("indexed"));
+        compile(indexed, "", "demo.Index", source("demo.Greeter", "public interface Greeter {}"),
+                source("demo.A", "@com.codedreamplus.auto.service.AutoService(Greeter.class) public class A implements Greeter {}"),
+                // 默认包中的类无法在索引中引用
+                new AbstractMap.SimpleEntry<>("C", "@com.codedreamplus.auto.service.AutoService(demo.Greeter.class) public class C implements demo.Greeter {}\n"));
+
+        assertTrue(Files.exists(indexed.resolve("demo/Index.class")));
+        assertEquals(Arrays.asList("demo.A", "C"), load(indexed));
+    }
+
+    private Path compileIndexedModule() throws IOException {
+        Path indexed = Files.createDirectories(temp.resolve("indexed"));
+        compile(indexed, "", "true", source("demo.Greeter", "public interface Greeter {}"),
+                source("demo.A", "@com.codedreamplus.auto.service.AutoService(Greeter.class) public class A implements Greeter {}"));
+        assertTrue(Files.exists(indexed.resolve("META-INF/services/" + ServiceIndex.class.getName())));
+        return indexed;
+    }
+
+    private static List<String> load(Path... classpath) throws Exception {
+        URL[] urls = new URL[classpath.length];
+        for (int i = 0; i < classpath.length; i++) {
+            urls[i] = classpath[i].toUri().toURL();
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(urls, AutoServiceLoaderTest.class.getClassLoader())) {
+            Class<?> service = classLoader.loadClass("demo.Greeter");
+            return AutoServiceLoader.load(service, classLoader).stream()
+                    .map(provider -> provider.getClass().getName())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static Map.Entry<String, String> source(String className, String body) {
+        return new AbstractMap.SimpleEntry<>(className, "package demo;\n" + body + "\n");
+    }
+
+    @SafeVarargs
+    private final void compile(Path output, String classpath, String index, Map.Entry<String, String>... sources) throws IOException {
+        Path sourceDir = Files.createTempDirectory(temp, "src");
+        List<String> arguments = new ArrayList<>(Arrays.asList("-d", output.toString(),
+                "-classpath", classpath + File.pathSeparator + System.getProperty("java.class.path")));
+        if (index != null) {
+            arguments.addAll(Arrays.asList("-processor", AutoServiceProcessor.class.getName(), "-Acodedream.service.index=" + index));
+        } else {
+            arguments.add("-proc:none");
+        }
+        for (Map.Entry<String, String> source : sources) {
+            Path file = sourceDir.resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getValue().getBytes(UTF_8));
+            arguments.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(new String[0])), "compilation failed");
+    }
+}
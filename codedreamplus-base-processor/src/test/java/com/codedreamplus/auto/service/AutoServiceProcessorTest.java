@@ -0,0 +1,170 @@
+package com.codedreamplus.auto.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * <p>Description: [spi 文件与服务索引的生成]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class AutoServiceProcessorTest {
+    private static final String KEY = "demo.Greeter";
+
+    @TempDir
+    Path temp;
+
+    /**
+     * 增量编译中唯一的类去掉了 {@link AutoService} 时，上一次生成的文件中不再保留该类
+     */
+    @Test
+    void removesProviderWithoutAnnotation() throws IOException {
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, output.toString(), processor(), source("demo.Greeter", "public interface Greeter {}"),
+                source("demo.A", annotated("A")), source("demo.B", annotated("B")));
+        assertEquals(Arrays.asList("demo.A", "demo.B"), readServices(output, KEY));
+
+        compile(output, output.toString(), processor(), source("demo.A", "public class A implements Greeter {}"));
+        assertEquals(Collections.singletonList("demo.B"), readServices(output, KEY));
+
+        compile(output, output.toString(), processor(), source("demo.B", "public class B implements Greeter {}"));
+        assertEquals(Collections.emptyList(), readServices(output, KEY));
+    }
+
+    /**
+     * 其他处理器在之后的轮次生成的实现类写入单独的索引类，运行时与第一个索引类合并
+     */
+    @Test
+    void indexesProvidersFromLaterRounds() throws Exception {
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, output.toString(), Arrays.asList("-Acodedream.service.index=demo.Index",
+                        "-processor", AutoServiceProcessor.class.getName() + "," + LateProviderProcessor.class.getName()),
+                source("demo.Greeter", "public interface Greeter {}"),
+                source("demo.A", annotated("A")));
+
+        assertEquals(Arrays.asList("demo.A", "demo.Late"), readServices(output, KEY));
+        assertEquals(Arrays.asList("demo.Index", "demo.Index_2"), readServices(output, ServiceIndex.class.getName()));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> service = classLoader.loadClass(KEY);
+            assertEquals(Arrays.asList("demo.A", "demo.Late"), AutoServiceLoader.load(service, classLoader).stream()
+                    .map(provider -> provider.getClass().getName())
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * 开启 native-image 元数据后，实现类按二进制名称注册无参构造器，spi 文件注册为资源
+     */
+    @Test
+    void writesNativeImageMetadata() throws IOException {
+        Path output = Files.createDirectories(temp.resolve("classes"));
+        compile(output, output.toString(), Arrays.asList("-Acodedream.nativeImage.group=demo",
+                        "-Acodedream.nativeImage.artifact=app", "-processor", AutoServiceProcessor.class.getName()),
+                source("demo.Greeter", "public interface Greeter {}"),
+                source("demo.Outer", "public class Outer { " + annotated("Inner").replace("public class", "public static class") + " }"),
+                source("demo.A", annotated("A")));
+
+        Path directory = output.resolve("META-INF/native-image/demo/app/AutoServiceProcessor");
+        assertEquals(Arrays.asList(
+                "[",
+                "  {",
+                "    \"name\": \"demo.A\",",
+                "    \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]",
+                "  },",
+                "  {",
+                "    \"name\": \"demo.Outer$Inner\",",
+                "    \"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]",
+                "  }",
+                "]"
+        ), Files.readAllLines(directory.resolve("reflect-config.json"), UTF_8));
+        assertEquals(Arrays.asList(
+                "{",
+                "  \"resources\": {",
+                "    \"includes\": [",
+                "      {\"pattern\": \"\\\\QMETA-INF/services/demo.Greeter\\\\E\"}",
+                "    ]",
+                "  }",
+                "}"
+        ), Files.readAllLines(directory.resolve("resource-config.json"), UTF_8));
+    }
+
+    /**
+     * 第一轮之后生成一个 {@code @AutoService} 实现类
+     */
+    @SupportedAnnotationTypes("*")
+    public static class LateProviderProcessor extends AbstractProcessor {
+        private boolean generated;
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            if (!generated && !roundEnv.processingOver()) {
+                generated = true;
+                try (Writer writer = processingEnv.getFiler().createSourceFile("demo.Late").openWriter()) {
+                    writer.write("package demo;\n" + annotated("Late") + "\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+    }
+
+    private static List<String> processor() {
+        return Arrays.asList("-processor", AutoServiceProcessor.class.getName());
+    }
+
+    private static Map.Entry<String, String> source(String className, String body) {
+        return new AbstractMap.SimpleEntry<>(className, "package demo;\n" + body + "\n");
+    }
+
+    private static String annotated(String simpleName) {
+        return "@com.codedreamplus.auto.service.AutoService(Greeter.class) public class " + simpleName + " implements Greeter {}";
+    }
+
+    @SafeVarargs
+    private final void compile(Path output, String classpath, List<String> options, Map.Entry<String, String>... sources) throws IOException {
+        Path sourceDir = Files.createTempDirectory(temp, "src");
+        List<String> arguments = new ArrayList<>(Arrays.asList("-d", output.toString(),
+                "-classpath", classpath + File.pathSeparator + System.getProperty("java.class.path")));
+        arguments.addAll(options);
+        for (Map.Entry<String, String> source : sources) {
+            Path file = sourceDir.resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getValue().getBytes(UTF_8));
+            arguments.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(new String[0])), "compilation failed");
+    }
+
+    private static List<String> readServices(Path output, String service) throws IOException {
+        return Files.readAllLines(output.resolve("META-INF/services/" + service), UTF_8);
+    }
+}
@@ -34,4 +34,13 @@ public @interface CodeDreamPropertySource {
 	 */
 	int order() default Ordered.LOWEST_PRECEDENCE;
 
+	/**
+	 * Simple or fully qualified name of a typed accessor class generated at compile time from the
+	 * {@code classpath:} file in {@link #value()}; empty to skip generation.
+	 * Simple names are resolved in the package of the annotated class.
+	 *
+	 * @return accessor class name
+	 */
+	String accessor() default "";
+
 }
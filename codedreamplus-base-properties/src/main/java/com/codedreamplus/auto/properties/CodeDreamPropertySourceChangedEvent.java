@@ -0,0 +1,44 @@
+package com.codedreamplus.auto.properties;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>Description: [CodeDreamPropertySource 配置变更事件]</p >
+ * Created on 2026-10-17
+ * <p>开启 {@link CodeDreamPropertySourcePostProcessor#WATCH_PROPERTY} 后，配置文件修改并重新加载完成时发布，
+ * 同一批次内修改的多个文件只发布一次事件；监听方只需按 {@link #getChangedKeys()} 重新绑定受影响的配置</p>
+ *
+ * @author mo
+ */
+public class CodeDreamPropertySourceChangedEvent extends ApplicationEvent {
+    private final List<String> locations;
+    private final Set<String> changedKeys;
+
+    public CodeDreamPropertySourceChangedEvent(Object source, List<String> locations, Set<String> changedKeys) {
+        super(source);
+        this.locations = Collections.unmodifiableList(locations);
+        this.changedKeys = Collections.unmodifiableSet(changedKeys);
+    }
+
+    /**
+     * 发生变化的配置文件
+     *
+     * @return 文件位置
+     */
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    /**
+     * 新增、删除或值发生变化的 key
+     *
+     * @return key 集合
+     */
+    public Set<String> getChangedKeys() {
+        return changedKeys;
+    }
+}
@@ -0,0 +1,183 @@
+package com.codedreamplus.auto.properties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>Description: [配置文件加载]</p >
+ * Created on 2026-10-17
+ * <p>文件的查找与解析在线程池中并发执行(jdk21 及以上使用虚拟线程)，并发数不超过 parallelism，
+ * 返回结果与传入的顺序一致，加入 Environment 后的优先级与依次加载相同。
+ * 配置文件旁存在与其内容一致的 {@link PropertySnapshot} 时直接读取快照，不再解析；
+ * 开启缓存时优先复用 {@link ParsedPropertySourceCache} 中其他容器已解析的结果</p>
+ *
+ * @author mo
+ */
+@Slf4j
+class CodeDreamPropertySourceLoader {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ResourceLoader resourceLoader;
+    /**
+     * 是否优先读取 {@link PropertySnapshot}
+     */
+    private final boolean useSnapshot;
+    /**
+     * 是否使用 {@link ParsedPropertySourceCache}
+     */
+    private final boolean useCache;
+    private final PropertySourceMetrics metrics;
+
+    CodeDreamPropertySourceLoader(ResourceLoader resourceLoader, boolean useSnapshot, boolean useCache, PropertySourceMetrics metrics) {
+        this.resourceLoader = resourceLoader;
+        this.useSnapshot = useSnapshot;
+        this.useCache = useCache;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 加载配置文件
+     *
+     * @param locations   配置文件
+     * @param parallelism 并发数，小于等于 1 时在当前线程中依次加载
+     * @return 与 locations 顺序一致的加载结果，文件不存在时为空集合
+     */
+    List<List<PropertySource<?>>> loadAll(List<PropertyLocation> locations, int parallelism) {
+        int workers = Math.min(parallelism, locations.size());
+        if (workers <= 1) {
+            List<List<PropertySource<?>>> result = new ArrayList<>(locations.size());
+            for (PropertyLocation location : locations) {
+                result.add(load(location));
+            }
+            return result;
+        }
+        AtomicReferenceArray<List<PropertySource<?>>> result = new AtomicReferenceArray<>(locations.size());
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = createExecutor(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < locations.size()) {
+                        result.set(index, load(locations.get(index)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading @CodeDreamPropertySource files", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        List<List<PropertySource<?>>> sources = new ArrayList<>(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+            sources.add(result.get(i));
+        }
+        return sources;
+    }
+
+    /**
+     * 加载单个配置文件
+     *
+     * @param propertyLocation 配置文件
+     * @return PropertySource 集合，文件不存在时为空集合
+     */
+    List<PropertySource<?>> load(PropertyLocation propertyLocation) {
+        long start = System.nanoTime();
+        String location = propertyLocation.getLocation();
+        Resource resource = resourceLoader.getResource(location);
+        boolean exists = resource.exists();
+        long resolved = System.nanoTime();
+        if (!exists) {
+            metrics.fileLoaded(location, propertyLocation.isProfiled(), false, resolved - start, 0, 0);
+            return Collections.emptyList();
+        }
+        List<PropertySource<?>> propertySources;
+        try {
+            ParsedPropertySourceCache.Key cacheKey = useCache ? ParsedPropertySourceCache.key(propertyLocation, resource) : null;
+            propertySources = cacheKey == null ? null : ParsedPropertySourceCache.get(cacheKey);
+            if (propertySources == null) {
+                propertySources = useSnapshot ? loadSnapshot(propertyLocation, resource) : null;
+                if (propertySources == null) {
+                    propertySources = propertyLocation.getLoader().load(propertyLocation.getName(), resource);
+                }
+                if (cacheKey != null) {
+                    ParsedPropertySourceCache.put(cacheKey, propertySources);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        metrics.fileLoaded(location, propertyLocation.isProfiled(), true, resolved - start, System.nanoTime() - resolved,
+                countKeys(propertySources));
+        return propertySources;
+    }
+
+    private static int countKeys(List<PropertySource<?>> propertySources) {
+        int count = 0;
+        for (PropertySource<?> propertySource : propertySources) {
+            if (propertySource instanceof EnumerablePropertySource) {
+                count += ((EnumerablePropertySource<?>) propertySource).getPropertyNames().length;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 读取构建时生成的快照，快照不存在、与配置文件内容不一致或已损坏时返回 null
+     *
+     * @param propertyLocation 配置文件
+     * @param resource         配置文件资源
+     * @return PropertySource 集合
+     * @throws IOException 抛出io异常
+     */
+    private List<PropertySource<?>> loadSnapshot(PropertyLocation propertyLocation, Resource resource) throws IOException {
+        Resource snapshot = resourceLoader.getResource(propertyLocation.getLocation() + PropertySnapshot.EXTENSION);
+        if (!snapshot.exists()) {
+            return null;
+        }
+        List<PropertySource<?>> propertySources = PropertySnapshot.read(propertyLocation.getName(),
+                PropertySnapshot.hash(resource.getInputStream()), snapshot, resource);
+        if (propertySources == null) {
+            log.warn("Ignore outdated or corrupted property snapshot: {}", snapshot);
+        }
+        return propertySources;
+    }
+
+    /**
+     * 创建线程池，jdk21 及以上使用虚拟线程
+     *
+     * @param threads 线程数
+     * @return ExecutorService
+     */
+    private static ExecutorService createExecutor(int threads) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "codedream-property-source-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
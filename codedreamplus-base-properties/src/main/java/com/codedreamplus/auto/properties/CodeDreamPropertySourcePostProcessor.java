@@ -0,0 +1,413 @@
+package com.codedreamplus.auto.properties;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * 实现该接口BeanFactoryPostProcessor，可以在spring的bean创建之前，修改bean的定义属性。
+ * 也就是说，Spring允许BeanFactoryPostProcessor在容器实例化任何其它bean之前读取配置元数据，并可以根据需要进行修改，
+ * 例如可以把bean的scope从singleton改为prototype，也可以把property的值给修改掉。
+ * 可以同时配置多个BeanFactoryPostProcessor，并通过设置'order'属性来控制各个BeanFactoryPostProcessor的执行次序。
+ * <p>
+ * 自定义资源文件读取，优先级最低
+ */
+@Component
+@Slf4j
+public class CodeDreamPropertySourcePostProcessor implements BeanFactoryPostProcessor, InitializingBean, DisposableBean,
+        ApplicationEventPublisherAware, ApplicationListener<ApplicationEvent>, Ordered {
+    /**
+     * 编译期生成的 {@link CodeDreamPropertySource} 索引，内容为：类名=order,loadActiveProfile,location
+     * <p>由 codedreamplus-base-processor 中的 CodeDreamPropertySourceProcessor 生成，运行时不依赖处理器模块</p>
+     */
+    public static final String INDEX_RESOURCE_LOCATION = "META-INF/codedream/property-sources.index";
+    /**
+     * 为 true 时只从编译期生成的索引中读取 {@link CodeDreamPropertySource}，不再遍历 bean 定义
+     */
+    public static final String USE_INDEX_PROPERTY = "codedream.property-source.use-index";
+    /**
+     * 是否并发加载配置文件，默认开启
+     */
+    public static final String PARALLEL_PROPERTY = "codedream.property-source.parallel";
+    /**
+     * 并发加载的最大线程数，默认为 cpu 核数
+     */
+    public static final String PARALLELISM_PROPERTY = "codedream.property-source.parallelism";
+    /**
+     * 是否优先读取 {@link PropertySnapshotCompiler} 在构建时生成的快照，默认关闭，关闭时不会查找快照文件
+     * <p>快照保留值类型(字符串、布尔、int、long、double、BigInteger)与行号列号，yaml 中的日期等其他类型读取后为字符串</p>
+     */
+    public static final String SNAPSHOT_PROPERTY = "codedream.property-source.snapshot";
+    /**
+     * 是否延迟加载配置文件，第一次查找到达时才解析，默认关闭，见 {@link LazyPropertySource}
+     */
+    public static final String LAZY_PROPERTY = "codedream.property-source.lazy";
+    /**
+     * 是否在 JVM 内缓存已解析的配置文件，多次启动容器时复用，默认关闭，见 {@link ParsedPropertySourceCache}
+     */
+    public static final String CACHE_PROPERTY = "codedream.property-source.cache";
+    /**
+     * JVM 内最多缓存的配置文件数量，默认 256
+     */
+    public static final String CACHE_MAX_SIZE_PROPERTY = "codedream.property-source.cache.max-size";
+    /**
+     * 是否监听配置文件的修改并热加载，默认关闭
+     */
+    public static final String WATCH_PROPERTY = "codedream.property-source.watch";
+    /**
+     * 热加载时轮询的间隔，毫秒，默认 5000
+     */
+    public static final String WATCH_INTERVAL_PROPERTY = "codedream.property-source.watch-interval";
+    /**
+     * 是否把所有配置文件合并为一个 {@link CompositeCodeDreamPropertySource}，默认关闭
+     */
+    public static final String COMPOSITE_PROPERTY = "codedream.property-source.composite";
+    /**
+     * 是否记录配置文件的加载指标，默认关闭，见 {@link PropertySourceMetrics}
+     */
+    public static final String METRICS_PROPERTY = "codedream.property-source.metrics";
+    /**
+     * 是否记录每个 PropertySource 的查找命中数与耗时，默认关闭
+     */
+    public static final String METRICS_LOOKUP_PROPERTY = "codedream.property-source.metrics.lookup";
+    /**
+     * 是否缓存 ${...} 占位符的解析结果，热加载时按依赖关系失效，spring cloud 刷新配置(EnvironmentChangeEvent)时全部失效，
+     * 默认关闭，见 {@link PlaceholderCache}
+     */
+    public static final String RESOLVE_PLACEHOLDERS_PROPERTY = "codedream.property-source.resolve-placeholders";
+    /**
+     * 是否使用 {@link StreamingYamlPropertySourceLoader} 加载 yml/yaml 文件，默认关闭
+     */
+    public static final String STREAMING_YAML_PROPERTY = "codedream.property-source.streaming-yaml";
+    /**
+     * spring cloud 刷新配置后发布的事件，按类名识别，不依赖 spring-cloud-context
+     */
+    private static final String ENVIRONMENT_CHANGE_EVENT = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+    private final ResourceLoader resourceLoader;
+    private final List<PropertySourceLoader> propertySourceLoaders;
+    private ApplicationEventPublisher applicationEventPublisher;
+    private PropertySourceWatcher watcher;
+    private PlaceholderCache placeholderCache;
+    private PropertySourceMetrics metrics = PropertySourceMetrics.NONE;
+
+    public CodeDreamPropertySourcePostProcessor() {
+        this.resourceLoader = new DefaultResourceLoader();
+        this.propertySourceLoaders = SpringFactoriesLoader.loadFactories(PropertySourceLoader.class, getClass().getClassLoader());
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        log.info("PropertySourcePostProcessor process @PropertySource bean.");
+        ConfigurableEnvironment environment = beanFactory.getBean(ConfigurableEnvironment.class);
+        // 组装资源
+        List<PropertyFile> propertyFileList = environment.getProperty(USE_INDEX_PROPERTY, Boolean.class, false)
+                ? findIndexedPropertyFiles() : findPropertyFiles(beanFactory);
+        // 没有 @CodeDreamPropertySource 注解，跳出
+        if (propertyFileList.isEmpty()) {
+            log.warn("Not found @PropertySource on spring bean class.");
+            return;
+        }
+
+        // 装载 PropertySourceLoader
+        Map<String, PropertySourceLoader> loaderMap = new HashMap<>(16);
+        for (PropertySourceLoader loader : propertySourceLoaders) {
+            String[] loaderExtensions = loader.getFileExtensions();
+            for (String extension : loaderExtensions) {
+                loaderMap.put(extension, loader);
+            }
+        }
+        if (environment.getProperty(STREAMING_YAML_PROPERTY, Boolean.class, false)) {
+            PropertySourceLoader streamingLoader = new StreamingYamlPropertySourceLoader();
+            for (String extension : streamingLoader.getFileExtensions()) {
+                loaderMap.put(extension, streamingLoader);
+            }
+        }
+        // 去重，排序
+        List<PropertyFile> sortedPropertyList = propertyFileList.stream()
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        MutablePropertySources propertySources = environment.getPropertySources();
+
+        // 只支持 activeProfiles，没有必要支持 spring.profiles.include。
+        String[] activeProfiles = environment.getActiveProfiles();
+        List<PropertyLocation> locations = new ArrayList<>();
+        for (String profile : activeProfiles) {
+            for (PropertyFile propertyFile : sortedPropertyList) {
+                // 不加载 ActiveProfile 的配置文件
+                if (!propertyFile.loadActiveProfile) {
+                    continue;
+                }
+                String extension = propertyFile.getExtension();
+                PropertySourceLoader loader = getLoader(loaderMap, extension);
+                String location = propertyFile.getLocation();
+                String filePath = StringUtils.stripFilenameExtension(location);
+                String profiledLocation = filePath + "-" + profile + "." + extension;
+                locations.add(new PropertyLocation(profiledLocation, loader, true));
+            }
+        }
+        // 本身的 Resource
+        for (PropertyFile propertyFile : sortedPropertyList) {
+            PropertySourceLoader loader = getLoader(loaderMap, propertyFile.getExtension());
+            locations.add(new PropertyLocation(propertyFile.getLocation(), loader, false));
+        }
+        // 并发加载，结果顺序与 locations 一致
+        int parallelism = environment.getProperty(PARALLEL_PROPERTY, Boolean.class, true)
+                ? environment.getProperty(PARALLELISM_PROPERTY, Integer.class, Runtime.getRuntime().availableProcessors()) : 1;
+        PropertySourceMetrics propertySourceMetrics = environment.getProperty(METRICS_PROPERTY, Boolean.class, false)
+                ? createMetrics(beanFactory) : PropertySourceMetrics.NONE;
+        this.metrics = propertySourceMetrics;
+        UnaryOperator<org.springframework.core.env.PropertySource<?>> metricsDecorator = environment.getProperty(METRICS_LOOKUP_PROPERTY, Boolean.class, false)
+                ? propertySource -> InstrumentedPropertySource.wrap(propertySource, propertySourceMetrics) : UnaryOperator.identity();
+        PlaceholderCache placeholderCache = environment.getProperty(RESOLVE_PLACEHOLDERS_PROPERTY, Boolean.class, false)
+                ? new PlaceholderCache(environment) : null;
+        this.placeholderCache = placeholderCache;
+        // 查找指标在外层，耗时包含占位符缓存
+        UnaryOperator<org.springframework.core.env.PropertySource<?>> decorator = placeholderCache == null ? metricsDecorator
+                : propertySource -> metricsDecorator.apply(PlaceholderResolvingPropertySource.wrap(propertySource, placeholderCache));
+        boolean useCache = environment.getProperty(CACHE_PROPERTY, Boolean.class, false);
+        if (useCache) {
+            ParsedPropertySourceCache.setMaximumSize(environment.getProperty(CACHE_MAX_SIZE_PROPERTY, Integer.class,
+                    ParsedPropertySourceCache.DEFAULT_MAXIMUM_SIZE));
+        }
+        long start = System.nanoTime();
+        CodeDreamPropertySourceLoader propertySourceLoader = new CodeDreamPropertySourceLoader(resourceLoader,
+                environment.getProperty(SNAPSHOT_PROPERTY, Boolean.class, false), useCache, propertySourceMetrics);
+        boolean composite = environment.getProperty(COMPOSITE_PROPERTY, Boolean.class, false);
+        boolean watch = environment.getProperty(WATCH_PROPERTY, Boolean.class, false);
+        boolean lazy = environment.getProperty(LAZY_PROPERTY, Boolean.class, false);
+        if (lazy && (composite || watch)) {
+            // 合并与热加载都需要读取全部属性，无法延迟
+            lazy = false;
+            log.warn("{} is ignored when {} or {} is enabled.", LAZY_PROPERTY, COMPOSITE_PROPERTY, WATCH_PROPERTY);
+        }
+        if (lazy) {
+            // 只记录文件位置，查找与解析都延迟到第一次查找
+            locations.forEach(location -> propertySources.addLast(new LazyPropertySource(location, propertySourceLoader, decorator)));
+            log.info("Registered {} lazy @CodeDreamPropertySource file(s).", locations.size());
+            return;
+        }
+        List<List<org.springframework.core.env.PropertySource<?>>> loadedSources = propertySourceLoader.loadAll(locations, parallelism);
+        // 转存
+        List<org.springframework.core.env.PropertySource<?>> allSources = new ArrayList<>();
+        loadedSources.forEach(allSources::addAll);
+        if (composite) {
+            propertySources.addLast(decorator.apply(CompositeCodeDreamPropertySource.of(allSources)));
+        } else {
+            allSources.forEach(propertySource -> propertySources.addLast(decorator.apply(propertySource)));
+        }
+        log.info("Loaded {} @CodeDreamPropertySource file(s) in {}ms.", locations.size(), (System.nanoTime() - start) / 1000000);
+        // 热加载
+        if (watch) {
+            // 先失效占位符缓存，再通知监听者
+            ApplicationEventPublisher publisher = placeholderCache == null ? applicationEventPublisher : event -> {
+                placeholderCache.invalidate(((CodeDreamPropertySourceChangedEvent) event).getChangedKeys());
+                if (applicationEventPublisher != null) {
+                    applicationEventPublisher.publishEvent(event);
+                }
+            };
+            watcher = new PropertySourceWatcher(propertySources, resourceLoader, locations, loadedSources, composite,
+                    decorator, publisher, environment.getProperty(WATCH_INTERVAL_PROPERTY, Long.class, 5000L));
+            watcher.start();
+        }
+    }
+
+    private static PropertySourceLoader getLoader(Map<String, PropertySourceLoader> loaderMap, String extension) {
+        PropertySourceLoader loader = loaderMap.get(extension);
+        if (loader == null) {
+            throw new IllegalArgumentException("Can't find PropertySourceLoader for PropertySource extension:" + extension);
+        }
+        return loader;
+    }
+
+    /**
+     * 从 bean 定义的元数据中查找 {@link CodeDreamPropertySource}，不会创建任何 bean 实例
+     *
+     * @param beanFactory ConfigurableListableBeanFactory
+     * @return 资源文件
+     */
+    private static List<PropertyFile> findPropertyFiles(ConfigurableListableBeanFactory beanFactory) {
+        List<PropertyFile> propertyFileList = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition.isAbstract()) {
+                continue;
+            }
+            AnnotationAttributes attributes;
+            // @Bean 方法的元数据为所在配置类，需要按返回类型判断
+            if (beanDefinition instanceof AnnotatedBeanDefinition
+                    && ((AnnotatedBeanDefinition) beanDefinition).getFactoryMethodMetadata() == null) {
+                AnnotationMetadata metadata = ((AnnotatedBeanDefinition) beanDefinition).getMetadata();
+                attributes = AnnotationAttributes.fromMap(metadata.getAnnotationAttributes(CodeDreamPropertySource.class.getName()));
+            } else {
+                attributes = getAnnotationAttributes(beanFactory.getType(beanName, false));
+            }
+            addPropertyFile(attributes, propertyFileList);
+        }
+        // 手动注册的单例
+        for (String beanName : beanFactory.getSingletonNames()) {
+            if (!beanFactory.containsBeanDefinition(beanName)) {
+                addPropertyFile(getAnnotationAttributes(beanFactory.getType(beanName, false)), propertyFileList);
+            }
+        }
+        return propertyFileList;
+    }
+
+    /**
+     * 从编译期生成的索引中读取 {@link CodeDreamPropertySource}，无需遍历 bean 定义
+     *
+     * @return 资源文件
+     */
+    private List<PropertyFile> findIndexedPropertyFiles() {
+        List<PropertyFile> propertyFileList = new ArrayList<>();
+        try {
+            Enumeration<URL> urls = getClass().getClassLoader().getResources(INDEX_RESOURCE_LOCATION);
+            while (urls.hasMoreElements()) {
+                Properties properties = PropertiesLoaderUtils.loadProperties(
+                        new EncodedResource(new UrlResource(urls.nextElement()), StandardCharsets.UTF_8));
+                for (String className : properties.stringPropertyNames()) {
+                    // order,loadActiveProfile,location
+                    String[] values = properties.getProperty(className).split(",", 3);
+                    propertyFileList.add(new PropertyFile(Integer.parseInt(values[0]), values[2], Boolean.parseBoolean(values[1])));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load @CodeDreamPropertySource index from location ["
+                    + INDEX_RESOURCE_LOCATION + "]", e);
+        }
+        return propertyFileList;
+    }
+
+    private static AnnotationAttributes getAnnotationAttributes(Class<?> beanType) {
+        if (beanType == null) {
+            return null;
+        }
+        return AnnotatedElementUtils.getMergedAnnotationAttributes(ClassUtils.getUserClass(beanType), CodeDreamPropertySource.class);
+    }
+
+    private static void addPropertyFile(AnnotationAttributes attributes, List<PropertyFile> propertyFileList) {
+        if (attributes == null) {
+            return;
+        }
+        int order = attributes.getNumber("order");
+        boolean loadActiveProfile = attributes.getBoolean("loadActiveProfile");
+        String location = attributes.getString("value");
+        propertyFileList.add(new PropertyFile(order, location, loadActiveProfile));
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        log.info("PropertySourcePostProcessor init.");
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * 其他 PropertySource 发生变化时清空占位符缓存
+     *
+     * @param event 事件
+     */
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (placeholderCache != null && ENVIRONMENT_CHANGE_EVENT.equals(event.getClass().getName())) {
+            placeholderCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (watcher != null) {
+            watcher.close();
+        }
+        if (metrics instanceof Closeable) {
+            ((Closeable) metrics).close();
+        }
+    }
+
+    /**
+     * 优先使用 spring.factories 中注册的 {@link PropertySourceMetrics}，默认注册到 JMX，MBean 名称包含 context id
+     *
+     * @param beanFactory ConfigurableListableBeanFactory
+     * @return PropertySourceMetrics
+     */
+    private PropertySourceMetrics createMetrics(ConfigurableListableBeanFactory beanFactory) {
+        List<PropertySourceMetrics> metricsList = SpringFactoriesLoader.loadFactories(PropertySourceMetrics.class, getClass().getClassLoader());
+        if (!metricsList.isEmpty()) {
+            return metricsList.get(0);
+        }
+        // AbstractRefreshableApplicationContext 与 GenericApplicationContext 都把 context id 设置为 bean 工厂的 serializationId
+        String contextId = beanFactory instanceof DefaultListableBeanFactory
+                ? ((DefaultListableBeanFactory) beanFactory).getSerializationId() : null;
+        JmxPropertySourceMetrics jmxMetrics = new JmxPropertySourceMetrics();
+        jmxMetrics.register(contextId);
+        return jmxMetrics;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    private static class PropertyFile implements Comparable<PropertyFile> {
+        private final int order;
+        private final String location;
+        private final String extension;
+        private final boolean loadActiveProfile;
+
+        PropertyFile(int order, String location, boolean loadActiveProfile) {
+            this.order = order;
+            this.location = location;
+            this.loadActiveProfile = loadActiveProfile;
+            this.extension = Objects.requireNonNull(StringUtils.getFilenameExtension(location));
+        }
+
+        @Override
+        public int compareTo(PropertyFile other) {
+            return Integer.compare(this.order, other.order);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.codedreamplus.auto.properties;
+
+import org.springframework.core.env.EnumerablePropertySource;
+
+import java.util.Arrays;
+
+/**
+ * <p>Description: [紧凑存储的 PropertySource]</p >
+ * Created on 2026-10-17
+ * <p>key 与值保存在按插入顺序排列的两个数组中，另用一个 int 数组做开放寻址(线性探测)的哈希索引，
+ * 每个属性只占两个数组槽位与一个索引槽位，没有 Map.Entry 对象，供 {@link StreamingYamlPropertySourceLoader} 直接写入</p>
+ *
+ * @author mo
+ */
+class CompactPropertySource extends EnumerablePropertySource<Object> {
+    private final String[] names;
+    private final Object[] values;
+    /**
+     * 下标 + 1，0 为空位
+     */
+    private final int[] table;
+
+    private CompactPropertySource(String name, String[] names, Object[] values, int[] table) {
+        super(name);
+        this.names = names;
+        this.values = values;
+        this.table = table;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        int index = table[indexOf(table, names, name)];
+        return index == 0 ? null : values[index - 1];
+    }
+
+    @Override
+    public boolean containsProperty(String name) {
+        return table[indexOf(table, names, name)] != 0;
+    }
+
+    /**
+     * 所有 key，按文件中第一次出现的顺序排列；返回内部数组，调用方不应修改
+     *
+     * @return key 数组
+     */
+    @Override
+    public String[] getPropertyNames() {
+        return names;
+    }
+
+    /**
+     * 线性探测，返回 key 所在的位置或第一个空位
+     */
+    private static int indexOf(int[] table, String[] names, String name) {
+        int mask = table.length - 1;
+        int hash = name.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (true) {
+            int index = table[slot];
+            if (index == 0 || names[index - 1].equals(name)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * 逐个写入属性，重复的 key 保留第一次出现的位置
+     */
+    static final class Builder {
+        private String[] names = new String[16];
+        private Object[] values = new Object[16];
+        private int[] table = new int[32];
+        private int size;
+
+        /**
+         * 写入属性
+         *
+         * @param name      key
+         * @param value     值
+         * @param overwrite key 已存在时是否覆盖
+         */
+        void put(String name, Object value, boolean overwrite) {
+            int slot = indexOf(table, names, name);
+            int index = table[slot];
+            if (index != 0) {
+                if (overwrite) {
+                    values[index - 1] = value;
+                }
+                return;
+            }
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            names[size] = name;
+            values[size] = value;
+            table[slot] = ++size;
+            // 负载因子不超过 0.5
+            if (size * 2 > table.length) {
+                rehash(table.length * 2);
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * 创建 PropertySource，数组裁剪为实际大小
+         *
+         * @param name PropertySource 名称
+         * @return PropertySource
+         */
+        CompactPropertySource build(String name) {
+            String[] trimmedNames = Arrays.copyOf(names, size);
+            Object[] trimmedValues = Arrays.copyOf(values, size);
+            names = trimmedNames;
+            rehash(Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1);
+            return new CompactPropertySource(name, trimmedNames, trimmedValues, table);
+        }
+
+        private void rehash(int capacity) {
+            int[] newTable = new int[capacity];
+            for (int i = 0; i < size; i++) {
+                newTable[indexOf(newTable, names, names[i])] = i + 1;
+            }
+            table = newTable;
+        }
+    }
+}
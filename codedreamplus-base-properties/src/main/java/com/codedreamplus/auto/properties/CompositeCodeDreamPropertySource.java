@@ -0,0 +1,211 @@
+package com.codedreamplus.auto.properties;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Description: [合并后的 CodeDreamPropertySource]</p >
+ * Created on 2026-10-17
+ * <p>把所有 {@link CodeDreamPropertySource} 配置文件按优先级合并为一个 PropertySource，靠前的文件优先。
+ * key 保存在开放寻址(线性探测)的哈希表中，查找只需一次哈希定位；另有按字典序排列的 key 数组作为前缀索引，
+ * 按前缀枚举时二分查找起点，无需遍历全部 key，{@link #getConfigurationPropertySource()} 据此判断绑定时是否存在子属性。
+ * 合并时已复制全部值，之后不会再变化；属性来源从第一个包含该 key 的文件中获取</p>
+ *
+ * @author mo
+ */
+public class CompositeCodeDreamPropertySource extends EnumerablePropertySource<List<PropertySource<?>>> implements OriginLookup<String> {
+    /**
+     * 注册到 Environment 中的名称
+     */
+    public static final String NAME = "CodeDreamPropertySources";
+    private final String[] keys;
+    private final Object[] values;
+    /**
+     * 按合并顺序排列的 key，作为 {@link #getPropertyNames()} 的返回值
+     */
+    private final String[] names;
+    /**
+     * 字典序排列的 key，前缀索引
+     */
+    private final String[] sortedNames;
+    /**
+     * 是否所有 key 都是 spring boot 规范的形式(小写、kebab-case)，此时 key 的字符串前缀与属性名的父子关系一致
+     */
+    private final boolean canonical;
+    private volatile IterableConfigurationPropertySource configurationPropertySource;
+
+    private CompositeCodeDreamPropertySource(List<PropertySource<?>> sources, String[] keys, Object[] values, String[] names) {
+        super(NAME, sources);
+        this.keys = keys;
+        this.values = values;
+        this.names = names;
+        this.sortedNames = names.clone();
+        Arrays.sort(sortedNames);
+        boolean canonical = true;
+        for (String name : names) {
+            if (!ConfigurationPropertyName.isValid(name)) {
+                canonical = false;
+                break;
+            }
+        }
+        this.canonical = canonical;
+    }
+
+    /**
+     * 合并 PropertySource
+     *
+     * @param sources 按优先级从高到低排列的 PropertySource
+     * @return 合并结果，存在无法枚举的 PropertySource 时返回 null
+     */
+    public static CompositeCodeDreamPropertySource of(List<PropertySource<?>> sources) {
+        int total = 0;
+        for (PropertySource<?> propertySource : sources) {
+            if (!(propertySource instanceof EnumerablePropertySource)) {
+                return null;
+            }
+            total += ((EnumerablePropertySource<?>) propertySource).getPropertyNames().length;
+        }
+        // 负载因子不超过 0.5
+        int capacity = Integer.highestOneBit(Math.max(total, 1) * 2 - 1) << 1;
+        String[] keys = new String[capacity];
+        Object[] values = new Object[capacity];
+        List<String> names = new ArrayList<>(total);
+        for (PropertySource<?> propertySource : sources) {
+            for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                int index = indexOf(keys, name);
+                if (keys[index] == null) {
+                    String key = name.intern();
+                    keys[index] = key;
+                    values[index] = propertySource.getProperty(name);
+                    names.add(key);
+                }
+            }
+        }
+        return new CompositeCodeDreamPropertySource(new ArrayList<>(sources), keys, values, names.toArray(new String[0]));
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        int index = indexOf(keys, name);
+        return keys[index] == null ? null : values[index];
+    }
+
+    @Override
+    public boolean containsProperty(String name) {
+        return keys[indexOf(keys, name)] != null;
+    }
+
+    @Override
+    public Origin getOrigin(String key) {
+        if (!containsProperty(key)) {
+            return null;
+        }
+        for (PropertySource<?> propertySource : getSource()) {
+            if (propertySource.containsProperty(key)) {
+                return OriginLookup.getOrigin(propertySource, key);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 值在合并时已复制，不可修改
+     *
+     * @return true
+     */
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
+    /**
+     * 所有 key，优先级高的文件中的 key 在前；返回内部数组，调用方不应修改
+     *
+     * @return key 数组
+     */
+    @Override
+    public String[] getPropertyNames() {
+        return names;
+    }
+
+    /**
+     * 按前缀枚举 key
+     *
+     * @param prefix 前缀，如 spring.datasource.
+     * @return 以 prefix 开头的 key，按字典序排列
+     */
+    public String[] getPropertyNames(String prefix) {
+        int from = lowerBound(prefix);
+        int to = from;
+        while (to < sortedNames.length && sortedNames[to].startsWith(prefix)) {
+            to++;
+        }
+        return Arrays.copyOfRange(sortedNames, from, to);
+    }
+
+    /**
+     * 是否存在以 prefix 开头的 key
+     *
+     * @param prefix 前缀
+     * @return boolean
+     */
+    public boolean containsPrefix(String prefix) {
+        int from = lowerBound(prefix);
+        return from < sortedNames.length && sortedNames[from].startsWith(prefix);
+    }
+
+    /**
+     * 供 {@link org.springframework.boot.context.properties.bind.Binder} 使用的 ConfigurationPropertySource，
+     * 判断是否存在子属性时使用前缀索引，不再逐个比较全部 key；其他方法与 spring boot 默认的适配一致。
+     * spring boot 为 Environment 附加的 ConfigurationPropertySources 无法替换适配方式，需要显式创建 Binder，
+     * 例如 {@code new Binder(compositeSource.getConfigurationPropertySource())}
+     *
+     * @return IterableConfigurationPropertySource
+     */
+    public IterableConfigurationPropertySource getConfigurationPropertySource() {
+        IterableConfigurationPropertySource result = configurationPropertySource;
+        if (result == null) {
+            result = new CompositeConfigurationPropertySource(this);
+            configurationPropertySource = result;
+        }
+        return result;
+    }
+
+    /**
+     * 所有 key 是否都是规范形式
+     *
+     * @return boolean
+     */
+    boolean isCanonical() {
+        return canonical;
+    }
+
+    private int lowerBound(String prefix) {
+        int index = Arrays.binarySearch(sortedNames, prefix);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * 线性探测，返回 key 所在的位置或第一个空位
+     */
+    private static int indexOf(String[] keys, String name) {
+        int mask = keys.length - 1;
+        int hash = name.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (true) {
+            String key = keys[index];
+            if (key == null || key == name || (key.hashCode() == hash && key.equals(name))) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.codedreamplus.auto.properties;
+
+import org.springframework.boot.context.properties.source.ConfigurationProperty;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
+
+import java.util.stream.Stream;
+
+/**
+ * <p>Description: [使用前缀索引的 ConfigurationPropertySource]</p >
+ * Created on 2026-10-17
+ * <p>属性查找与枚举委托给 spring boot 对 {@link CompositeCodeDreamPropertySource} 的默认适配，
+ * {@link #containsDescendantOf(ConfigurationPropertyName)} 在所有 key 都是规范形式时通过前缀索引二分查找，
+ * 存在非规范形式的 key(如驼峰)时字符串前缀无法对应属性名的父子关系，仍由默认适配逐个比较</p>
+ *
+ * @author mo
+ */
+class CompositeConfigurationPropertySource implements IterableConfigurationPropertySource {
+    private final CompositeCodeDreamPropertySource propertySource;
+    private final IterableConfigurationPropertySource delegate;
+
+    CompositeConfigurationPropertySource(CompositeCodeDreamPropertySource propertySource) {
+        this.propertySource = propertySource;
+        this.delegate = (IterableConfigurationPropertySource) ConfigurationPropertySources.from(propertySource).iterator().next();
+    }
+
+    @Override
+    public ConfigurationProperty getConfigurationProperty(ConfigurationPropertyName name) {
+        return delegate.getConfigurationProperty(name);
+    }
+
+    @Override
+    public Stream<ConfigurationPropertyName> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public ConfigurationPropertyState containsDescendantOf(ConfigurationPropertyName name) {
+        if (!propertySource.isCanonical()) {
+            return delegate.containsDescendantOf(name);
+        }
+        if (name.isEmpty()) {
+            return propertySource.getPropertyNames().length > 0 ? ConfigurationPropertyState.PRESENT : ConfigurationPropertyState.ABSENT;
+        }
+        // 子属性为 name.xxx 或 name[n]
+        String prefix = name.toString();
+        return propertySource.containsPrefix(prefix + ".") || propertySource.containsPrefix(prefix + "[")
+                ? ConfigurationPropertyState.PRESENT : ConfigurationPropertyState.ABSENT;
+    }
+
+    @Override
+    public Object getUnderlyingSource() {
+        return propertySource;
+    }
+}
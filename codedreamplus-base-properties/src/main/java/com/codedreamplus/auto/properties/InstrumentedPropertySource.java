@@ -0,0 +1,67 @@
+package com.codedreamplus.auto.properties;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * <p>Description: [记录查找指标的 PropertySource]</p >
+ * Created on 2026-10-17
+ * <p>名称与被包装的 PropertySource 相同，每次查找把是否命中和耗时交给 {@link PropertySourceMetrics}；getOrigin 与 isImmutable 直接委托</p>
+ *
+ * @author mo
+ */
+class InstrumentedPropertySource extends EnumerablePropertySource<EnumerablePropertySource<?>> implements OriginLookup<String> {
+    private final PropertySourceMetrics metrics;
+
+    private InstrumentedPropertySource(EnumerablePropertySource<?> delegate, PropertySourceMetrics metrics) {
+        super(delegate.getName(), delegate);
+        this.metrics = metrics;
+    }
+
+    /**
+     * 包装 PropertySource，无法枚举的 PropertySource 不做包装
+     *
+     * @param propertySource PropertySource
+     * @param metrics        指标
+     * @return PropertySource
+     */
+    static PropertySource<?> wrap(PropertySource<?> propertySource, PropertySourceMetrics metrics) {
+        if (propertySource instanceof EnumerablePropertySource && !(propertySource instanceof InstrumentedPropertySource)) {
+            return new InstrumentedPropertySource((EnumerablePropertySource<?>) propertySource, metrics);
+        }
+        return propertySource;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        long start = System.nanoTime();
+        Object value = getSource().getProperty(name);
+        metrics.lookup(getName(), value != null, System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public boolean containsProperty(String name) {
+        long start = System.nanoTime();
+        boolean contains = getSource().containsProperty(name);
+        metrics.lookup(getName(), contains, System.nanoTime() - start);
+        return contains;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return getSource().getPropertyNames();
+    }
+
+    @Override
+    public Origin getOrigin(String key) {
+        return OriginLookup.getOrigin(getSource(), key);
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return getSource() instanceof OriginLookup && ((OriginLookup<?>) getSource()).isImmutable();
+    }
+}
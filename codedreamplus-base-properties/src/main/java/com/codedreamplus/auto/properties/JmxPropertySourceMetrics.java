@@ -0,0 +1,193 @@
+package com.codedreamplus.auto.properties;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Description: [基于 JMX 的配置文件指标]</p >
+ * Created on 2026-10-17
+ * <p>注册为 {@link #OBJECT_NAME} 加上 context id 与实例序号，同一 jvm 中启动了多个 context 时各自注册，关闭时只注销自己注册的 MBean。
+ * 查找耗时按 2 的幂分桶统计，第 i 个桶记录耗时小于 2^(i+6) 纳秒的次数，最后一个桶记录其余的次数</p>
+ *
+ * @author mo
+ */
+@Slf4j
+public class JmxPropertySourceMetrics implements PropertySourceMetrics, PropertySourceMetricsMXBean, Closeable {
+    /**
+     * MBean 名称前缀，注册时追加 context 与 instance 属性
+     */
+    public static final String OBJECT_NAME = "com.codedreamplus.auto:type=PropertySourceMetrics";
+    private static final int BUCKETS = 20;
+    /**
+     * 实例序号，保证同名 context 注册的 MBean 名称不重复
+     */
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    /**
+     * key 文件位置 -> value 文件指标
+     */
+    private final Map<String, FileMetrics> files = new ConcurrentHashMap<>();
+    /**
+     * key PropertySource 名称 -> value 查找计数
+     */
+    private final ConcurrentMap<String, LookupCounter> lookups = new ConcurrentHashMap<>();
+    private ObjectName objectName;
+
+    /**
+     * 注册到 {@link ManagementFactory#getPlatformMBeanServer()}，名称为
+     * {@code com.codedreamplus.auto:type=PropertySourceMetrics,context=<contextId>,instance=<序号>}
+     *
+     * @param contextId context id，为空时不包含 context 属性
+     */
+    public synchronized void register(String contextId) {
+        String name = OBJECT_NAME;
+        if (contextId != null && !contextId.isEmpty()) {
+            name += ",context=" + ObjectName.quote(contextId);
+        }
+        name += ",instance=" + INSTANCES.incrementAndGet();
+        try {
+            ObjectName registered = new ObjectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, registered);
+            this.objectName = registered;
+        } catch (JMException e) {
+            log.warn("Failed to register MBean {}.", name, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            log.debug("Failed to unregister MBean {}.", objectName, e);
+        }
+        objectName = null;
+    }
+
+    @Override
+    public void fileLoaded(String location, boolean profiled, boolean found, long resolveNanos, long parseNanos, int keyCount) {
+        files.put(location, new FileMetrics(location, profiled, found, resolveNanos / 1000, parseNanos / 1000, keyCount));
+    }
+
+    @Override
+    public void lookup(String propertySourceName, boolean hit, long nanos) {
+        LookupCounter counter = lookups.get(propertySourceName);
+        if (counter == null) {
+            counter = lookups.computeIfAbsent(propertySourceName, (ignored) -> new LookupCounter());
+        }
+        counter.record(hit, nanos);
+    }
+
+    @Override
+    public List<FileMetrics> getFiles() {
+        List<FileMetrics> result = new ArrayList<>(files.values());
+        result.sort(Comparator.comparing(FileMetrics::getLocation));
+        return result;
+    }
+
+    @Override
+    public List<LookupMetrics> getLookups() {
+        List<LookupMetrics> result = new ArrayList<>(lookups.size());
+        new TreeMap<>(lookups).forEach((name, counter) -> result.add(counter.snapshot(name)));
+        return result;
+    }
+
+    @Override
+    public int getProfileVariantsProbed() {
+        return (int) files.values().stream().filter(FileMetrics::isProfiled).count();
+    }
+
+    @Override
+    public int getProfileVariantsFound() {
+        return (int) files.values().stream().filter(file -> file.isProfiled() && file.isFound()).count();
+    }
+
+    @Override
+    public void resetLookups() {
+        lookups.clear();
+    }
+
+    /**
+     * 单个配置文件的加载指标
+     */
+    @Getter
+    public static class FileMetrics {
+        private final String location;
+        private final boolean profiled;
+        private final boolean found;
+        private final long resolveMicros;
+        private final long parseMicros;
+        private final int keyCount;
+
+        FileMetrics(String location, boolean profiled, boolean found, long resolveMicros, long parseMicros, int keyCount) {
+            this.location = location;
+            this.profiled = profiled;
+            this.found = found;
+            this.resolveMicros = resolveMicros;
+            this.parseMicros = parseMicros;
+            this.keyCount = keyCount;
+        }
+    }
+
+    /**
+     * 单个 PropertySource 的查找指标
+     */
+    @Getter
+    public static class LookupMetrics {
+        private final String name;
+        private final long hits;
+        private final long misses;
+        private final long totalNanos;
+        private final long[] histogram;
+
+        LookupMetrics(String name, long hits, long misses, long totalNanos, long[] histogram) {
+            this.name = name;
+            this.hits = hits;
+            this.misses = misses;
+            this.totalNanos = totalNanos;
+            this.histogram = histogram;
+        }
+    }
+
+    private static final class LookupCounter {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        private LookupCounter() {
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void record(boolean hit, long nanos) {
+            (hit ? hits : misses).increment();
+            totalNanos.add(nanos);
+            // 64 纳秒以下为第 0 个桶
+            int bucket = Math.max(0, 64 - Long.numberOfLeadingZeros(nanos) - 6);
+            histogram[Math.min(bucket, BUCKETS - 1)].increment();
+        }
+
+        private LookupMetrics snapshot(String name) {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram[i].sum();
+            }
+            return new LookupMetrics(name, hits.sum(), misses.sum(), totalNanos.sum(), counts);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.codedreamplus.auto.properties;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.core.env.PropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p>Description: [第一次查找时才加载的 PropertySource]</p >
+ * Created on 2026-10-17
+ * <p>注册时只记录文件位置与加载器，不查找也不解析文件；第一次查找到达该 PropertySource(即优先级更高的 PropertySource 都未命中)时
+ * 才查找并解析文件，多个线程同时查找时只加载一次。
+ * 不实现 {@link org.springframework.core.env.EnumerablePropertySource}：spring boot 在查找未命中、{@code @ConfigurationProperties}
+ * 绑定判断是否存在子属性时会枚举所有可枚举 PropertySource 的 key，可枚举就意味着任意一次未命中都会加载全部文件。
+ * 因此延迟加载的文件只能按完整的 key 查找，绑定到 Map、List 或使用宽松命名的 key 时读取不到，需要使用规范的 kebab-case 形式。
+ * 文件不存在时之后的查找都返回 null，解析失败时异常在查找时抛出</p>
+ *
+ * @author mo
+ */
+class LazyPropertySource extends PropertySource<PropertyLocation> implements OriginLookup<String> {
+    private final CodeDreamPropertySourceLoader loader;
+    /**
+     * 加载后对每个 PropertySource 的包装，如查找指标、占位符缓存
+     */
+    private final UnaryOperator<PropertySource<?>> decorator;
+    private volatile List<PropertySource<?>> propertySources;
+
+    LazyPropertySource(PropertyLocation location, CodeDreamPropertySourceLoader loader, UnaryOperator<PropertySource<?>> decorator) {
+        super(location.getName(), location);
+        this.loader = loader;
+        this.decorator = decorator;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        for (PropertySource<?> propertySource : getPropertySources()) {
+            Object value = propertySource.getProperty(name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsProperty(String name) {
+        for (PropertySource<?> propertySource : getPropertySources()) {
+            if (propertySource.containsProperty(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Origin getOrigin(String key) {
+        for (PropertySource<?> propertySource : getPropertySources()) {
+            if (propertySource.containsProperty(key)) {
+                return propertySource instanceof OriginLookup ? ((OriginLookup<String>) propertySource).getOrigin(key) : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 文件是否已加载
+     *
+     * @return 是否已加载
+     */
+    boolean isLoaded() {
+        return propertySources != null;
+    }
+
+    /**
+     * 获取文件中包装后的 PropertySource，第一次调用时加载
+     *
+     * @return 文件不存在时为空集合
+     */
+    List<PropertySource<?>> getPropertySources() {
+        List<PropertySource<?>> result = propertySources;
+        if (result == null) {
+            synchronized (this) {
+                result = propertySources;
+                if (result == null) {
+                    result = new ArrayList<>();
+                    for (PropertySource<?> propertySource : loader.load(getSource())) {
+                        result.add(decorator.apply(propertySource));
+                    }
+                    propertySources = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+package com.codedreamplus.auto.properties;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * <p>Description: [已解析配置文件的 JVM 级缓存]</p >
+ * Created on 2026-10-17
+ * <p>同一个 JVM 中多次启动 spring 容器(如集成测试)时复用已解析的 PropertySource，不再解析文件。
+ * key 为文件位置、实际资源、PropertySourceLoader 与文件版本：本地文件使用修改时间与大小，jar 包等其他资源使用内容的 SHA-256。
+ * 多个容器共享同一个 PropertySource 实例，因此只缓存不可修改的 PropertySource；按最近最少使用淘汰，条目数不超过上限</p>
+ *
+ * @author mo
+ */
+@Slf4j
+final class ParsedPropertySourceCache {
+    /**
+     * 默认最多缓存的配置文件数量
+     */
+    static final int DEFAULT_MAXIMUM_SIZE = 256;
+    /**
+     * 按访问顺序排列，最久未使用的在前
+     */
+    private static final Map<Key, List<PropertySource<?>>> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private ParsedPropertySourceCache() {
+    }
+
+    /**
+     * 设置最多缓存的配置文件数量，超出的条目立即淘汰；为 0 时清空并不再缓存
+     *
+     * @param size 数量
+     */
+    static synchronized void setMaximumSize(int size) {
+        maximumSize = Math.max(size, 0);
+        evict();
+    }
+
+    /**
+     * 计算缓存 key，本地文件只读取文件属性，其他资源需要读取全部内容
+     *
+     * @param propertyLocation 配置文件
+     * @param resource         已确认存在的配置文件资源
+     * @return key
+     * @throws IOException 读取失败
+     */
+    static Key key(PropertyLocation propertyLocation, Resource resource) throws IOException {
+        String uri;
+        try {
+            uri = resource.getURI().toString();
+        } catch (IOException e) {
+            uri = resource.getDescription();
+        }
+        String loader = propertyLocation.getLoader().getClass().getName();
+        if (resource.isFile()) {
+            return new Key(propertyLocation.getLocation(), uri, loader, resource.lastModified(), resource.contentLength(), null);
+        }
+        return new Key(propertyLocation.getLocation(), uri, loader, 0, 0, PropertySnapshot.hash(resource.getInputStream()));
+    }
+
+    /**
+     * 获取缓存的 PropertySource
+     *
+     * @param key key
+     * @return 未缓存时返回 null
+     */
+    static synchronized List<PropertySource<?>> get(Key key) {
+        return CACHE.get(key);
+    }
+
+    /**
+     * 缓存解析结果，包含可修改的 PropertySource 时不缓存
+     *
+     * @param key             key
+     * @param propertySources 解析结果
+     */
+    static void put(Key key, List<PropertySource<?>> propertySources) {
+        for (PropertySource<?> propertySource : propertySources) {
+            if (!isImmutable(propertySource)) {
+                log.debug("Not caching {}: {} is mutable", key.location, propertySource.getClass().getName());
+                return;
+            }
+        }
+        synchronized (ParsedPropertySourceCache.class) {
+            CACHE.put(key, Collections.unmodifiableList(new ArrayList<>(propertySources)));
+            evict();
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    static synchronized void clear() {
+        CACHE.clear();
+    }
+
+    private static void evict() {
+        Iterator<Key> iterator = CACHE.keySet().iterator();
+        while (CACHE.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static boolean isImmutable(PropertySource<?> propertySource) {
+        if (propertySource instanceof OriginTrackedMapPropertySource) {
+            return ((OriginTrackedMapPropertySource) propertySource).isImmutable();
+        }
+        return propertySource instanceof CompactPropertySource || propertySource instanceof PropertySnapshot.MappedPropertySource;
+    }
+
+    /**
+     * 缓存 key，本地文件为修改时间与大小，其他资源为内容的 SHA-256
+     */
+    @ToString
+    @EqualsAndHashCode
+    static final class Key {
+        private final String location;
+        private final String uri;
+        private final String loader;
+        private final long lastModified;
+        private final long length;
+        @ToString.Exclude
+        private final byte[] hash;
+
+        private Key(String location, String uri, String loader, long lastModified, long length, byte[] hash) {
+            this.location = location;
+            this.uri = uri;
+            this.loader = loader;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+}
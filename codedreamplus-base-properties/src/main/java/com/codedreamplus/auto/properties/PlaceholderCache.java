@@ -0,0 +1,222 @@
+package com.codedreamplus.auto.properties;
+
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.PropertySources;
+import org.springframework.core.env.PropertySourcesPropertyResolver;
+import org.springframework.util.PropertyPlaceholderHelper;
+import org.springframework.util.SystemPropertyUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Description: [占位符解析结果缓存]</p >
+ * Created on 2026-10-17
+ * <p>包含 ${...} 的值第一次读取时按 Environment 中的全部 PropertySource 解析一次并缓存，之后直接返回解析结果，不再逐层递归解析。
+ * 解析期间查找过的每个 key(包括间接引用、未找到的 key，以及在优先级更高的 PropertySource 中找到的 key)都记录为依赖，
+ * 配置文件热加载后按变化的 key 沿依赖关系失效对应的缓存，Environment 的其他变化通过 {@link #invalidateAll()} 清空缓存；
+ * 无法解析的值不缓存，仍交给 spring 处理</p>
+ *
+ * @author mo
+ */
+class PlaceholderCache {
+    private final PropertyPlaceholderHelper helper = new PropertyPlaceholderHelper(SystemPropertyUtils.PLACEHOLDER_PREFIX,
+            SystemPropertyUtils.PLACEHOLDER_SUFFIX, SystemPropertyUtils.VALUE_SEPARATOR, true);
+    /**
+     * 读取未解析的原值，嵌套的占位符由 {@link #helper} 逐个解析并记录
+     */
+    private final RawPropertyResolver resolver;
+    /**
+     * key PropertySource 名称 -> value (key 属性名 -> value 解析结果)
+     */
+    private final Map<String, Map<String, String>> values = new ConcurrentHashMap<>();
+    /**
+     * key 被引用的属性名 -> value 引用了该属性的缓存项
+     */
+    private final Map<String, Set<Entry>> dependents = new ConcurrentHashMap<>();
+    /**
+     * 当前线程正在解析的缓存项，外层在前
+     */
+    private final ThreadLocal<Deque<Frame>> resolving = ThreadLocal.withInitial(ArrayDeque::new);
+    /**
+     * 所有线程正在解析的数量，为 0 时查找无需记录依赖
+     */
+    private final AtomicInteger activeResolutions = new AtomicInteger();
+    /**
+     * 每次失效加一，解析期间发生过失效的结果不写入缓存
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param environment 解析占位符的 Environment
+     */
+    PlaceholderCache(ConfigurableEnvironment environment) {
+        this.resolver = new RawPropertyResolver(environment.getPropertySources());
+        this.resolver.setConversionService(environment.getConversionService());
+    }
+
+    /**
+     * 读取属性，值包含占位符时返回解析结果
+     *
+     * @param source PropertySource
+     * @param name   属性名
+     * @return 属性值
+     */
+    Object getProperty(PropertySource<?> source, String name) {
+        Deque<Frame> frames = activeResolutions.get() == 0 ? null : resolving.get();
+        if (frames != null) {
+            Entry entry = new Entry(source.getName(), name);
+            for (Frame frame : frames) {
+                // 同一个 key 的嵌套解析返回原值，由 spring 判断循环引用
+                if (frame.entry.equals(entry)) {
+                    return source.getProperty(name);
+                }
+            }
+            for (Frame frame : frames) {
+                frame.dependencies.add(name);
+            }
+        }
+        Map<String, String> sourceValues = values.get(source.getName());
+        String cached = sourceValues == null ? null : sourceValues.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        Object value = source.getProperty(name);
+        if (!(value instanceof String) || !((String) value).contains(SystemPropertyUtils.PLACEHOLDER_PREFIX)) {
+            return value;
+        }
+        return resolve(source.getName(), name, (String) value, frames == null ? resolving.get() : frames);
+    }
+
+    private Object resolve(String sourceName, String name, String value, Deque<Frame> frames) {
+        long start = generation.get();
+        Frame frame = new Frame(new Entry(sourceName, name));
+        frames.push(frame);
+        activeResolutions.incrementAndGet();
+        String resolved;
+        try {
+            resolved = helper.replacePlaceholders(value, placeholderName -> {
+                frame.dependencies.add(placeholderName);
+                return resolver.getRawProperty(placeholderName);
+            });
+        } finally {
+            activeResolutions.decrementAndGet();
+            frames.pop();
+        }
+        // 仍有无法解析的占位符，返回原值，保持 spring 的处理方式
+        if (resolved.contains(SystemPropertyUtils.PLACEHOLDER_PREFIX)) {
+            return value;
+        }
+        for (String dependency : frame.dependencies) {
+            dependents.computeIfAbsent(dependency, (ignored) -> ConcurrentHashMap.newKeySet()).add(frame.entry);
+        }
+        Map<String, String> sourceValues = values.computeIfAbsent(sourceName, (ignored) -> new ConcurrentHashMap<>());
+        sourceValues.put(name, resolved);
+        if (generation.get() != start) {
+            sourceValues.remove(name);
+        }
+        return resolved;
+    }
+
+    /**
+     * 失效发生变化的 key 以及直接或间接引用了这些 key 的缓存项
+     *
+     * @param changedKeys 发生变化的 key
+     */
+    void invalidate(Collection<String> changedKeys) {
+        generation.incrementAndGet();
+        Deque<String> queue = new ArrayDeque<>(changedKeys);
+        Set<String> visited = new HashSet<>();
+        while (!queue.isEmpty()) {
+            String key = queue.poll();
+            if (!visited.add(key)) {
+                continue;
+            }
+            for (Map<String, String> sourceValues : values.values()) {
+                sourceValues.remove(key);
+            }
+            Set<Entry> entries = dependents.remove(key);
+            if (entries != null) {
+                for (Entry entry : entries) {
+                    queue.add(entry.name);
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空所有缓存项，用于无法得知具体变化的 key 的场景，如 spring cloud 的 EnvironmentChangeEvent
+     */
+    void invalidateAll() {
+        generation.incrementAndGet();
+        values.clear();
+        dependents.clear();
+    }
+
+    /**
+     * 缓存项数量
+     *
+     * @return 数量
+     */
+    int size() {
+        return values.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * 缓存项：PropertySource 名称与属性名
+     */
+    private static final class Entry {
+        private final String source;
+        private final String name;
+
+        private Entry(String source, String name) {
+            this.source = source;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry entry = (Entry) o;
+            return source.equals(entry.source) && name.equals(entry.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source.hashCode() + name.hashCode();
+        }
+    }
+
+    /**
+     * 按优先级查找属性的原值，不解析其中的占位符
+     */
+    private static final class RawPropertyResolver extends PropertySourcesPropertyResolver {
+        private RawPropertyResolver(PropertySources propertySources) {
+            super(propertySources);
+        }
+
+        private String getRawProperty(String key) {
+            return getPropertyAsRawString(key);
+        }
+    }
+
+    /**
+     * 一次解析及其依赖
+     */
+    private static final class Frame {
+        private final Entry entry;
+        private final Set<String> dependencies = new HashSet<>();
+
+        private Frame(Entry entry) {
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.codedreamplus.auto.properties;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * <p>Description: [返回占位符解析结果的 PropertySource]</p >
+ * Created on 2026-10-17
+ * <p>名称与被包装的 PropertySource 相同，读取时交给 {@link PlaceholderCache}；
+ * 属性来源交给被包装的 PropertySource，binder 仍能给出属性所在的文件与行号；
+ * 解析结果会随缓存失效而变化，因此始终不是不可修改的，binder 不会缓存读取结果</p>
+ *
+ * @author mo
+ */
+class PlaceholderResolvingPropertySource extends EnumerablePropertySource<EnumerablePropertySource<?>> implements OriginLookup<String> {
+    private final PlaceholderCache cache;
+
+    private PlaceholderResolvingPropertySource(EnumerablePropertySource<?> delegate, PlaceholderCache cache) {
+        super(delegate.getName(), delegate);
+        this.cache = cache;
+    }
+
+    /**
+     * 包装 PropertySource，无法枚举的 PropertySource 不做包装
+     *
+     * @param propertySource PropertySource
+     * @param cache          占位符缓存
+     * @return PropertySource
+     */
+    static PropertySource<?> wrap(PropertySource<?> propertySource, PlaceholderCache cache) {
+        if (propertySource instanceof EnumerablePropertySource && !(propertySource instanceof PlaceholderResolvingPropertySource)) {
+            return new PlaceholderResolvingPropertySource((EnumerablePropertySource<?>) propertySource, cache);
+        }
+        return propertySource;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return cache.getProperty(getSource(), name);
+    }
+
+    @Override
+    public boolean containsProperty(String name) {
+        return getSource().containsProperty(name);
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return getSource().getPropertyNames();
+    }
+
+    @Override
+    public Origin getOrigin(String key) {
+        return OriginLookup.getOrigin(getSource(), key);
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return false;
+    }
+}
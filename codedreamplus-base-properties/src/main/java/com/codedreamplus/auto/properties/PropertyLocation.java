@@ -0,0 +1,44 @@
+package com.codedreamplus.auto.properties;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.boot.env.PropertySourceLoader;
+
+/**
+ * <p>Description: [待加载的配置文件]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+@Getter
+@ToString
+class PropertyLocation {
+    /**
+     * 文件位置
+     */
+    private final String location;
+    /**
+     * 对应的 PropertySourceLoader
+     */
+    @ToString.Exclude
+    private final PropertySourceLoader loader;
+    /**
+     * 是否为 {文件名}-{activeProfile}.{扩展名} 的配置文件
+     */
+    private final boolean profiled;
+
+    PropertyLocation(String location, PropertySourceLoader loader, boolean profiled) {
+        this.location = location;
+        this.loader = loader;
+        this.profiled = profiled;
+    }
+
+    /**
+     * 注册到 Environment 中的名称
+     *
+     * @return name
+     */
+    String getName() {
+        return "PropertySource: [" + location + "]";
+    }
+}
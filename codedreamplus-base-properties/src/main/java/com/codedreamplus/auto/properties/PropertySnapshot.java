@@ -0,0 +1,386 @@
+package com.codedreamplus.auto.properties;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>Description: [配置文件的二进制快照]</p >
+ * Created on 2026-10-17
+ * <p>快照由 {@link PropertySnapshotCompiler} 在构建时生成，与配置文件放在同一目录，文件名为 {配置文件名}.cdps。
+ * 格式(大端序)：
+ * <pre>
+ * int    魔数 CDPS
+ * short  版本
+ * byte[] 配置文件内容的 SHA-256
+ * int    文档数量(yaml 可以有多个文档)
+ * 每个文档：int 属性数量，随后是按 key 的 UTF-8 字节排序的索引表，每项 7 个 int：
+ *        key 偏移、key 长度、value 偏移、value 长度(偏移相对于文件开头)、value 类型、行号、列号(从 0 开始，没有时为 -1)
+ * 数据区：key、value 的 UTF-8 字节，value 按类型保存为文本
+ * </pre>
+ * value 类型保留 yaml 解析出的字符串、布尔、int、long、double 与 BigInteger，其他类型(如日期)保存为 toString 的结果；
+ * 行号列号用于 {@link OriginLookup}，binder 报错时仍能给出属性所在的文件与位置。
+ * 读取时校验索引表与数据区的边界，截断或损坏的快照与过期快照一样被忽略</p >
+ *
+ * @author mo
+ */
+final class PropertySnapshot {
+    /**
+     * 快照文件扩展名
+     */
+    static final String EXTENSION = ".cdps";
+    private static final int MAGIC = 0x43445053;
+    private static final short VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_SIZE = 4 + 2 + HASH_LENGTH + 4;
+    private static final int ENTRY_SIZE = 28;
+    private static final int TYPE_STRING = 0;
+    private static final int TYPE_BOOLEAN = 1;
+    private static final int TYPE_INTEGER = 2;
+    private static final int TYPE_LONG = 3;
+    private static final int TYPE_DOUBLE = 4;
+    private static final int TYPE_BIG_INTEGER = 5;
+    private static final Comparator<byte[]> UTF8_ORDER = PropertySnapshot::compare;
+
+    private PropertySnapshot() {
+    }
+
+    /**
+     * 写入快照
+     *
+     * @param sourceHash 配置文件的 SHA-256
+     * @param documents  配置文件解析后的 PropertySource，按文档顺序
+     * @param output     输出流
+     * @throws IOException 抛出io异常
+     */
+    static void write(byte[] sourceHash, List<? extends EnumerablePropertySource<?>> documents, OutputStream output) throws IOException {
+        int headerSize = HEADER_SIZE;
+        List<SortedMap<byte[], Value>> encodedDocuments = new ArrayList<>(documents.size());
+        for (EnumerablePropertySource<?> document : documents) {
+            SortedMap<byte[], Value> encoded = new TreeMap<>(UTF8_ORDER);
+            for (String name : document.getPropertyNames()) {
+                encoded.put(name.getBytes(UTF_8), new Value(document.getProperty(name), OriginLookup.getOrigin(document, name)));
+            }
+            encodedDocuments.add(encoded);
+            headerSize += 4 + encoded.size() * ENTRY_SIZE;
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.write(sourceHash);
+        out.writeInt(encodedDocuments.size());
+        int offset = headerSize;
+        for (SortedMap<byte[], Value> document : encodedDocuments) {
+            out.writeInt(document.size());
+            for (Map.Entry<byte[], Value> entry : document.entrySet()) {
+                Value value = entry.getValue();
+                out.writeInt(offset);
+                out.writeInt(entry.getKey().length);
+                offset += entry.getKey().length;
+                out.writeInt(offset);
+                out.writeInt(value.bytes.length);
+                offset += value.bytes.length;
+                out.writeInt(value.type);
+                out.writeInt(value.line);
+                out.writeInt(value.column);
+            }
+        }
+        for (SortedMap<byte[], Value> document : encodedDocuments) {
+            for (Map.Entry<byte[], Value> entry : document.entrySet()) {
+                out.write(entry.getKey());
+                out.write(entry.getValue().bytes);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * 读取快照，快照与配置文件不匹配、版本不同或者文件被截断、损坏时返回 null
+     *
+     * @param name       PropertySource 名称
+     * @param sourceHash 配置文件的 SHA-256
+     * @param snapshot   快照文件，本地文件使用内存映射，jar 包内的文件读入堆内存
+     * @param resource   配置文件，用于属性的 Origin
+     * @return PropertySource 集合
+     * @throws IOException 抛出io异常
+     */
+    static List<PropertySource<?>> read(String name, byte[] sourceHash, Resource snapshot, Resource resource) throws IOException {
+        ByteBuffer buffer = map(snapshot);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            return null;
+        }
+        byte[] hash = new byte[HASH_LENGTH];
+        buffer.get(hash);
+        if (!Arrays.equals(hash, sourceHash)) {
+            return null;
+        }
+        int documentCount = buffer.getInt();
+        if (documentCount < 0 || documentCount > buffer.remaining() / 4) {
+            return null;
+        }
+        int[] tableOffsets = new int[documentCount];
+        int[] sizes = new int[documentCount];
+        for (int i = 0; i < documentCount; i++) {
+            if (buffer.remaining() < 4) {
+                return null;
+            }
+            sizes[i] = buffer.getInt();
+            if (sizes[i] < 0 || sizes[i] > buffer.remaining() / ENTRY_SIZE) {
+                return null;
+            }
+            tableOffsets[i] = buffer.position();
+            buffer.position(buffer.position() + sizes[i] * ENTRY_SIZE);
+        }
+        if (!isValid(buffer, tableOffsets, sizes)) {
+            return null;
+        }
+        List<PropertySource<?>> propertySources = new ArrayList<>(documentCount);
+        for (int i = 0; i < documentCount; i++) {
+            // 与 spring boot 中多文档 yaml 的命名一致
+            String documentName = documentCount != 1 ? name + " (document #" + i + ")" : name;
+            propertySources.add(new MappedPropertySource(documentName, buffer.duplicate(), tableOffsets[i], sizes[i], resource));
+        }
+        return propertySources;
+    }
+
+    /**
+     * 校验每一项的 key、value 都位于数据区内，并且数据区恰好到文件末尾为止
+     */
+    private static boolean isValid(ByteBuffer buffer, int[] tableOffsets, int[] sizes) {
+        int dataOffset = buffer.position();
+        long end = dataOffset;
+        for (int i = 0; i < tableOffsets.length; i++) {
+            for (int j = 0; j < sizes[i]; j++) {
+                int entry = tableOffsets[i] + j * ENTRY_SIZE;
+                for (int field = 0; field < 16; field += 8) {
+                    int offset = buffer.getInt(entry + field);
+                    int length = buffer.getInt(entry + field + 4);
+                    if (offset < dataOffset || length < 0 || (long) offset + length > buffer.limit()) {
+                        return false;
+                    }
+                }
+                end = Math.max(end, (long) buffer.getInt(entry + 8) + buffer.getInt(entry + 12));
+            }
+        }
+        return end == buffer.limit();
+    }
+
+    /**
+     * 计算配置文件的 SHA-256
+     *
+     * @param input 配置文件
+     * @return hash
+     * @throws IOException 抛出io异常
+     */
+    static byte[] hash(InputStream input) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[8192];
+        int read;
+        try (InputStream in = input) {
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static ByteBuffer map(Resource snapshot) throws IOException {
+        if (snapshot.isFile()) {
+            try (FileChannel channel = FileChannel.open(snapshot.getFile().toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream input = snapshot.getInputStream()) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return ByteBuffer.wrap(output.toByteArray());
+        }
+    }
+
+    private static int compare(byte[] left, byte[] right) {
+        int length = Math.min(left.length, right.length);
+        for (int i = 0; i < length; i++) {
+            int result = Integer.compare(left[i] & 0xff, right[i] & 0xff);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(left.length, right.length);
+    }
+
+    /**
+     * 写入快照的 value：类型、文本与位置
+     */
+    private static final class Value {
+        private final int type;
+        private final byte[] bytes;
+        private final int line;
+        private final int column;
+
+        private Value(Object value, Origin origin) {
+            if (value instanceof OriginTrackedValue) {
+                value = ((OriginTrackedValue) value).getValue();
+            }
+            this.type = typeOf(value);
+            this.bytes = (value == null ? "" : value.toString()).getBytes(UTF_8);
+            TextResourceOrigin.Location location = origin instanceof TextResourceOrigin ? ((TextResourceOrigin) origin).getLocation() : null;
+            this.line = location == null ? -1 : location.getLine();
+            this.column = location == null ? -1 : location.getColumn();
+        }
+
+        private static int typeOf(Object value) {
+            if (value instanceof Boolean) {
+                return TYPE_BOOLEAN;
+            }
+            if (value instanceof Integer) {
+                return TYPE_INTEGER;
+            }
+            if (value instanceof Long) {
+                return TYPE_LONG;
+            }
+            if (value instanceof Double) {
+                return TYPE_DOUBLE;
+            }
+            if (value instanceof BigInteger) {
+                return TYPE_BIG_INTEGER;
+            }
+            return TYPE_STRING;
+        }
+    }
+
+    /**
+     * 基于快照的 PropertySource，按 key 二分查找，value 在获取时才解码为写入时的类型
+     */
+    static final class MappedPropertySource extends EnumerablePropertySource<ByteBuffer> implements OriginLookup<String> {
+        private final int tableOffset;
+        private final int size;
+        private final Resource resource;
+        private volatile String[] propertyNames;
+
+        MappedPropertySource(String name, ByteBuffer buffer, int tableOffset, int size, Resource resource) {
+            super(name, buffer);
+            this.tableOffset = tableOffset;
+            this.size = size;
+            this.resource = resource;
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            int entry = find(name.getBytes(UTF_8));
+            if (entry < 0) {
+                return null;
+            }
+            ByteBuffer buffer = getSource();
+            String text = decode(buffer.getInt(entry + 8), buffer.getInt(entry + 12));
+            switch (buffer.getInt(entry + 16)) {
+                case TYPE_BOOLEAN:
+                    return Boolean.valueOf(text);
+                case TYPE_INTEGER:
+                    return Integer.valueOf(text);
+                case TYPE_LONG:
+                    return Long.valueOf(text);
+                case TYPE_DOUBLE:
+                    return Double.valueOf(text);
+                case TYPE_BIG_INTEGER:
+                    return new BigInteger(text);
+                default:
+                    return text;
+            }
+        }
+
+        @Override
+        public Origin getOrigin(String key) {
+            int entry = find(key.getBytes(UTF_8));
+            if (entry < 0 || getSource().getInt(entry + 20) < 0) {
+                return null;
+            }
+            return new TextResourceOrigin(resource, new TextResourceOrigin.Location(getSource().getInt(entry + 20), getSource().getInt(entry + 24)));
+        }
+
+        @Override
+        public boolean isImmutable() {
+            return true;
+        }
+
+        @Override
+        public boolean containsProperty(String name) {
+            return find(name.getBytes(UTF_8)) >= 0;
+        }
+
+        @Override
+        public String[] getPropertyNames() {
+            String[] names = this.propertyNames;
+            if (names == null) {
+                names = new String[size];
+                for (int i = 0; i < size; i++) {
+                    int entry = tableOffset + i * ENTRY_SIZE;
+                    names[i] = decode(getSource().getInt(entry), getSource().getInt(entry + 4));
+                }
+                this.propertyNames = names;
+            }
+            return names.clone();
+        }
+
+        private int find(byte[] key) {
+            ByteBuffer buffer = getSource();
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int entry = tableOffset + mid * ENTRY_SIZE;
+                int result = compareKey(buffer, buffer.getInt(entry), buffer.getInt(entry + 4), key);
+                if (result < 0) {
+                    low = mid + 1;
+                } else if (result > 0) {
+                    high = mid - 1;
+                } else {
+                    return entry;
+                }
+            }
+            return -1;
+        }
+
+        private static int compareKey(ByteBuffer buffer, int offset, int length, byte[] key) {
+            int min = Math.min(length, key.length);
+            for (int i = 0; i < min; i++) {
+                int result = Integer.compare(buffer.get(offset + i) & 0xff, key[i] & 0xff);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return Integer.compare(length, key.length);
+        }
+
+        private String decode(int offset, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer buffer = getSource().duplicate();
+            buffer.position(offset);
+            buffer.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+    }
+}
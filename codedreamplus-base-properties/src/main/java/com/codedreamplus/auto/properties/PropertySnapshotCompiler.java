@@ -0,0 +1,124 @@
+package com.codedreamplus.auto.properties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.StringUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * <p>Description: [配置文件快照编译器]</p >
+ * Created on 2026-10-17
+ * <p>构建时把 {@link CodeDreamPropertySource} 引用的配置文件(包含 profile 文件)编译为 {@link PropertySnapshot}，
+ * 启动时 {@link CodeDreamPropertySourcePostProcessor} 直接读取快照，不再解析 yaml/properties。
+ * 用法：PropertySnapshotCompiler {classes 目录} [配置文件...]，不指定配置文件时编译索引文件中 classpath 下的全部配置文件</p>
+ *
+ * @author mo
+ */
+@Slf4j
+public final class PropertySnapshotCompiler {
+    private final Map<String, PropertySourceLoader> loaderMap = new HashMap<>(16);
+
+    public PropertySnapshotCompiler() {
+        List<PropertySourceLoader> loaders = SpringFactoriesLoader.loadFactories(PropertySourceLoader.class, getClass().getClassLoader());
+        for (PropertySourceLoader loader : loaders) {
+            for (String extension : loader.getFileExtensions()) {
+                loaderMap.put(extension, loader);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: PropertySnapshotCompiler <classes directory> [property file...]");
+        }
+        File directory = new File(args[0]);
+        PropertySnapshotCompiler compiler = new PropertySnapshotCompiler();
+        List<File> files = new ArrayList<>();
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) {
+                File file = new File(args[i]);
+                files.add(file.isAbsolute() ? file : new File(directory, args[i]));
+            }
+        } else {
+            files.addAll(findIndexedFiles(directory));
+        }
+        for (File file : files) {
+            compiler.compile(file);
+        }
+        log.info("Compiled {} property snapshot(s) in {}", files.size(), directory);
+    }
+
+    /**
+     * 编译配置文件，快照写入同一目录下的 {配置文件名}.cdps
+     *
+     * @param file 配置文件
+     * @return 快照文件
+     * @throws IOException 抛出io异常
+     */
+    public File compile(File file) throws IOException {
+        String extension = StringUtils.getFilenameExtension(file.getName());
+        PropertySourceLoader loader = loaderMap.get(extension);
+        if (loader == null) {
+            throw new IllegalArgumentException("Can't find PropertySourceLoader for PropertySource extension:" + extension);
+        }
+        List<EnumerablePropertySource<?>> documents = new ArrayList<>();
+        for (PropertySource<?> propertySource : loader.load(file.getName(), new FileSystemResource(file))) {
+            if (!(propertySource instanceof EnumerablePropertySource)) {
+                throw new IllegalStateException("PropertySource is not enumerable: " + propertySource.getName());
+            }
+            documents.add((EnumerablePropertySource<?>) propertySource);
+        }
+        byte[] hash = PropertySnapshot.hash(new FileInputStream(file));
+        File snapshot = new File(file.getParentFile(), file.getName() + PropertySnapshot.EXTENSION);
+        try (OutputStream output = Files.newOutputStream(snapshot.toPath())) {
+            PropertySnapshot.write(hash, documents, output);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 查找索引文件中 classpath 下的配置文件及其 {文件名}-{profile}.{扩展名} 文件
+     *
+     * @param directory classes 目录
+     * @return 配置文件
+     * @throws IOException 抛出io异常
+     */
+    private static List<File> findIndexedFiles(File directory) throws IOException {
+        File index = new File(directory, CodeDreamPropertySourcePostProcessor.INDEX_RESOURCE_LOCATION);
+        if (!index.isFile()) {
+            return Collections.emptyList();
+        }
+        Properties properties = PropertiesLoaderUtils.loadProperties(new EncodedResource(new FileSystemResource(index), StandardCharsets.UTF_8));
+        Set<File> files = new TreeSet<>();
+        for (String className : properties.stringPropertyNames()) {
+            // order,loadActiveProfile,location
+            String location = properties.getProperty(className).split(",", 3)[2];
+            if (!location.startsWith(ResourceLoader.CLASSPATH_URL_PREFIX)) {
+                continue;
+            }
+            File file = new File(directory, StringUtils.trimLeadingCharacter(location.substring(ResourceLoader.CLASSPATH_URL_PREFIX.length()), '/'));
+            if (!file.isFile()) {
+                continue;
+            }
+            files.add(file);
+            String prefix = StringUtils.stripFilenameExtension(file.getName()) + "-";
+            String suffix = "." + StringUtils.getFilenameExtension(file.getName());
+            File[] profiles = file.getParentFile().listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(suffix));
+            if (profiles != null) {
+                files.addAll(Arrays.asList(profiles));
+            }
+        }
+        return new ArrayList<>(files);
+    }
+}
@@ -0,0 +1,40 @@
+package com.codedreamplus.auto.properties;
+
+/**
+ * <p>Description: [配置文件加载与查找的指标]</p >
+ * Created on 2026-10-17
+ * <p>通过 spring.factories 注册实现，存在多个时使用排序后的第一个；未注册时默认使用 {@link JmxPropertySourceMetrics}。
+ * 方法会在加载线程和业务线程中并发调用，实现需要线程安全且足够轻量</p>
+ *
+ * @author mo
+ */
+public interface PropertySourceMetrics {
+    /**
+     * 不记录任何指标
+     */
+    PropertySourceMetrics NONE = new PropertySourceMetrics() {
+    };
+
+    /**
+     * 配置文件加载完成
+     *
+     * @param location     文件位置
+     * @param profiled     是否为 {文件名}-{activeProfile}.{扩展名} 的配置文件
+     * @param found        文件是否存在
+     * @param resolveNanos 查找文件的耗时，纳秒
+     * @param parseNanos   解析文件(或读取快照)的耗时，纳秒
+     * @param keyCount     key 的数量
+     */
+    default void fileLoaded(String location, boolean profiled, boolean found, long resolveNanos, long parseNanos, int keyCount) {
+    }
+
+    /**
+     * 从 PropertySource 中获取属性，只有开启 {@link CodeDreamPropertySourcePostProcessor#METRICS_LOOKUP_PROPERTY} 时才会调用
+     *
+     * @param propertySourceName PropertySource 名称
+     * @param hit                是否命中
+     * @param nanos              耗时，纳秒
+     */
+    default void lookup(String propertySourceName, boolean hit, long nanos) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.codedreamplus.auto.properties;
+
+import java.util.List;
+
+/**
+ * <p>Description: [配置文件指标的 JMX 接口]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+public interface PropertySourceMetricsMXBean {
+    /**
+     * 每个配置文件的加载情况
+     *
+     * @return 文件指标
+     */
+    List<JmxPropertySourceMetrics.FileMetrics> getFiles();
+
+    /**
+     * 每个 PropertySource 的查找情况
+     *
+     * @return 查找指标
+     */
+    List<JmxPropertySourceMetrics.LookupMetrics> getLookups();
+
+    /**
+     * 查找过的 profile 配置文件数量
+     *
+     * @return 数量
+     */
+    int getProfileVariantsProbed();
+
+    /**
+     * 存在的 profile 配置文件数量
+     *
+     * @return 数量
+     */
+    int getProfileVariantsFound();
+
+    /**
+     * 清空查找指标
+     */
+    void resetLookups();
+}
@@ -0,0 +1,361 @@
+package com.codedreamplus.auto.properties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.ResourceUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p>Description: [配置文件热加载]</p >
+ * Created on 2026-10-17
+ * <p>本地文件通过 {@link WatchService} 监听所在目录，不存在的文件、http 等非本地 URL 按间隔轮询，
+ * jar 包中的文件不会变化，不监听；只有内容(SHA-256)发生变化的文件才会重新解析，按 key 比较差异后用新的 PropertySource 替换
+ * {@link MutablePropertySources} 中的旧对象(合并模式下重建并替换 {@link CompositeCodeDreamPropertySource})，
+ * 同一批次的修改合并为一个 {@link CodeDreamPropertySourceChangedEvent}</p>
+ *
+ * @author mo
+ */
+@Slf4j
+class PropertySourceWatcher implements Closeable {
+    /**
+     * 收到文件事件后等待同一批次其他事件的时间
+     */
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    private final MutablePropertySources propertySources;
+    /**
+     * 是否注册为 {@link CompositeCodeDreamPropertySource}
+     */
+    private final boolean composite;
+    /**
+     * 注册前对 PropertySource 的包装，如记录查找指标
+     */
+    private final UnaryOperator<PropertySource<?>> decorator;
+    private final ApplicationEventPublisher publisher;
+    private final long interval;
+    private final List<Slot> slots = new ArrayList<>();
+    /**
+     * 无法通过 WatchService 监听，需要轮询的文件，如不存在的文件、非本地 URL
+     */
+    private final List<Slot> polledSlots = new ArrayList<>();
+    /**
+     * key 文件路径 -> value 对应的配置文件
+     */
+    private final Map<Path, List<Slot>> watchedFiles = new HashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running;
+
+    /**
+     * @param propertySources Environment 中的 PropertySources
+     * @param resourceLoader  ResourceLoader
+     * @param locations       配置文件，顺序与加载顺序一致
+     * @param loadedSources   启动时加载的结果，与 locations 一一对应
+     * @param composite       是否注册为 {@link CompositeCodeDreamPropertySource}
+     * @param decorator       注册前对 PropertySource 的包装
+     * @param publisher       事件发布，可以为 null
+     * @param interval        轮询间隔，毫秒
+     */
+    PropertySourceWatcher(MutablePropertySources propertySources, ResourceLoader resourceLoader, List<PropertyLocation> locations,
+                          List<List<PropertySource<?>>> loadedSources, boolean composite, UnaryOperator<PropertySource<?>> decorator,
+                          ApplicationEventPublisher publisher, long interval) {
+        this.propertySources = propertySources;
+        this.composite = composite;
+        this.decorator = decorator;
+        this.publisher = publisher;
+        this.interval = interval;
+        for (int i = 0; i < locations.size(); i++) {
+            Resource resource = resourceLoader.getResource(locations.get(i).getLocation());
+            Path file = getFile(resource);
+            boolean readOnly = file == null && isArchived(resource);
+            Slot slot = new Slot(locations.get(i), resource, file, readOnly);
+            slot.sources = loadedSources.get(i);
+            slot.hash = readOnly ? null : hash(resource);
+            slots.add(slot);
+        }
+    }
+
+    /**
+     * 启动监听线程
+     */
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("WatchService is not available, poll @CodeDreamPropertySource files every {}ms.", interval);
+        }
+        Set<Path> directories = new HashSet<>();
+        int readOnlyCount = 0;
+        for (Slot slot : slots) {
+            if (slot.readOnly) {
+                readOnlyCount++;
+                continue;
+            }
+            Path file = slot.file;
+            if (watchService == null || file == null || !Files.isDirectory(file.getParent())) {
+                polledSlots.add(slot);
+                continue;
+            }
+            try {
+                if (directories.add(file.getParent())) {
+                    file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                }
+                watchedFiles.computeIfAbsent(file, (ignored) -> new ArrayList<>()).add(slot);
+            } catch (IOException e) {
+                polledSlots.add(slot);
+            }
+        }
+        running = true;
+        thread = new Thread(this::run, "codedream-property-source-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Watching {} @CodeDreamPropertySource file(s), {} of them by polling, skipped {} archived file(s).",
+                slots.size() - readOnlyCount, polledSlots.size(), readOnlyCount);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Set<Slot> candidates = new LinkedHashSet<>(polledSlots);
+                if (watchService == null) {
+                    Thread.sleep(interval);
+                } else {
+                    WatchKey key = watchService.poll(interval, TimeUnit.MILLISECONDS);
+                    while (key != null) {
+                        collect(key, candidates);
+                        key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                }
+                refresh(candidates);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to reload @CodeDreamPropertySource files.", e);
+            }
+        }
+    }
+
+    private void collect(WatchKey key, Set<Slot> candidates) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                watchedFiles.values().forEach(candidates::addAll);
+                continue;
+            }
+            List<Slot> changed = watchedFiles.get(directory.resolve((Path) event.context()));
+            if (changed != null) {
+                candidates.addAll(changed);
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * 重新加载内容发生变化的配置文件，并发布一次变更事件
+     *
+     * @param candidates 可能发生变化的配置文件
+     */
+    private void refresh(Collection<Slot> candidates) {
+        List<String> changedLocations = new ArrayList<>();
+        Set<String> changedKeys = new TreeSet<>();
+        for (Slot slot : candidates) {
+            byte[] hash = hash(slot.resource);
+            if (Arrays.equals(hash, slot.hash)) {
+                continue;
+            }
+            slot.hash = hash;
+            List<PropertySource<?>> newSources;
+            try {
+                newSources = hash == null ? Collections.emptyList()
+                        : slot.location.getLoader().load(slot.location.getName(), slot.resource);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to reload {}, keep the previous content.", slot.location.getLocation(), e);
+                continue;
+            }
+            Set<String> keys = diff(flatten(slot.sources), flatten(newSources));
+            if (composite) {
+                slot.sources = newSources;
+            } else {
+                swap(slot, newSources);
+            }
+            if (!keys.isEmpty()) {
+                changedLocations.add(slot.location.getLocation());
+                changedKeys.addAll(keys);
+            }
+        }
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        if (composite) {
+            List<PropertySource<?>> allSources = new ArrayList<>();
+            for (Slot slot : slots) {
+                allSources.addAll(slot.sources);
+            }
+            CompositeCodeDreamPropertySource compositeSource = CompositeCodeDreamPropertySource.of(allSources);
+            if (compositeSource == null) {
+                log.warn("Failed to rebuild {}, found non-enumerable PropertySource.", CompositeCodeDreamPropertySource.NAME);
+                return;
+            }
+            propertySources.replace(CompositeCodeDreamPropertySource.NAME, decorator.apply(compositeSource));
+        }
+        log.info("Reloaded {}, {} key(s) changed.", changedLocations, changedKeys.size());
+        if (publisher != null) {
+            publisher.publishEvent(new CodeDreamPropertySourceChangedEvent(propertySources, changedLocations, changedKeys));
+        }
+    }
+
+    /**
+     * 替换 PropertySource，同名的直接替换；新增的插入到原位置，之后再移除多余的旧对象，保证替换过程中 key 不会丢失
+     */
+    private void swap(Slot slot, List<PropertySource<?>> newSources) {
+        Set<String> oldNames = new HashSet<>();
+        for (PropertySource<?> propertySource : slot.sources) {
+            oldNames.add(propertySource.getName());
+        }
+        String anchor = slot.sources.isEmpty() ? findNextAnchor(slot) : slot.sources.get(0).getName();
+        Set<String> newNames = new HashSet<>();
+        String previous = null;
+        for (PropertySource<?> newSource : newSources) {
+            PropertySource<?> propertySource = decorator.apply(newSource);
+            String name = propertySource.getName();
+            if (oldNames.contains(name) && propertySources.contains(name)) {
+                propertySources.replace(name, propertySource);
+            } else if (previous != null) {
+                propertySources.addAfter(previous, propertySource);
+            } else if (anchor != null && propertySources.contains(anchor)) {
+                propertySources.addBefore(anchor, propertySource);
+            } else {
+                propertySources.addLast(propertySource);
+            }
+            newNames.add(name);
+            previous = name;
+        }
+        for (String name : oldNames) {
+            if (!newNames.contains(name)) {
+                propertySources.remove(name);
+            }
+        }
+        slot.sources = newSources;
+    }
+
+    private String findNextAnchor(Slot slot) {
+        for (int i = slots.indexOf(slot) + 1; i < slots.size(); i++) {
+            for (PropertySource<?> propertySource : slots.get(i).sources) {
+                if (propertySources.contains(propertySource.getName())) {
+                    return propertySource.getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 合并多个文档的属性，靠前的文档优先；值统一转为字符串比较，快照与解析结果的类型不同
+     */
+    private static Map<String, String> flatten(List<PropertySource<?>> sources) {
+        Map<String, String> properties = new HashMap<>(64);
+        for (int i = sources.size() - 1; i >= 0; i--) {
+            PropertySource<?> propertySource = sources.get(i);
+            if (propertySource instanceof EnumerablePropertySource) {
+                for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                    properties.put(name, String.valueOf(propertySource.getProperty(name)));
+                }
+            }
+        }
+        return properties;
+    }
+
+    private static Set<String> diff(Map<String, String> oldProperties, Map<String, String> newProperties) {
+        Set<String> keys = new HashSet<>();
+        oldProperties.forEach((k, v) -> {
+            if (!Objects.equals(v, newProperties.get(k))) {
+                keys.add(k);
+            }
+        });
+        for (String key : newProperties.keySet()) {
+            if (!oldProperties.containsKey(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static byte[] hash(Resource resource) {
+        try {
+            return resource.exists() ? PropertySnapshot.hash(resource.getInputStream()) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Path getFile(Resource resource) {
+        try {
+            return resource.isFile() ? resource.getFile().toPath().toAbsolutePath() : null;
+        } catch (IOException | InvalidPathException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 是否为不会变化的文件：jar 包中的文件，或没有 URL、无法重复读取的资源；不存在的资源之后可能被创建，按轮询处理
+     */
+    private static boolean isArchived(Resource resource) {
+        try {
+            return ResourceUtils.isJarURL(resource.getURL());
+        } catch (IOException e) {
+            return resource.exists();
+        }
+    }
+
+    /**
+     * 一个配置文件及其当前注册的 PropertySource
+     */
+    private static final class Slot {
+        private final PropertyLocation location;
+        private final Resource resource;
+        /**
+         * 本地文件路径，不是本地文件时为 null
+         */
+        private final Path file;
+        /**
+         * 是否为不会变化的文件，如 jar 包中的文件
+         */
+        private final boolean readOnly;
+        private volatile List<PropertySource<?>> sources;
+        private byte[] hash;
+
+        private Slot(PropertyLocation location, Resource resource, Path file, boolean readOnly) {
+            this.location = location;
+            this.resource = resource;
+            this.file = file;
+            this.readOnly = readOnly;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.codedreamplus.auto.properties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * <p>Description: [流式 yaml 配置文件加载]</p >
+ * Created on 2026-10-17
+ * <p>直接消费 SnakeYAML 的解析事件，不构建文档树，也不生成中间的 LinkedHashMap，属性按
+ * spring 的规则(a.b、a[0]、[1])展开后写入 {@link CompactPropertySource}；同一层级的 key 共用一个前缀字符串，
+ * 较短的值去重，峰值内存与最终结果同一量级。支持多文档、锚点与别名、合并 key(&lt;&lt;)，
+ * 遇到复杂 key、自定义 tag 等不支持的写法时交给 spring 默认的 {@link YamlPropertySourceLoader}。
+ * 与 spring 的 YamlProcessor 一致，根节点为空(如只有 --- 的文档)的文档被跳过，不计入文档数量；
+ * 与 SnakeYAML 的 maxAliasesForCollections 一致，映射、序列的别名展开次数超过上限时抛出 {@link YAMLException}，避免别名嵌套导致的指数级展开。
+ * 与默认实现不同，属性值不记录在文件中的位置(Origin)，合并 key 引入的属性排在本层显式的 key 之后</p>
+ *
+ * @author mo
+ */
+@Slf4j
+public class StreamingYamlPropertySourceLoader implements PropertySourceLoader {
+    /**
+     * 不超过该长度的值去重
+     */
+    private static final int SHARED_VALUE_LENGTH = 32;
+    private static final String MERGE_KEY = "<<";
+    private static final String DOCUMENT_KEY = "document";
+    /**
+     * 默认的映射、序列别名展开次数上限，与 SnakeYAML 的 LoaderOptions 一致
+     */
+    public static final int DEFAULT_MAX_ALIASES_FOR_COLLECTIONS = 50;
+
+    private final PropertySourceLoader fallback = new YamlPropertySourceLoader();
+    private final int maxAliasesForCollections;
+
+    public StreamingYamlPropertySourceLoader() {
+        this(DEFAULT_MAX_ALIASES_FOR_COLLECTIONS);
+    }
+
+    /**
+     * @param maxAliasesForCollections 一个文件中映射、序列别名的最大展开次数
+     */
+    public StreamingYamlPropertySourceLoader(int maxAliasesForCollections) {
+        this.maxAliasesForCollections = maxAliasesForCollections;
+    }
+
+    @Override
+    public String[] getFileExtensions() {
+        return new String[]{"yml", "yaml"};
+    }
+
+    @Override
+    public List<PropertySource<?>> load(String name, Resource resource) throws IOException {
+        List<CompactPropertySource.Builder> documents;
+        try (Reader reader = new UnicodeReader(resource.getInputStream())) {
+            documents = new DocumentReader(new Yaml().parse(reader).iterator(), maxAliasesForCollections).read();
+        } catch (UnsupportedYamlException e) {
+            log.debug("Fall back to YamlPropertySourceLoader for {}: {}", resource, e.getMessage());
+            return fallback.load(name, resource);
+        }
+        List<PropertySource<?>> propertySources = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            String documentName = documents.size() == 1 ? name : name + " (document #" + i + ")";
+            propertySources.add(documents.get(i).build(documentName));
+        }
+        return propertySources;
+    }
+
+    /**
+     * 按事件流读取所有文档，每个节点只访问一次，锚点节点的事件会被记录以便别名重放
+     */
+    private static final class DocumentReader {
+        private final Iterator<Event> events;
+        private final Resolver resolver = new Resolver();
+        private final ScalarConstructor constructor = new ScalarConstructor();
+        /**
+         * 别名重放的事件，优先于 {@link #events} 读取
+         */
+        private final Deque<Iterator<Event>> replays = new ArrayDeque<>();
+        /**
+         * key 锚点 -> value 节点的全部事件
+         */
+        private final Map<String, List<Event>> anchors = new HashMap<>();
+        /**
+         * 正在记录的锚点节点以及合并 key 的值
+         */
+        private final List<Recorder> recorders = new ArrayList<>();
+        private final Map<String, String> sharedValues = new HashMap<>();
+        private final int maxAliasesForCollections;
+        /**
+         * 已展开的映射、序列别名数量
+         */
+        private int collectionAliases;
+        private CompactPropertySource.Builder builder;
+
+        private DocumentReader(Iterator<Event> events, int maxAliasesForCollections) {
+            this.events = events;
+            this.maxAliasesForCollections = maxAliasesForCollections;
+        }
+
+        private List<CompactPropertySource.Builder> read() {
+            List<CompactPropertySource.Builder> documents = new ArrayList<>();
+            while (events.hasNext()) {
+                Event event = next();
+                if (!event.is(Event.ID.DocumentStart)) {
+                    continue;
+                }
+                builder = new CompactPropertySource.Builder();
+                anchors.clear();
+                Event root = next();
+                // 与 spring 的 YamlProcessor 一致，空文档不生成 PropertySource
+                if (root.is(Event.ID.Scalar) && Tag.NULL.equals(tag((ScalarEvent) root))) {
+                    next();
+                    continue;
+                }
+                // 与 spring 一致，根节点不是映射时以 document 作为 key
+                node(root, root.is(Event.ID.MappingStart) ? "" : DOCUMENT_KEY, true);
+                // DocumentEnd
+                next();
+                documents.add(builder);
+            }
+            return documents;
+        }
+
+        private Event next() {
+            while (!replays.isEmpty()) {
+                Iterator<Event> replay = replays.peek();
+                if (replay.hasNext()) {
+                    return record(replay.next());
+                }
+                replays.pop();
+            }
+            return record(events.next());
+        }
+
+        /**
+         * 只记录与开始记录时处于同一来源的事件，别名展开后的事件不记录，重放时再次展开
+         */
+        private Event record(Event event) {
+            for (Recorder recorder : recorders) {
+                if (recorder.depth == replays.size()) {
+                    recorder.events.add(event);
+                }
+            }
+            return event;
+        }
+
+        private Recorder startRecording(Event first) {
+            Recorder recorder = new Recorder(replays.size());
+            recorder.events.add(first);
+            recorders.add(recorder);
+            return recorder;
+        }
+
+        /**
+         * 读取一个节点
+         *
+         * @param first     节点的第一个事件
+         * @param path      节点对应的 key，根节点为空字符串
+         * @param overwrite key 已存在时是否覆盖，合并 key 引入的属性不覆盖
+         */
+        private void node(Event first, String path, boolean overwrite) {
+            if (first.is(Event.ID.Alias)) {
+                node(replay(((AliasEvent) first).getAnchor()), path, overwrite);
+                return;
+            }
+            String anchor = ((NodeEvent) first).getAnchor();
+            Recorder recorder = anchor == null ? null : startRecording(first);
+            if (first.is(Event.ID.Scalar)) {
+                builder.put(path, value((ScalarEvent) first), overwrite);
+            } else if (first.is(Event.ID.MappingStart)) {
+                mapping(path, new HashSet<>(), overwrite, false);
+            } else if (first.is(Event.ID.SequenceStart)) {
+                sequence(path, overwrite);
+            } else {
+                throw new UnsupportedYamlException("unexpected event " + first);
+            }
+            if (recorder != null) {
+                recorders.remove(recorder);
+                anchors.put(anchor, recorder.events);
+            }
+        }
+
+        /**
+         * 读取映射，合并 key 在本层显式的 key 之后处理，只补充其中没有的 key
+         *
+         * @param keys    本层已出现的 key
+         * @param merging 是否为合并 key 引入的映射，此时已出现的 key 直接跳过
+         */
+        private void mapping(String path, Set<String> keys, boolean overwrite, boolean merging) {
+            List<List<Event>> merges = null;
+            Event event;
+            while (!(event = next()).is(Event.ID.MappingEnd)) {
+                if (isMergeKey(event)) {
+                    if (merges == null) {
+                        merges = new ArrayList<>();
+                    }
+                    merges.add(capture(next()));
+                    continue;
+                }
+                String key = key(event);
+                if (keys.add(key) || !merging) {
+                    node(next(), child(path, key), overwrite);
+                } else {
+                    skip(next());
+                }
+            }
+            if (merges != null) {
+                for (List<Event> merge : merges) {
+                    replays.push(merge.iterator());
+                    merge(next(), path, keys);
+                }
+            }
+        }
+
+        /**
+         * 合并 key 的值为映射或映射组成的序列，靠前的映射优先
+         */
+        private void merge(Event first, String path, Set<String> keys) {
+            if (first.is(Event.ID.Alias)) {
+                merge(replay(((AliasEvent) first).getAnchor()), path, keys);
+            } else if (first.is(Event.ID.SequenceStart)) {
+                Event event;
+                while (!(event = next()).is(Event.ID.SequenceEnd)) {
+                    merge(event, path, keys);
+                }
+            } else if (first.is(Event.ID.MappingStart)) {
+                mapping(path, keys, false, true);
+            } else {
+                throw new UnsupportedYamlException("merge key requires a mapping");
+            }
+        }
+
+        private boolean isMergeKey(Event event) {
+            if (!event.is(Event.ID.Scalar)) {
+                return false;
+            }
+            ScalarEvent scalar = (ScalarEvent) event;
+            return MERGE_KEY.equals(scalar.getValue()) && Tag.MERGE.equals(tag(scalar));
+        }
+
+        private void sequence(String path, boolean overwrite) {
+            int index = 0;
+            Event event;
+            while (!(event = next()).is(Event.ID.SequenceEnd)) {
+                node(event, path + "[" + index++ + "]", overwrite);
+            }
+            if (index == 0) {
+                builder.put(path, "", overwrite);
+            }
+        }
+
+        /**
+         * 读取完整节点的事件，别名展开后返回
+         */
+        private List<Event> capture(Event first) {
+            Recorder recorder = startRecording(first);
+            skip(first);
+            recorders.remove(recorder);
+            return recorder.events;
+        }
+
+        private void skip(Event first) {
+            if (first.is(Event.ID.Alias)) {
+                skip(replay(((AliasEvent) first).getAnchor()));
+                return;
+            }
+            int depth = first.is(Event.ID.MappingStart) || first.is(Event.ID.SequenceStart) ? 1 : 0;
+            while (depth > 0) {
+                Event event = next();
+                if (event.is(Event.ID.MappingStart) || event.is(Event.ID.SequenceStart)) {
+                    depth++;
+                } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+                    depth--;
+                } else if (event.is(Event.ID.Alias)) {
+                    skip(replay(((AliasEvent) event).getAnchor()));
+                }
+            }
+        }
+
+        /**
+         * 从锚点记录的事件开始重放，返回第一个事件
+         */
+        private Event replay(String anchor) {
+            List<Event> recorded = anchors.get(anchor);
+            if (recorded == null) {
+                throw new UnsupportedYamlException("unknown alias " + anchor);
+            }
+            if (!recorded.get(0).is(Event.ID.Scalar) && ++collectionAliases > maxAliasesForCollections) {
+                throw new YAMLException("Number of aliases for non-scalar nodes exceeds the specified max=" + maxAliasesForCollections);
+            }
+            replays.push(recorded.iterator());
+            return next();
+        }
+
+        /**
+         * 与 spring 的 YamlProcessor 一致，非字符串的 key 写作 [key]
+         */
+        private String key(Event event) {
+            if (!event.is(Event.ID.Scalar)) {
+                throw new UnsupportedYamlException("complex key " + event);
+            }
+            ScalarEvent scalar = (ScalarEvent) event;
+            Tag tag = tag(scalar);
+            if (Tag.STR.equals(tag)) {
+                return scalar.getValue();
+            }
+            return "[" + constructor.construct(tag, scalar) + "]";
+        }
+
+        private static String child(String path, String key) {
+            if (path.isEmpty()) {
+                return key;
+            }
+            return key.startsWith("[") ? path + key : path + "." + key;
+        }
+
+        private Object value(ScalarEvent scalar) {
+            Tag tag = tag(scalar);
+            if (Tag.STR.equals(tag)) {
+                String value = scalar.getValue();
+                return value.length() > SHARED_VALUE_LENGTH ? value : sharedValues.computeIfAbsent(value, (ignored) -> value);
+            }
+            if (Tag.NULL.equals(tag)) {
+                return "";
+            }
+            return constructor.construct(tag, scalar);
+        }
+
+        private Tag tag(ScalarEvent scalar) {
+            String tag = scalar.getTag();
+            if (tag != null && !"!".equals(tag)) {
+                return new Tag(tag);
+            }
+            if (!scalar.getImplicit().canOmitTagInPlainScalar() || tag != null) {
+                return Tag.STR;
+            }
+            // 与 spring 一致，未显式声明 tag 的日期按字符串处理
+            Tag resolved = resolver.resolve(NodeId.scalar, scalar.getValue(), true);
+            return Tag.TIMESTAMP.equals(resolved) ? Tag.STR : resolved;
+        }
+    }
+
+    /**
+     * 记录一个节点的事件
+     */
+    private static final class Recorder {
+        /**
+         * 开始记录时的别名重放层数
+         */
+        private final int depth;
+        private final List<Event> events = new ArrayList<>();
+
+        private Recorder(int depth) {
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * 使用 SnakeYAML 的规则构造 int、float、bool 等标量
+     */
+    private static final class ScalarConstructor extends SafeConstructor {
+        private static final Set<Tag> SUPPORTED_TAGS = new HashSet<>(Arrays.asList(Tag.STR, Tag.INT, Tag.FLOAT, Tag.BOOL, Tag.NULL, Tag.TIMESTAMP));
+
+        private Object construct(Tag tag, ScalarEvent scalar) {
+            if (!SUPPORTED_TAGS.contains(tag)) {
+                throw new UnsupportedYamlException("unsupported tag " + tag);
+            }
+            DumperOptions.ScalarStyle style = scalar.getScalarStyle();
+            return constructObject(new ScalarNode(tag, scalar.getValue(), scalar.getStartMark(), scalar.getEndMark(), style));
+        }
+    }
+
+    /**
+     * 无法流式处理，交给默认实现
+     */
+    private static final class UnsupportedYamlException extends RuntimeException {
+        private UnsupportedYamlException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.PropertySourcesPropertyResolver;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * <p>Description: [配置文件加载]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class CodeDreamPropertySourceLoaderTest {
+    private static final int FILE_COUNT = 8;
+
+    @TempDir
+    Path temp;
+
+    /**
+     * 并发加载时靠前的文件最后完成，结果的顺序以及 key 重复时的取值仍与依次加载一致，不存在的文件返回空集合
+     */
+    @Test
+    void keepsOrderWhenLoadingConcurrently() throws IOException {
+        List<PropertyLocation> locations = new ArrayList<>();
+        for (int i = 0; i < FILE_COUNT; i++) {
+            Path file = temp.resolve("file" + i + ".properties");
+            if (i != 3) {
+                Files.write(file, ("shared=" + i + "\nown." + i + "=" + i + "\nodd=" + (i % 2 == 1 ? i : "") + "\n").getBytes(UTF_8));
+            }
+            locations.add(new PropertyLocation(file.toUri().toString(), new PropertiesPropertySourceLoader(), i % 2 == 1));
+        }
+        CodeDreamPropertySourceLoader loader = new CodeDreamPropertySourceLoader(new DefaultResourceLoader() {
+            @Override
+            public Resource getResource(String location) {
+                // 越靠前的文件查找越慢
+                int index = location.charAt(location.lastIndexOf(".properties") - 1) - '0';
+                sleep(FILE_COUNT - index);
+                return super.getResource(location);
+            }
+        }, false, false, PropertySourceMetrics.NONE);
+
+        List<List<PropertySource<?>>> sequential = loader.loadAll(locations, 1);
+        List<List<PropertySource<?>>> concurrent = loader.loadAll(locations, FILE_COUNT);
+        assertEquals(names(sequential), names(concurrent));
+        assertEquals(0, concurrent.get(3).size());
+
+        PropertySourcesPropertyResolver resolver = resolver(concurrent);
+        assertEquals("0", resolver.getProperty("shared"));
+        assertEquals("", resolver.getProperty("odd"));
+        for (int i = 0; i < FILE_COUNT; i++) {
+            assertEquals(i == 3 ? null : String.valueOf(i), resolver.getProperty("own." + i));
+        }
+    }
+
+    private static List<String> names(List<List<PropertySource<?>>> loaded) {
+        List<String> names = new ArrayList<>();
+        loaded.forEach(propertySources -> propertySources.forEach(propertySource -> names.add(propertySource.getName())));
+        return names;
+    }
+
+    private static PropertySourcesPropertyResolver resolver(List<List<PropertySource<?>>> loaded) {
+        MutablePropertySources propertySources = new MutablePropertySources();
+        loaded.forEach(list -> list.forEach(propertySources::addLast));
+        return new PropertySourcesPropertyResolver(propertySources);
+    }
+
+    private static void sleep(int millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis * 5L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Description: [合并后的 PropertySource 与前缀索引]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class CompositeCodeDreamPropertySourceTest {
+
+    @Test
+    void enumeratesByPrefix() {
+        CompositeCodeDreamPropertySource composite = composite(canonical());
+
+        assertEquals("high", composite.getProperty("spring.datasource.url"));
+        assertArrayEquals(new String[]{"spring.datasource.password", "spring.datasource.url", "spring.datasource.username"},
+                composite.getPropertyNames("spring.datasource."));
+        assertArrayEquals(new String[0], composite.getPropertyNames("spring.jpa."));
+        assertTrue(composite.containsPrefix("spring.datasourcex."));
+        assertFalse(composite.containsPrefix("spring.data."));
+        assertEquals(7, composite.getPropertyNames().length);
+    }
+
+    /**
+     * 判断子属性时使用前缀索引，结果与 spring boot 的默认适配一致，可以直接用于 Binder
+     */
+    @Test
+    void bindsThroughPrefixIndex() {
+        CompositeCodeDreamPropertySource composite = composite(canonical());
+        IterableConfigurationPropertySource source = composite.getConfigurationPropertySource();
+        assertTrue(composite.isCanonical());
+
+        assertEquals(ConfigurationPropertyState.PRESENT, source.containsDescendantOf(ConfigurationPropertyName.of("spring.datasource")));
+        assertEquals(ConfigurationPropertyState.ABSENT, source.containsDescendantOf(ConfigurationPropertyName.of("spring.data")));
+        ConfigurationPropertySource defaults = ConfigurationPropertySources.from(composite).iterator().next();
+        for (String name : Arrays.asList("", "spring", "spring.datasource", "spring.datasource.url", "spring.data", "spring.datasourcex",
+                "servers", "servers[0]", "server", "missing")) {
+            ConfigurationPropertyName propertyName = ConfigurationPropertyName.of(name);
+            assertEquals(defaults.containsDescendantOf(propertyName), source.containsDescendantOf(propertyName), name);
+        }
+
+        Binder binder = new Binder(source);
+        Map<String, String> datasource = binder.bind("spring.datasource", Bindable.mapOf(String.class, String.class)).get();
+        assertEquals("high", datasource.get("url"));
+        assertEquals("low", datasource.get("username"));
+        assertEquals(Arrays.asList("a", "b"), binder.bind("servers", Bindable.listOf(String.class)).get());
+        assertFalse(binder.bind("spring.jpa", Bindable.mapOf(String.class, String.class)).isBound());
+    }
+
+    /**
+     * 存在驼峰等非规范形式的 key 时按 spring boot 的宽松规则判断
+     */
+    @Test
+    void fallsBackForNonCanonicalKeys() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("my.camelCase.value", "v");
+        CompositeCodeDreamPropertySource composite = composite(Collections.singletonList(new MapPropertySource("camel", properties)));
+        assertFalse(composite.isCanonical());
+
+        IterableConfigurationPropertySource source = composite.getConfigurationPropertySource();
+        assertEquals(ConfigurationPropertyState.PRESENT, source.containsDescendantOf(ConfigurationPropertyName.of("my.camel-case")));
+        assertEquals("v", new Binder(source).bind("my.camel-case.value", String.class).get());
+    }
+
+    private static List<PropertySource<?>> canonical() {
+        Map<String, Object> high = new LinkedHashMap<>();
+        high.put("spring.datasource.url", "high");
+        high.put("spring.datasource.password", "secret");
+        high.put("servers[0]", "a");
+        Map<String, Object> low = new LinkedHashMap<>();
+        low.put("spring.datasource.url", "low");
+        low.put("spring.datasource.username", "low");
+        low.put("spring.datasourcex.other", "x");
+        low.put("servers[1]", "b");
+        low.put("server.port", "8080");
+        return Arrays.asList(new MapPropertySource("high", high), new MapPropertySource("low", low));
+    }
+
+    private static CompositeCodeDreamPropertySource composite(List<PropertySource<?>> sources) {
+        CompositeCodeDreamPropertySource composite = CompositeCodeDreamPropertySource.of(sources);
+        assertNotNull(composite);
+        return composite;
+    }
+}
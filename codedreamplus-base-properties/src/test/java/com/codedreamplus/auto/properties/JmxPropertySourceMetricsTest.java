@@ -0,0 +1,79 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Description: [基于 JMX 的配置文件指标]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class JmxPropertySourceMetricsTest {
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    /**
+     * 每个 context 注册自己的 MBean，名称包含 context id；关闭 context 时只注销自己注册的 MBean
+     */
+    @Test
+    void registersMBeanPerContext() throws Exception {
+        GenericApplicationContext first = context("metrics-first");
+        GenericApplicationContext second = context("metrics-second");
+        try {
+            first.refresh();
+            second.refresh();
+            ObjectName firstName = getObjectName("metrics-first");
+            ObjectName secondName = getObjectName("metrics-second");
+            assertNotEquals(firstName, secondName);
+            assertEquals("1", first.getEnvironment().getProperty("metrics.first"));
+
+            CompositeData[] files = (CompositeData[]) server.getAttribute(firstName, "Files");
+            assertEquals(1, files.length);
+            assertEquals("classpath:codedream-metrics.properties", files[0].get("location"));
+            assertEquals(true, files[0].get("found"));
+            assertEquals(2, files[0].get("keyCount"));
+            assertEquals(0, server.getAttribute(firstName, "ProfileVariantsProbed"));
+
+            first.close();
+            assertFalse(server.isRegistered(firstName));
+            assertTrue(server.isRegistered(secondName));
+            second.close();
+            assertFalse(server.isRegistered(secondName));
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+    private GenericApplicationContext context(String id) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.setId(id);
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                Collections.singletonMap(CodeDreamPropertySourcePostProcessor.METRICS_PROPERTY, "true")));
+        context.registerBean(CodeDreamPropertySourcePostProcessor.class);
+        context.registerBean(MetricsConfig.class);
+        return context;
+    }
+
+    private ObjectName getObjectName(String contextId) throws Exception {
+        Set<ObjectName> names = new TreeSet<>(server.queryNames(new ObjectName(JmxPropertySourceMetrics.OBJECT_NAME
+                + ",context=" + ObjectName.quote(contextId) + ",*"), null));
+        assertEquals(1, names.size(), names.toString());
+        return names.iterator().next();
+    }
+
+    @CodeDreamPropertySource("classpath:codedream-metrics.properties")
+    static class MetricsConfig {
+    }
+}
@@ -0,0 +1,92 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Description: [延迟加载的配置文件]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class LazyPropertySourceTest {
+    @TempDir
+    Path temp;
+
+    /**
+     * 与 spring boot 应用一样附加 ConfigurationPropertySources：被优先级更高的 PropertySource 命中的查找、
+     * 绑定时判断是否存在子属性都不会打开文件，查找到达时只加载一次；未命中的查找到达了所有文件，因此会加载全部文件
+     */
+    @Test
+    void opensFileOnlyWhenLookupReachesIt() throws IOException {
+        Path first = Files.write(temp.resolve("first.properties"), "first.key=first".getBytes(UTF_8));
+        Path second = Files.write(temp.resolve("second.properties"), "second.key=second".getBytes(UTF_8));
+        Set<String> opened = ConcurrentHashMap.newKeySet();
+        CodeDreamPropertySourceLoader loader = new CodeDreamPropertySourceLoader(new DefaultResourceLoader() {
+            @Override
+            public Resource getResource(String location) {
+                opened.add(location);
+                return super.getResource(location);
+            }
+        }, false, false, PropertySourceMetrics.NONE);
+
+        StandardEnvironment environment = new StandardEnvironment();
+        MutablePropertySources propertySources = environment.getPropertySources();
+        propertySources.addLast(new MapPropertySource("application", Collections.singletonMap("app.key", "app")));
+        LazyPropertySource firstSource = lazy(loader, first);
+        LazyPropertySource secondSource = lazy(loader, second);
+        propertySources.addLast(firstSource);
+        propertySources.addLast(secondSource);
+        ConfigurationPropertySources.attach(environment);
+
+        assertEquals("app", environment.getProperty("app.key"));
+        for (ConfigurationPropertySource source : ConfigurationPropertySources.get(environment)) {
+            source.containsDescendantOf(ConfigurationPropertyName.of("first"));
+        }
+        assertTrue(opened.isEmpty());
+        assertFalse(firstSource.isLoaded());
+
+        assertEquals("first", environment.getProperty("first.key"));
+        assertEquals(Collections.singleton(location(first)), opened);
+        assertTrue(firstSource.isLoaded());
+        assertFalse(secondSource.isLoaded());
+
+        assertEquals("first", environment.getProperty("first.key"));
+        assertEquals(1, opened.size());
+
+        assertNull(environment.getProperty("missing.key"));
+        assertTrue(secondSource.isLoaded());
+        assertEquals(2, opened.size());
+        assertEquals("second", environment.getProperty("second.key"));
+        assertEquals(2, opened.size());
+    }
+
+    private static LazyPropertySource lazy(CodeDreamPropertySourceLoader loader, Path file) {
+        PropertyLocation location = new PropertyLocation(location(file), new PropertiesPropertySourceLoader(), false);
+        return new LazyPropertySource(location, loader, UnaryOperator.identity());
+    }
+
+    private static String location(Path file) {
+        return file.toUri().toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.UrlResource;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Description: [已解析配置文件的 JVM 级缓存]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class ParsedPropertySourceCacheTest {
+    @TempDir
+    Path temp;
+
+    @AfterEach
+    void reset() {
+        ParsedPropertySourceCache.setMaximumSize(ParsedPropertySourceCache.DEFAULT_MAXIMUM_SIZE);
+        ParsedPropertySourceCache.clear();
+    }
+
+    /**
+     * 本地文件按修改时间与大小判断是否变化：不同的加载器(不同容器)复用同一个解析结果，文件修改后重新解析
+     */
+    @Test
+    void reusesParsedFileUntilModified() throws IOException {
+        Path file = Files.write(temp.resolve("cached.properties"), "cached.key=before".getBytes(UTF_8));
+        CountingLoader loader = new CountingLoader();
+        PropertyLocation location = location(file, loader);
+
+        List<PropertySource<?>> first = newLoader(new DefaultResourceLoader()).load(location);
+        List<PropertySource<?>> second = newLoader(new DefaultResourceLoader()).load(location);
+        assertEquals(1, loader.count.get());
+        assertSame(first.get(0), second.get(0));
+
+        Files.write(file, "cached.key=after!".getBytes(UTF_8));
+        // 内容长度不变，只有修改时间不同
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        List<PropertySource<?>> modified = newLoader(new DefaultResourceLoader()).load(location);
+        assertEquals(2, loader.count.get());
+        assertEquals("after!", String.valueOf(modified.get(0).getProperty("cached.key")));
+    }
+
+    /**
+     * 非本地文件按内容判断是否变化，内容不变时修改时间变化同样命中
+     */
+    @Test
+    void keysNonFileResourceByContent() throws IOException {
+        Path file = Files.write(temp.resolve("remote.properties"), "remote.key=before".getBytes(UTF_8));
+        CountingLoader loader = new CountingLoader();
+        PropertyLocation location = location(file, loader);
+        ResourceLoader resourceLoader = new DefaultResourceLoader() {
+            @Override
+            public Resource getResource(String location) {
+                try {
+                    return new UrlResource(location) {
+                        @Override
+                        public boolean isFile() {
+                            return false;
+                        }
+                    };
+                } catch (MalformedURLException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            }
+        };
+
+        newLoader(resourceLoader).load(location);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000000000000L));
+        newLoader(resourceLoader).load(location);
+        assertEquals(1, loader.count.get());
+
+        Files.write(file, "remote.key=after".getBytes(UTF_8));
+        assertEquals("after", String.valueOf(newLoader(resourceLoader).load(location).get(0).getProperty("remote.key")));
+        assertEquals(2, loader.count.get());
+    }
+
+    /**
+     * 超过上限时淘汰最久未使用的条目；可修改的 PropertySource 不缓存
+     */
+    @Test
+    void evictsLeastRecentlyUsedAndSkipsMutableSources() throws IOException {
+        ParsedPropertySourceCache.setMaximumSize(2);
+        CountingLoader loader = new CountingLoader();
+        PropertyLocation a = location(Files.write(temp.resolve("a.properties"), "a=1".getBytes(UTF_8)), loader);
+        PropertyLocation b = location(Files.write(temp.resolve("b.properties"), "b=1".getBytes(UTF_8)), loader);
+        PropertyLocation c = location(Files.write(temp.resolve("c.properties"), "c=1".getBytes(UTF_8)), loader);
+        CodeDreamPropertySourceLoader propertySourceLoader = newLoader(new DefaultResourceLoader());
+        propertySourceLoader.load(a);
+        propertySourceLoader.load(b);
+        propertySourceLoader.load(a);
+        propertySourceLoader.load(c);
+        assertEquals(3, loader.count.get());
+        // b 最久未使用，已被淘汰
+        propertySourceLoader.load(a);
+        propertySourceLoader.load(b);
+        assertEquals(4, loader.count.get());
+
+        MutableLoader mutableLoader = new MutableLoader();
+        PropertyLocation mutable = location(Files.write(temp.resolve("mutable.properties"), "m=1".getBytes(UTF_8)), mutableLoader);
+        propertySourceLoader.load(mutable);
+        propertySourceLoader.load(mutable);
+        assertEquals(2, mutableLoader.count.get());
+    }
+
+    private static CodeDreamPropertySourceLoader newLoader(ResourceLoader resourceLoader) {
+        return new CodeDreamPropertySourceLoader(resourceLoader, false, true, PropertySourceMetrics.NONE);
+    }
+
+    private static PropertyLocation location(Path file, PropertiesPropertySourceLoader loader) {
+        return new PropertyLocation(file.toUri().toString(), loader, false);
+    }
+
+    /**
+     * 记录解析次数
+     */
+    private static class CountingLoader extends PropertiesPropertySourceLoader {
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public List<PropertySource<?>> load(String name, Resource resource) throws IOException {
+            count.incrementAndGet();
+            return super.load(name, resource);
+        }
+    }
+
+    /**
+     * 返回可修改的 PropertySource
+     */
+    private static class MutableLoader extends CountingLoader {
+        @Override
+        public List<PropertySource<?>> load(String name, Resource resource) throws IOException {
+            count.incrementAndGet();
+            return Collections.singletonList(new MapPropertySource(name, Collections.singletonMap("m", "1")));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * <p>Description: [占位符解析结果缓存的失效]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class PlaceholderCacheTest {
+    /**
+     * 在优先级更高的 PropertySource 中找到的 key(包括嵌套引用)同样记录为依赖
+     */
+    @Test
+    void invalidatesKeysResolvedFromOtherSources() {
+        StandardEnvironment environment = new StandardEnvironment();
+        Map<String, Object> application = new HashMap<>();
+        application.put("server.address", "${server.host}:8080");
+        application.put("server.host", "a");
+        environment.getPropertySources().addFirst(new MapPropertySource("application", application));
+        PlaceholderCache cache = new PlaceholderCache(environment);
+        environment.getPropertySources().addLast(PlaceholderResolvingPropertySource.wrap(new MapPropertySource("codedream",
+                Collections.singletonMap("service.url", "http://${server.address}")), cache));
+
+        assertEquals("http://a:8080", environment.getProperty("service.url"));
+        assertEquals(1, cache.size());
+
+        application.put("server.host", "b");
+        assertEquals("http://a:8080", environment.getProperty("service.url"));
+        cache.invalidate(Collections.singleton("server.host"));
+        assertEquals(0, cache.size());
+        assertEquals("http://b:8080", environment.getProperty("service.url"));
+
+        application.put("server.host", "c");
+        cache.invalidateAll();
+        assertEquals("http://c:8080", environment.getProperty("service.url"));
+    }
+
+    /**
+     * 解析结果会随缓存失效而变化，binder 不能缓存
+     */
+    @Test
+    void isNeverImmutable() {
+        PlaceholderCache cache = new PlaceholderCache(new StandardEnvironment());
+        PlaceholderResolvingPropertySource propertySource = (PlaceholderResolvingPropertySource) PlaceholderResolvingPropertySource.wrap(
+                new MapPropertySource("codedream", Collections.singletonMap("key", "value")), cache);
+        assertFalse(propertySource.isImmutable());
+    }
+}
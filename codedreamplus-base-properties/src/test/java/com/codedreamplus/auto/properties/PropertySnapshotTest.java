@@ -0,0 +1,151 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Description: [配置文件快照的读写]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class PropertySnapshotTest {
+    private static final byte[] HASH = new byte[32];
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void roundTripsEmptySnapshot() throws IOException {
+        assertEquals(Collections.emptyList(), read(write(Collections.emptyList())));
+
+        List<PropertySource<?>> propertySources = read(write(Collections.singletonList(
+                new MapPropertySource("empty", Collections.emptyMap()))));
+        assertEquals(1, propertySources.size());
+        EnumerablePropertySource<?> document = (EnumerablePropertySource<?>) propertySources.get(0);
+        assertArrayEquals(new String[0], document.getPropertyNames());
+        assertNull(document.getProperty("missing"));
+    }
+
+    @Test
+    void roundTripsUnicodeKeysAndValues() throws IOException {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("名称", "配置中心");
+        properties.put("emoji.😀", "🚀 rocket");
+        properties.put("café", "naïve");
+        properties.put("ascii", "");
+        EnumerablePropertySource<?> document = single(read(write(Collections.singletonList(new MapPropertySource("unicode", properties)))));
+
+        properties.forEach((key, value) -> assertEquals(value, document.getProperty(key), key));
+        assertEquals(new TreeSet<>(properties.keySet()), new TreeSet<>(Arrays.asList(document.getPropertyNames())));
+        assertNull(document.getProperty("名"));
+    }
+
+    /**
+     * yaml 解析出的值类型与行号列号写入快照
+     */
+    @Test
+    void keepsValueTypesAndOrigins() throws IOException {
+        Path file = Files.write(temp.resolve("application.yml"), ("server:\n  port: 8080\n  enabled: true\n"
+                + "  ratio: 0.5\n  big: 12345678901234567890\n  name: demo\n").getBytes(UTF_8));
+        Resource resource = new FileSystemResource(file);
+        List<EnumerablePropertySource<?>> documents = new ArrayList<>();
+        for (PropertySource<?> propertySource : new YamlPropertySourceLoader().load("application.yml", resource)) {
+            documents.add((EnumerablePropertySource<?>) propertySource);
+        }
+        byte[] bytes = write(documents);
+        EnumerablePropertySource<?> document = single(PropertySnapshot.read("application", HASH, snapshot(bytes), resource));
+
+        assertEquals(8080, document.getProperty("server.port"));
+        assertEquals(Boolean.TRUE, document.getProperty("server.enabled"));
+        assertEquals(0.5, document.getProperty("server.ratio"));
+        assertEquals(new BigInteger("12345678901234567890"), document.getProperty("server.big"));
+        assertEquals("demo", document.getProperty("server.name"));
+        TextResourceOrigin origin = (TextResourceOrigin) OriginLookup.getOrigin(document, "server.port");
+        assertEquals(resource, origin.getResource());
+        assertEquals(1, origin.getLocation().getLine());
+        assertEquals(OriginLookup.getOrigin(documents.get(0), "server.port").toString(), origin.toString());
+    }
+
+    /**
+     * 截断、损坏的快照以及与配置文件不匹配的快照都返回 null，不会抛出异常
+     */
+    @Test
+    void rejectsCorruptedSnapshots() throws IOException {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            properties.put("key." + i, "value-" + i);
+        }
+        byte[] bytes = write(Collections.singletonList(new MapPropertySource("document", properties)));
+        assertNotNull(read(bytes));
+
+        for (int length = 0; length < bytes.length; length++) {
+            assertNull(read(Arrays.copyOf(bytes, length)), "truncated to " + length);
+        }
+        assertNull(read(Arrays.copyOf(bytes, bytes.length + 1)));
+
+        byte[] magic = bytes.clone();
+        magic[0] ^= 1;
+        assertNull(read(magic));
+
+        byte[] offset = bytes.clone();
+        // 第一项的 value 长度
+        ByteBuffer.wrap(offset).putInt(4 + 2 + 32 + 4 + 4 + 12, Integer.MAX_VALUE);
+        assertNull(read(offset));
+
+        byte[] count = bytes.clone();
+        ByteBuffer.wrap(count).putInt(4 + 2 + 32, Integer.MAX_VALUE);
+        assertNull(read(count));
+
+        byte[] hash = new byte[32];
+        hash[0] = 1;
+        assertNull(PropertySnapshot.read("document", hash, snapshot(bytes), null));
+    }
+
+    private static byte[] write(List<? extends EnumerablePropertySource<?>> documents) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PropertySnapshot.write(HASH, documents, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * 同时按堆内存与内存映射两种方式读取，结果应当一致
+     */
+    private List<PropertySource<?>> read(byte[] bytes) throws IOException {
+        List<PropertySource<?>> heap = PropertySnapshot.read("document", HASH, snapshot(bytes), null);
+        Path file = Files.write(Files.createTempFile(temp, "snapshot", PropertySnapshot.EXTENSION), bytes);
+        List<PropertySource<?>> mapped = PropertySnapshot.read("document", HASH, new FileSystemResource(file), null);
+        assertEquals(heap == null, mapped == null);
+        return mapped;
+    }
+
+    private static Resource snapshot(byte[] bytes) {
+        return new ByteArrayResource(bytes);
+    }
+
+    private static EnumerablePropertySource<?> single(List<PropertySource<?>> propertySources) {
+        assertNotNull(propertySources);
+        assertEquals(1, propertySources.size());
+        return (EnumerablePropertySource<?>) propertySources.get(0);
+    }
+}
@@ -0,0 +1,138 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.UrlResource;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Description: [配置文件热加载]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class PropertySourceWatcherTest {
+    @TempDir
+    Path temp;
+
+    /**
+     * 修改本地文件后只替换该文件对应的 PropertySource，原位置不变，事件中只包含变化的 key
+     */
+    @Test
+    void swapsModifiedFile() throws Exception {
+        Path first = Files.write(temp.resolve("first.properties"), "shared=first\nfirst.key=1\nfirst.same=same".getBytes(UTF_8));
+        Path second = Files.write(temp.resolve("second.properties"), "shared=second\nsecond.key=2".getBytes(UTF_8));
+        List<PropertyLocation> locations = Arrays.asList(location(first), location(second));
+        ResourceLoader resourceLoader = new DefaultResourceLoader();
+        List<List<PropertySource<?>>> loadedSources = load(resourceLoader, locations);
+        MutablePropertySources propertySources = new MutablePropertySources();
+        propertySources.addLast(new MapPropertySource("application", Collections.singletonMap("app.key", "app")));
+        loadedSources.forEach(sources -> sources.forEach(propertySources::addLast));
+        PropertySource<?> secondSource = propertySources.get(locations.get(1).getName());
+
+        BlockingQueue<CodeDreamPropertySourceChangedEvent> events = new LinkedBlockingQueue<>();
+        try (PropertySourceWatcher watcher = new PropertySourceWatcher(propertySources, resourceLoader, locations,
+                loadedSources, false, UnaryOperator.identity(), event -> events.add((CodeDreamPropertySourceChangedEvent) event), 50)) {
+            watcher.start();
+            Files.write(first, "shared=changed\nfirst.same=same\nfirst.added=3".getBytes(UTF_8));
+
+            CodeDreamPropertySourceChangedEvent event = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals(Collections.singletonList(locations.get(0).getLocation()), event.getLocations());
+            assertEquals(new HashSet<>(Arrays.asList("shared", "first.key", "first.added")), event.getChangedKeys());
+        }
+        assertEquals(Arrays.asList("application", locations.get(0).getName(), locations.get(1).getName()), names(propertySources));
+        PropertySource<?> firstSource = propertySources.get(locations.get(0).getName());
+        assertNotSame(loadedSources.get(0).get(0), firstSource);
+        assertEquals("changed", firstSource.getProperty("shared"));
+        assertEquals("3", firstSource.getProperty("first.added"));
+        assertNull(firstSource.getProperty("first.key"));
+        assertSame(secondSource, propertySources.get(locations.get(1).getName()));
+    }
+
+    /**
+     * 非本地 URL 无法使用 WatchService，按内容摘要轮询；合并模式下重建并替换合并后的 PropertySource
+     */
+    @Test
+    void pollsNonFileUrl() throws Exception {
+        Path file = Files.write(temp.resolve("remote.properties"), "remote.key=before".getBytes(UTF_8));
+        List<PropertyLocation> locations = Collections.singletonList(location(file));
+        ResourceLoader resourceLoader = new DefaultResourceLoader() {
+            @Override
+            public Resource getResource(String location) {
+                try {
+                    return new RemoteResource(location);
+                } catch (MalformedURLException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            }
+        };
+        List<List<PropertySource<?>>> loadedSources = load(resourceLoader, locations);
+        MutablePropertySources propertySources = new MutablePropertySources();
+        propertySources.addLast(CompositeCodeDreamPropertySource.of(loadedSources.get(0)));
+
+        BlockingQueue<CodeDreamPropertySourceChangedEvent> events = new LinkedBlockingQueue<>();
+        try (PropertySourceWatcher watcher = new PropertySourceWatcher(propertySources, resourceLoader, locations,
+                loadedSources, true, UnaryOperator.identity(), event -> events.add((CodeDreamPropertySourceChangedEvent) event), 50)) {
+            watcher.start();
+            Files.write(file, "remote.key=after".getBytes(UTF_8));
+
+            CodeDreamPropertySourceChangedEvent event = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals(Collections.singleton("remote.key"), event.getChangedKeys());
+        }
+        assertEquals("after", propertySources.get(CompositeCodeDreamPropertySource.NAME).getProperty("remote.key"));
+    }
+
+    private static List<List<PropertySource<?>>> load(ResourceLoader resourceLoader, List<PropertyLocation> locations) throws IOException {
+        List<List<PropertySource<?>>> loadedSources = new ArrayList<>();
+        for (PropertyLocation location : locations) {
+            Resource resource = resourceLoader.getResource(location.getLocation());
+            loadedSources.add(location.getLoader().load(location.getName(), resource));
+        }
+        return loadedSources;
+    }
+
+    private static List<String> names(MutablePropertySources propertySources) {
+        List<String> names = new ArrayList<>();
+        propertySources.forEach(propertySource -> names.add(propertySource.getName()));
+        return names;
+    }
+
+    private static PropertyLocation location(Path file) {
+        return new PropertyLocation(file.toUri().toString(), new PropertiesPropertySourceLoader(), false);
+    }
+
+    /**
+     * 模拟 http 等非本地文件的 URL
+     */
+    private static final class RemoteResource extends UrlResource {
+        private RemoteResource(String location) throws MalformedURLException {
+            super(location);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.codedreamplus.auto.properties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.IOException;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Description: [流式 yaml 加载与 spring 默认实现的结果对比]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class StreamingYamlPropertySourceLoaderTest {
+
+    @Test
+    void matchesDefaultLoaderForMultipleDocuments() throws IOException {
+        assertSameAsDefault("server:\n  port: 8080\n---\nspring:\n  profiles: dev\nserver:\n  port: 9090\n"
+                + "---\nplain scalar\n---\n- a\n- b\n");
+    }
+
+    @Test
+    void matchesDefaultLoaderForAnchorsAndMergeKeys() throws IOException {
+        assertSameAsDefault("defaults: &defaults\n  timeout: 30\n  retry:\n    max: 3\n    delay: 1.5\n"
+                + "primary:\n  <<: *defaults\n  timeout: 10\n"
+                + "secondary:\n  <<: [*defaults, {extra: true}]\n"
+                + "hosts: &hosts [a, b]\nbackup:\n  hosts: *hosts\n  name: &name backup\n  alias: *name\n");
+    }
+
+    @Test
+    void matchesDefaultLoaderForLists() throws IOException {
+        assertSameAsDefault("servers:\n  - host: a\n    port: 1\n  - host: b\n    ports: [2, 3]\n"
+                + "  - [nested, list]\nempty: []\nnothing:\nflags: {on: yes, off: no}\n1: numeric key\n");
+    }
+
+    /**
+     * 与 spring 的 YamlProcessor 一致，空文档被跳过，不计入文档数量(spring boot 2.2 的默认实现会生成 document="")
+     */
+    @Test
+    void skipsEmptyDocuments() throws IOException {
+        List<PropertySource<?>> single = new StreamingYamlPropertySourceLoader().load("test", resource("---\n---\na: 1\n---\n~\n---\n"));
+        assertEquals(Collections.singletonList("test"), names(single));
+        assertEquals(Collections.singletonMap("a", 1), properties(single.get(0)));
+
+        List<PropertySource<?>> multiple = new StreamingYamlPropertySourceLoader().load("test", resource("---\na: 1\n---\nb: 2\n---\n"));
+        assertEquals(Arrays.asList("test (document #0)", "test (document #1)"), names(multiple));
+        assertEquals(Collections.singletonMap("b", 2), properties(multiple.get(1)));
+
+        assertEquals(Collections.emptyList(), new StreamingYamlPropertySourceLoader().load("empty", resource("---\n")));
+        assertEquals(Collections.emptyList(), new StreamingYamlPropertySourceLoader().load("empty", resource("")));
+    }
+
+    /**
+     * 别名嵌套展开超过上限时失败，不会指数级展开
+     */
+    @Test
+    void limitsAliasExpansion() throws IOException {
+        StringBuilder yaml = new StringBuilder("a0: &a0 [x, x]\n");
+        for (int i = 1; i < 20; i++) {
+            yaml.append('a').append(i).append(": &a").append(i).append(" [*a").append(i - 1).append(", *a").append(i - 1).append("]\n");
+        }
+        YAMLException exception = assertThrows(YAMLException.class,
+                () -> new StreamingYamlPropertySourceLoader().load("laughs", resource(yaml.toString())));
+        assertTrue(exception.getMessage().contains("max=50"));
+
+        assertEquals(1, new StreamingYamlPropertySourceLoader(2).load("aliases", resource("a: &a [x]\nb: *a\nc: *a\n")).size());
+        assertThrows(YAMLException.class, () -> new StreamingYamlPropertySourceLoader(1).load("aliases", resource("a: &a [x]\nb: *a\nc: *a\n")));
+    }
+
+    private static void assertSameAsDefault(String yaml) throws IOException {
+        List<PropertySource<?>> expected = new YamlPropertySourceLoader().load("test", resource(yaml));
+        List<PropertySource<?>> actual = new StreamingYamlPropertySourceLoader().load("test", resource(yaml));
+        assertEquals(names(expected), names(actual));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(properties(expected.get(i)), properties(actual.get(i)), "document #" + i);
+        }
+    }
+
+    private static List<String> names(List<PropertySource<?>> propertySources) {
+        List<String> names = new ArrayList<>();
+        propertySources.forEach(propertySource -> names.add(propertySource.getName()));
+        return names;
+    }
+
+    private static Map<String, Object> properties(PropertySource<?> propertySource) {
+        Map<String, Object> properties = new TreeMap<>();
+        for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+            Object value = propertySource.getProperty(name);
+            properties.put(name, value instanceof OriginTrackedValue ? ((OriginTrackedValue) value).getValue() : value);
+        }
+        return properties;
+    }
+
+    private static ByteArrayResource resource(String yaml) {
+        return new ByteArrayResource(yaml.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,247 @@
+package com.codedreamplus.auto.index;
+
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Description: [classpath 索引]</p >
+ * Created on 2026-10-17
+ * <p>构建时由 {@link ClasspathIndexCompiler} 把应用及其全部依赖中的 META-INF/spring.factories、META-INF/services/*
+ * 合并为一个文件 {@link #INDEX_RESOURCE_LOCATION}；启动时 {@link #install(Class)} 读取该文件并写入
+ * {@link SpringFactoriesLoader} 的缓存，{@link com.codedreamplus.auto.service.AutoServiceLoader} 也从中获取服务实现，
+ * 不再逐个 jar 包查找。索引描述的是构建时的 classpath，classpath 发生变化后需要重新构建，
+ * 可以通过系统属性 {@link #ENABLED_PROPERTY}=false 临时关闭</p>
+ *
+ * @author mo
+ */
+public final class ClasspathIndex {
+    private static final Logger log = Logger.getLogger(ClasspathIndex.class.getName());
+    /**
+     * 索引文件位置
+     */
+    public static final String INDEX_RESOURCE_LOCATION = "META-INF/codedream/classpath.index";
+    /**
+     * 是否启用索引的系统属性，默认启用
+     */
+    public static final String ENABLED_PROPERTY = "codedream.classpath-index";
+    private static final String FACTORIES_PREFIX = "factories.";
+    private static final String SERVICES_PREFIX = "services.";
+    /**
+     * 每个类加载器下已安装的索引
+     */
+    private static final Map<ClassLoader, ClasspathIndex> INSTALLED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * key 工厂类型 -> value 实现类，按 classpath 顺序排列
+     */
+    private final Map<String, List<String>> factories;
+    /**
+     * key 服务接口 -> value 实现类，按 classpath 顺序排列
+     */
+    private final Map<String, List<String>> services;
+
+    ClasspathIndex(Map<String, List<String>> factories, Map<String, List<String>> services) {
+        this.factories = sorted(factories);
+        this.services = sorted(services);
+    }
+
+    /**
+     * 所有 spring.factories 条目
+     *
+     * @return key 工厂类型 -> value 实现类
+     */
+    public Map<String, List<String>> getFactories() {
+        return factories;
+    }
+
+    /**
+     * 获取服务实现
+     *
+     * @param service 服务接口名称
+     * @return 实现类名称，不存在时返回空列表
+     */
+    public List<String> getServices(String service) {
+        return services.getOrDefault(service, Collections.emptyList());
+    }
+
+    /**
+     * 所有 META-INF/services 条目
+     *
+     * @return key 服务接口 -> value 实现类
+     */
+    public Map<String, List<String>> getServices() {
+        return services;
+    }
+
+    /**
+     * 安装与应用类位于同一 classpath 条目(jar 包或目录)下的索引，需在 SpringApplication 创建之前调用，
+     * 例如 main 方法的第一行；依赖的 jar 包中即使带有索引也不会被使用
+     *
+     * @param applicationClass 应用主类
+     * @return 是否安装成功，未启用或找不到索引时返回 false
+     */
+    public static boolean install(Class<?> applicationClass) {
+        if ("false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY))) {
+            return false;
+        }
+        ClassLoader classLoader = applicationClass.getClassLoader();
+        if (classLoader == null) {
+            return false;
+        }
+        URL url = classLoader.getResource(INDEX_RESOURCE_LOCATION);
+        if (url == null || !isSameCodeSource(applicationClass, url)) {
+            return false;
+        }
+        ClasspathIndex index;
+        try (InputStream input = url.openStream()) {
+            index = read(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + url, e);
+        }
+        INSTALLED.put(classLoader, index);
+        SpringFactoriesCache.seed(classLoader, index);
+        return true;
+    }
+
+    /**
+     * 获取已安装的索引
+     *
+     * @param classLoader 类加载器
+     * @return 索引，未安装时返回 null
+     */
+    public static ClasspathIndex getInstalled(ClassLoader classLoader) {
+        return INSTALLED.get(classLoader);
+    }
+
+    /**
+     * 移除已安装的索引，{@link SpringFactoriesLoader} 中已缓存的结果不受影响
+     *
+     * @param classLoader 类加载器
+     */
+    public static void uninstall(ClassLoader classLoader) {
+        INSTALLED.remove(classLoader);
+    }
+
+    /**
+     * 读取索引，每行为 factories.{工厂类型}=实现类,... 或 services.{服务接口}=实现类,...，# 开头为注释
+     *
+     * @param input 输入流
+     * @return 索引
+     * @throws IOException 抛出io异常
+     */
+    public static ClasspathIndex read(InputStream input) throws IOException {
+        Map<String, List<String>> factories = new HashMap<>(64);
+        Map<String, List<String>> services = new HashMap<>(64);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int separator = line.indexOf('=');
+            if (line.isEmpty() || line.charAt(0) == '#' || separator < 0) {
+                continue;
+            }
+            String key = line.substring(0, separator);
+            List<String> values = Arrays.asList(line.substring(separator + 1).split(","));
+            if (key.startsWith(FACTORIES_PREFIX)) {
+                factories.put(key.substring(FACTORIES_PREFIX.length()), values);
+            } else if (key.startsWith(SERVICES_PREFIX)) {
+                services.put(key.substring(SERVICES_PREFIX.length()), values);
+            }
+        }
+        return new ClasspathIndex(factories, services);
+    }
+
+    /**
+     * 写入索引，key 按字典序排列，换行统一为 \n，相同的输入得到相同的字节
+     *
+     * @param output 输出流
+     * @throws IOException 抛出io异常
+     */
+    public void write(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("# Generated from META-INF/spring.factories and META-INF/services/* of the whole classpath, do not edit\n");
+        for (Map.Entry<String, List<String>> entry : factories.entrySet()) {
+            writer.write(FACTORIES_PREFIX + entry.getKey() + "=" + String.join(",", entry.getValue()) + "\n");
+        }
+        for (Map.Entry<String, List<String>> entry : services.entrySet()) {
+            writer.write(SERVICES_PREFIX + entry.getKey() + "=" + String.join(",", entry.getValue()) + "\n");
+        }
+        writer.flush();
+    }
+
+    private static boolean isSameCodeSource(Class<?> applicationClass, URL url) {
+        CodeSource codeSource = applicationClass.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return false;
+        }
+        // jar:file:app.jar!/BOOT-INF/classes!/ 或 file:/app/target/classes/
+        String location = codeSource.getLocation().toString();
+        String resource = url.toString();
+        return resource.startsWith(location) || resource.startsWith("jar:" + location + "!/");
+    }
+
+    private static Map<String, List<String>> sorted(Map<String, List<String>> entries) {
+        Map<String, List<String>> result = new TreeMap<>();
+        entries.forEach((k, v) -> {
+            if (!v.isEmpty()) {
+                result.put(k, Collections.unmodifiableList(new ArrayList<>(v)));
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 写入 {@link SpringFactoriesLoader} 的缓存，与 {@link ClasspathIndex} 分开加载，
+     * 构建插件只使用索引读写时不需要 spring 类；缓存结构与 spring 5.x 不一致或无法访问时只提供服务索引并输出警告
+     */
+    private static final class SpringFactoriesCache {
+
+        @SuppressWarnings("unchecked")
+        private static void seed(ClassLoader classLoader, ClasspathIndex index) {
+            Field field;
+            try {
+                field = SpringFactoriesLoader.class.getDeclaredField("cache");
+            } catch (NoSuchFieldException e) {
+                warn("SpringFactoriesLoader.cache does not exist", null);
+                return;
+            }
+            // spring 5.0 ~ 5.2 的缓存为 ClassLoader -> MultiValueMap，5.3 为 ClassLoader -> Map<String, List<String>>，
+            // LinkedMultiValueMap 同时满足两者；6.x 缓存的是 SpringFactoriesLoader 实例，不支持
+            String type = field.getGenericType().getTypeName();
+            boolean supported = Modifier.isStatic(field.getModifiers()) && Map.class.isAssignableFrom(field.getType())
+                    && (type.endsWith("<java.lang.ClassLoader, org.springframework.util.MultiValueMap<java.lang.String, java.lang.String>>")
+                    || type.endsWith("<java.lang.ClassLoader, java.util.Map<java.lang.String, java.util.List<java.lang.String>>>"));
+            if (!supported) {
+                warn("unsupported SpringFactoriesLoader.cache type " + type, null);
+                return;
+            }
+            LinkedMultiValueMap<String, String> factories = new LinkedMultiValueMap<>(index.getFactories().size());
+            index.getFactories().forEach((k, v) -> factories.put(k, new ArrayList<>(v)));
+            Object previous;
+            try {
+                field.setAccessible(true);
+                previous = ((Map<ClassLoader, Object>) field.get(null)).putIfAbsent(classLoader, factories);
+            } catch (IllegalAccessException | RuntimeException e) {
+                warn("SpringFactoriesLoader.cache is not accessible", e);
+                return;
+            }
+            if (previous != null) {
+                warn("spring.factories of this class loader have already been loaded, call ClasspathIndex.install earlier", null);
+            }
+        }
+
+        private static void warn(String reason, Throwable e) {
+            log.log(Level.WARNING, "Skipped seeding SpringFactoriesLoader from " + INDEX_RESOURCE_LOCATION + ": " + reason
+                    + ", spring.factories will be scanned as usual", e);
+        }
+    }
+}
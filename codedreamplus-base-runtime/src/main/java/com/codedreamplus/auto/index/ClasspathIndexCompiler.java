@@ -0,0 +1,211 @@
+package com.codedreamplus.auto.index;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * <p>Description: [classpath 索引编译器]</p >
+ * Created on 2026-10-17
+ * <p>按 classpath 顺序读取每个条目(目录或 jar 包)中的 META-INF/spring.factories 与 META-INF/services/*，
+ * 合并为 {@link ClasspathIndex}。只依赖 jdk，由 codedreamplus-base-maven-plugin 在打包前调用，
+ * 其他构建工具可以直接执行：ClasspathIndexCompiler {classes 目录} {classpath 条目...}，第一个条目通常就是 classes 目录；
+ * 为了不引入依赖，日志使用 java.util.logging</p>
+ *
+ * @author mo
+ */
+public final class ClasspathIndexCompiler {
+    private static final Logger log = Logger.getLogger(ClasspathIndexCompiler.class.getName());
+    private static final String FACTORIES_RESOURCE_LOCATION = "META-INF/spring.factories";
+    private static final String SERVICES_DIRECTORY = "META-INF/services/";
+
+    /**
+     * key 工厂类型 -> value 实现类
+     */
+    private final Map<String, Set<String>> factories = new HashMap<>(64);
+    /**
+     * key 服务接口 -> value 实现类
+     */
+    private final Map<String, Set<String>> services = new HashMap<>(64);
+    private int entries;
+
+    /**
+     * 编译并写入索引
+     *
+     * @param args 第一个参数为 classes 目录，之后为 classpath 条目，每个参数中可以包含多个以路径分隔符分隔的条目
+     * @throws IOException 抛出io异常
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: ClasspathIndexCompiler <classes directory> <classpath entry...>");
+        }
+        List<Path> classpath = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            for (String entry : args[i].split(File.pathSeparator)) {
+                if (!entry.isEmpty()) {
+                    classpath.add(Paths.get(entry));
+                }
+            }
+        }
+        ClasspathIndexCompiler compiler = new ClasspathIndexCompiler();
+        compiler.addAll(classpath);
+        boolean written = compiler.write(Paths.get(args[0]));
+        log.info(String.format("%s %s from %d classpath entries", written ? "Wrote" : "Unchanged",
+                ClasspathIndex.INDEX_RESOURCE_LOCATION, compiler.getEntries()));
+    }
+
+    /**
+     * 按顺序添加 classpath 条目，不存在的条目忽略
+     *
+     * @param classpath classpath 条目
+     * @throws IOException 抛出io异常
+     */
+    public void addAll(List<Path> classpath) throws IOException {
+        for (Path path : classpath) {
+            add(path);
+        }
+    }
+
+    /**
+     * 添加一个 classpath 条目
+     *
+     * @param path 目录或 jar 包
+     * @throws IOException 抛出io异常
+     */
+    public void add(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            addDirectory(path);
+        } else if (Files.isRegularFile(path)) {
+            addJar(path);
+        } else {
+            return;
+        }
+        entries++;
+    }
+
+    /**
+     * 已添加的 classpath 条目数量
+     *
+     * @return 数量
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * 合并结果
+     *
+     * @return 索引
+     */
+    public ClasspathIndex toIndex() {
+        Map<String, List<String>> factoryLists = new HashMap<>(factories.size());
+        factories.forEach((k, v) -> factoryLists.put(k, new ArrayList<>(v)));
+        Map<String, List<String>> serviceLists = new HashMap<>(services.size());
+        services.forEach((k, v) -> serviceLists.put(k, new ArrayList<>(v)));
+        return new ClasspathIndex(factoryLists, serviceLists);
+    }
+
+    /**
+     * 写入 {classes 目录}/{@link ClasspathIndex#INDEX_RESOURCE_LOCATION}，内容未变化时不写入
+     *
+     * @param classesDirectory classes 目录
+     * @return 是否写入
+     * @throws IOException 抛出io异常
+     */
+    public boolean write(Path classesDirectory) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(8192);
+        toIndex().write(output);
+        byte[] content = output.toByteArray();
+        Path file = classesDirectory.resolve(ClasspathIndex.INDEX_RESOURCE_LOCATION);
+        if (Files.isRegularFile(file) && Arrays.equals(Files.readAllBytes(file), content)) {
+            return false;
+        }
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        return true;
+    }
+
+    private void addDirectory(Path directory) throws IOException {
+        Path factoriesFile = directory.resolve(FACTORIES_RESOURCE_LOCATION);
+        if (Files.isRegularFile(factoriesFile)) {
+            try (InputStream input = Files.newInputStream(factoriesFile)) {
+                readFactories(input);
+            }
+        }
+        Path servicesDirectory = directory.resolve(SERVICES_DIRECTORY);
+        if (!Files.isDirectory(servicesDirectory)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(servicesDirectory)) {
+            stream.filter(Files::isRegularFile).forEach(files::add);
+        }
+        Collections.sort(files);
+        for (Path file : files) {
+            try (InputStream input = Files.newInputStream(file)) {
+                readServices(file.getFileName().toString(), input);
+            }
+        }
+    }
+
+    private void addJar(Path jar) throws IOException {
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            ZipEntry factoriesEntry = zipFile.getEntry(FACTORIES_RESOURCE_LOCATION);
+            if (factoriesEntry != null) {
+                try (InputStream input = zipFile.getInputStream(factoriesEntry)) {
+                    readFactories(input);
+                }
+            }
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                String name = entry.getName();
+                if (entry.isDirectory() || !name.startsWith(SERVICES_DIRECTORY) || name.indexOf('/', SERVICES_DIRECTORY.length()) >= 0) {
+                    continue;
+                }
+                try (InputStream input = zipFile.getInputStream(entry)) {
+                    readServices(name.substring(SERVICES_DIRECTORY.length()), input);
+                }
+            }
+        }
+    }
+
+    /**
+     * 与 SpringFactoriesLoader 一致，按 properties 格式解析，值以逗号分隔
+     */
+    private void readFactories(InputStream input) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+        for (String factoryType : new TreeSet<>(properties.stringPropertyNames())) {
+            Set<String> names = factories.computeIfAbsent(factoryType.trim(), (ignored) -> new LinkedHashSet<>());
+            for (String name : properties.getProperty(factoryType).split(",")) {
+                if (!name.trim().isEmpty()) {
+                    names.add(name.trim());
+                }
+            }
+        }
+    }
+
+    /**
+     * 与 ServiceLoader 一致，# 之后为注释，同一实现类只保留第一次出现的位置
+     */
+    private void readServices(String service, InputStream input) throws IOException {
+        Set<String> names = services.computeIfAbsent(service, (ignored) -> new LinkedHashSet<>());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int comment = line.indexOf('#');
+            String name = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.codedreamplus.auto.service;
+
+import java.lang.annotation.*;
+
+/**
+ * An annotation for service providers as described in {@link java.util.ServiceLoader}. The {@code
+ * com.codedreamplus.auto.service.AutoServiceProcessor} in codedreamplus-base-processor generates the configuration files which
+ * allows service providers to be loaded with {@link java.util.ServiceLoader#load(Class)}.
+ *
+ * <p>Service providers assert that they conform to the service provider specification.
+ * Specifically, they must:
+ *
+ * <ul>
+ * <li>be a non-inner, non-anonymous, concrete class
+ * <li>have a publicly accessible no-arg constructor
+ * <li>implement the interface type returned by {@code value()}
+ * </ul>
+ *
+ * <p>The annotation is retained at runtime so that {@link AutoServiceLoader} can sort providers
+ * from different modules by {@link #order()}, and so that incremental compilations can tell
+ * whether a previously generated entry is still declared by an unchanged provider.
+ *
+ * @author google
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface AutoService {
+	/**
+	 * Returns the interfaces implemented by this service provider.
+	 *
+	 * @return interface array
+	 */
+	Class<?>[] value();
+
+	/**
+	 * Returns the order of this provider among all providers of the same interface, lower values
+	 * come first. Within a module, providers with the same order are sorted by class name;
+	 * {@link AutoServiceLoader} keeps the loading order for equal orders across modules.
+	 *
+	 * @return order
+	 */
+	int order() default 0;
+}
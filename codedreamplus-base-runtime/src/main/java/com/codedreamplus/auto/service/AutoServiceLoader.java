@@ -0,0 +1,246 @@
+package com.codedreamplus.auto.service;
+
+import com.codedreamplus.auto.index.ClasspathIndex;
+
+import java.io.IOException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>Description: [spi 服务加载]</p >
+ * Created on 2026-10-17
+ * <p>编译期生成的 {@link ServiceIndex} 中的实现直接通过构造器创建。接口的每个 META-INF/services 文件都位于带有完整索引的模块中时，
+ * 只使用索引，不再通过 {@link ServiceLoader} 逐个 jar 包读取；该判断在每个类加载器下对每个接口只做一次。
+ * 没有索引、索引不完整({@link ServiceIndex#getIncompleteServices()})或者还有其他模块(未生成索引的模块、手写的 META-INF/services)
+ * 提供实现的接口仍与 {@link ServiceLoader} 找到的实现合并，按实现类去重。
+ * 已安装 {@link ClasspathIndex} 时，{@link ServiceIndex} 与其他服务实现都从 classpath 索引中查找，不再逐个 jar 包读取 META-INF/services。
+ * 合并后按 {@link AutoService#order()} 排序，索引中的实现类使用索引记录的排序值，其他实现类读取注解，排序相同时保持加载顺序</p>
+ *
+ * @author mo
+ */
+public final class AutoServiceLoader {
+    /**
+     * 每个类加载器下合并后的服务索引
+     */
+    private static final Map<ClassLoader, Index> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private AutoServiceLoader() {
+    }
+
+    /**
+     * 使用线程上下文类加载器加载服务
+     *
+     * @param service 服务接口
+     * @param <S>     服务类型
+     * @return 服务实现列表
+     */
+    public static <S> List<S> load(Class<S> service) {
+        return load(service, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * 加载服务，每次调用都会创建新的服务实例
+     *
+     * @param service     服务接口
+     * @param classLoader 类加载器
+     * @param <S>         服务类型
+     * @return 服务实现列表
+     */
+    public static <S> List<S> load(Class<S> service, ClassLoader classLoader) {
+        ClassLoader loader = classLoader == null ? AutoServiceLoader.class.getClassLoader() : classLoader;
+        Index index = getIndex(loader);
+        List<Supplier<?>> suppliers = index.providers.getOrDefault(service.getName(), Collections.emptyList());
+        List<S> services = new ArrayList<>();
+        // 索引中已创建的实现类
+        Set<String> indexed = new HashSet<>();
+        for (Supplier<?> supplier : suppliers) {
+            S s = service.cast(supplier.get());
+            if (indexed.add(s.getClass().getName())) {
+                services.add(s);
+            }
+        }
+        ClasspathIndex classpathIndex = ClasspathIndex.getInstalled(loader);
+        if (classpathIndex != null) {
+            List<String> classNames = new ArrayList<>();
+            for (String className : classpathIndex.getServices(service.getName())) {
+                if (indexed.add(className)) {
+                    classNames.add(className);
+                }
+            }
+            services.addAll(instantiate(service, classNames, loader));
+        } else if (!index.isComplete(service.getName(), loader)) {
+            // stream 只加载实现类，不实例化，索引中已有的实现类直接跳过
+            ServiceLoader.load(service, loader).stream()
+                    .filter(provider -> indexed.add(provider.type().getName()))
+                    .forEach(provider -> services.add(provider.get()));
+        }
+        sort(services, index.orders);
+        return services;
+    }
+
+    /**
+     * 按 {@link AutoService#order()} 排序，List.sort 为稳定排序，排序相同时保持加载顺序
+     *
+     * @param services 实现列表
+     * @param orders   索引中的排序值
+     */
+    private static <S> void sort(List<S> services, Map<String, Integer> orders) {
+        if (services.size() < 2) {
+            return;
+        }
+        Map<Class<?>, Integer> resolved = new HashMap<>();
+        for (S s : services) {
+            resolved.computeIfAbsent(s.getClass(), type -> {
+                Integer order = orders.get(type.getName());
+                if (order != null) {
+                    return order;
+                }
+                // 旧版本编译的实现类注解为 CLASS 级别，读取不到时为 0
+                AutoService autoService = type.getAnnotation(AutoService.class);
+                return autoService == null ? 0 : autoService.order();
+            });
+        }
+        services.sort(Comparator.comparingInt(s -> resolved.get(s.getClass())));
+    }
+
+    /**
+     * 是否存在该接口的服务索引
+     *
+     * @param service     服务接口
+     * @param classLoader 类加载器
+     * @return 是否存在
+     */
+    public static boolean isIndexed(Class<?> service, ClassLoader classLoader) {
+        ClassLoader loader = classLoader == null ? AutoServiceLoader.class.getClassLoader() : classLoader;
+        return getIndex(loader).providers.containsKey(service.getName());
+    }
+
+    private static Index getIndex(ClassLoader classLoader) {
+        Index index = INDEXES.get(classLoader);
+        if (index == null) {
+            index = loadIndex(classLoader);
+            INDEXES.put(classLoader, index);
+        }
+        return index;
+    }
+
+    private static Index loadIndex(ClassLoader classLoader) {
+        Map<String, List<Supplier<?>>> providers = new HashMap<>(16);
+        Map<String, Integer> orders = new HashMap<>(16);
+        Map<String, Set<String>> locations = new HashMap<>(16);
+        Set<String> incomplete = new HashSet<>();
+        ClasspathIndex classpathIndex = ClasspathIndex.getInstalled(classLoader);
+        Iterable<ServiceIndex> serviceIndexes = classpathIndex == null ? ServiceLoader.load(ServiceIndex.class, classLoader)
+                : instantiate(ServiceIndex.class, classpathIndex.getServices(ServiceIndex.class.getName()), classLoader);
+        for (ServiceIndex serviceIndex : serviceIndexes) {
+            String location = getLocation(serviceIndex.getClass());
+            serviceIndex.getProviders().forEach((k, v) -> {
+                providers.computeIfAbsent(k, (ignored) -> new ArrayList<>()).addAll(v);
+                if (location == null) {
+                    incomplete.add(k);
+                } else {
+                    locations.computeIfAbsent(k, (ignored) -> new HashSet<>()).add(location);
+                }
+            });
+            orders.putAll(serviceIndex.getProviderOrders());
+            incomplete.addAll(serviceIndex.getIncompleteServices());
+        }
+        providers.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        return new Index(Collections.unmodifiableMap(providers), Collections.unmodifiableMap(orders), locations, incomplete);
+    }
+
+    /**
+     * 类所在的 classpath 条目，如 file:/app/target/classes/、jar:file:app.jar!/BOOT-INF/lib/x.jar!/
+     *
+     * @param type 类
+     * @return 位置，无法确定时返回 null
+     */
+    private static String getLocation(Class<?> type) {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        return codeSource == null || codeSource.getLocation() == null ? null : codeSource.getLocation().toString();
+    }
+
+    /**
+     * 按 {@link ServiceLoader} 的方式通过无参构造器实例化 classpath 索引中的实现类
+     */
+    private static <S> List<S> instantiate(Class<S> service, List<String> classNames, ClassLoader classLoader) {
+        List<S> services = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            try {
+                Class<?> type = Class.forName(className, false, classLoader);
+                if (!service.isAssignableFrom(type)) {
+                    throw new ServiceConfigurationError(service.getName() + ": Provider " + className + " not a subtype");
+                }
+                services.add(service.cast(type.getDeclaredConstructor().newInstance()));
+            } catch (ReflectiveOperationException | LinkageError e) {
+                throw new ServiceConfigurationError(service.getName() + ": Provider " + className + " could not be instantiated", e);
+            }
+        }
+        return services;
+    }
+
+    /**
+     * 合并后的服务索引
+     */
+    private static final class Index {
+        /**
+         * key 接口名称 -> value 实现类构造器
+         */
+        private final Map<String, List<Supplier<?>>> providers;
+        /**
+         * key 实现类名称 -> value 排序值
+         */
+        private final Map<String, Integer> orders;
+        /**
+         * key 接口名称 -> value 包含该接口索引的 classpath 条目
+         */
+        private final Map<String, Set<String>> locations;
+        /**
+         * 实现类没有全部写入索引的接口
+         */
+        private final Set<String> incomplete;
+        /**
+         * key 接口名称 -> value 所有实现是否都在索引中
+         */
+        private final Map<String, Boolean> complete = new ConcurrentHashMap<>();
+
+        private Index(Map<String, List<Supplier<?>>> providers, Map<String, Integer> orders,
+                      Map<String, Set<String>> locations, Set<String> incomplete) {
+            this.providers = providers;
+            this.orders = orders;
+            this.locations = locations;
+            this.incomplete = incomplete;
+        }
+
+        /**
+         * 接口的所有实现是否都在索引中：索引完整，且该接口的每个 META-INF/services 文件都与某个索引位于同一 classpath 条目
+         *
+         * @param service     接口名称
+         * @param classLoader 类加载器
+         * @return 是否可以只使用索引
+         */
+        private boolean isComplete(String service, ClassLoader classLoader) {
+            if (!providers.containsKey(service) || incomplete.contains(service)) {
+                return false;
+            }
+            return complete.computeIfAbsent(service, (ignored) -> {
+                Set<String> indexLocations = locations.get(service);
+                try {
+                    Enumeration<URL> urls = classLoader.getResources("META-INF/services/" + service);
+                    while (urls.hasMoreElements()) {
+                        String url = urls.nextElement().toString();
+                        if (indexLocations.stream().noneMatch(location -> url.startsWith(location) || url.startsWith("jar:" + location + "!/"))) {
+                            return false;
+                        }
+                    }
+                } catch (IOException e) {
+                    return false;
+                }
+                return true;
+            });
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.codedreamplus.auto.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Description: [spi 服务注册中心]</p >
+ * Created on 2026-10-17
+ * <p>首次获取某个接口时通过 {@link AutoServiceLoader} 加载并实例化所有实现，之后直接返回缓存的单例，读取时不加锁。
+ * 所有模块的实现合并后按 {@link AutoService#order()} 排序，排序相同时同一模块内按类名、多个模块之间按 classpath 顺序排列</p>
+ *
+ * @author mo
+ */
+public final class AutoServiceRegistry {
+    /**
+     * key 接口 -> value 实现列表
+     */
+    private static final Map<Class<?>, List<?>> PROVIDERS = new ConcurrentHashMap<>();
+
+    private AutoServiceRegistry() {
+    }
+
+    /**
+     * 获取接口的所有实现
+     *
+     * @param service 服务接口
+     * @param <S>     服务类型
+     * @return 不可修改的实现列表
+     */
+    @SuppressWarnings("unchecked")
+    public static <S> List<S> getAll(Class<S> service) {
+        List<?> providers = PROVIDERS.get(service);
+        if (providers == null) {
+            providers = resolve(service);
+        }
+        return (List<S>) providers;
+    }
+
+    /**
+     * 获取接口的第一个实现
+     *
+     * @param service 服务接口
+     * @param <S>     服务类型
+     * @return 实现，不存在时返回 null
+     */
+    public static <S> S getFirst(Class<S> service) {
+        List<S> providers = getAll(service);
+        return providers.isEmpty() ? null : providers.get(0);
+    }
+
+    /**
+     * 清空缓存，下次获取时重新加载
+     */
+    public static void clear() {
+        PROVIDERS.clear();
+    }
+
+    /**
+     * 加载实现，同一接口只会实例化一次；使用可重入锁，实现类构造器中可以继续获取其他接口
+     */
+    private static synchronized List<?> resolve(Class<?> service) {
+        List<?> providers = PROVIDERS.get(service);
+        if (providers == null) {
+            providers = Collections.unmodifiableList(AutoServiceLoader.load(service));
+            PROVIDERS.put(service, providers);
+        }
+        return providers;
+    }
+}
@@ -0,0 +1,44 @@
+package com.codedreamplus.auto.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * <p>Description: [编译期生成的 spi 服务索引]</p >
+ * Created on 2026-10-17
+ * <p>codedreamplus-base-processor 中的 {@code com.codedreamplus.auto.service.AutoServiceProcessor} 为每个模块生成实现类，直接通过构造器创建服务实现，
+ * 运行时由 {@link AutoServiceLoader} 读取，索引中的实现类无需反射实例化；
+ * 接口的实现都在索引中时，{@link AutoServiceLoader} 不再通过 {@link java.util.ServiceLoader} 查找该模块的实现</p>
+ *
+ * @author mo
+ */
+public interface ServiceIndex {
+
+    /**
+     * 获取索引中的服务
+     *
+     * @return key 接口名称({@link Class#getName()}) -> value 实现类构造器
+     */
+    Map<String, List<Supplier<?>>> getProviders();
+
+    /**
+     * 获取索引中实现类的 {@link AutoService#order()}，不同模块的实现合并后按此排序
+     *
+     * @return key 实现类名称({@link Class#getName()}) -> value 排序值，只包含不为 0 的实现类
+     */
+    default Map<String, Integer> getProviderOrders() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 获取实现类没有全部写入索引的接口(非 public、缺少 public 无参构造器等)，运行时这些接口仍通过 {@link java.util.ServiceLoader} 查找
+     *
+     * @return 接口名称({@link Class#getName()})
+     */
+    default Set<String> getIncompleteServices() {
+        return Collections.emptySet();
+    }
+}
@@ -0,0 +1,132 @@
+package com.codedreamplus.auto.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Description: [classpath 索引的编译、读写与安装]</p >
+ * Created on 2026-10-17
+ *
+ * @author mo
+ */
+class ClasspathIndexTest {
+    private static final String FACTORY = FactoryType.class.getName();
+    private static final String SERVICE = "demo.Service";
+
+    @TempDir
+    Path temp;
+
+    /**
+     * 按 classpath 顺序合并目录与 jar 包中的条目，写入后读取的结果一致，内容不变时不重复写入
+     */
+    @Test
+    void roundTripsCompiledIndex() throws IOException {
+        Path classes = classes();
+        ClasspathIndexCompiler compiler = new ClasspathIndexCompiler();
+        compiler.addAll(Arrays.asList(classes, jar(), temp.resolve("missing.jar")));
+        assertEquals(2, compiler.getEntries());
+        assertTrue(compiler.write(classes));
+        assertFalse(compiler.write(classes));
+
+        ClasspathIndex index;
+        try (InputStream input = Files.newInputStream(classes.resolve(ClasspathIndex.INDEX_RESOURCE_LOCATION))) {
+            index = ClasspathIndex.read(input);
+        }
+        assertEquals(Arrays.asList("demo.A", "demo.B", "demo.C"), index.getFactories().get(FACTORY));
+        assertEquals(Arrays.asList("demo.ServiceA", "demo.ServiceB"), index.getServices(SERVICE));
+        assertEquals(Collections.emptyList(), index.getServices("demo.Missing"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        index.write(output);
+        ClasspathIndex copy = ClasspathIndex.read(new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(index.getFactories(), copy.getFactories());
+        assertEquals(index.getServices(), copy.getServices());
+    }
+
+    /**
+     * 安装后 SpringFactoriesLoader 直接使用索引，即使 classes 目录中没有 spring.factories
+     */
+    @Test
+    void installsIndexIntoSpringFactoriesLoader() throws Exception {
+        Path classes = Files.createDirectories(temp.resolve("app"));
+        String application = Application.class.getName().replace('.', '/') + ".class";
+        try (InputStream input = ClasspathIndexTest.class.getClassLoader().getResourceAsStream(application)) {
+            Files.createDirectories(classes.resolve(application).getParent());
+            Files.copy(input, classes.resolve(application));
+        }
+        ClasspathIndexCompiler compiler = new ClasspathIndexCompiler();
+        compiler.addAll(Arrays.asList(classes(), jar()));
+        compiler.write(classes);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, null)) {
+            Class<?> applicationClass = classLoader.loadClass(Application.class.getName());
+            assertTrue(ClasspathIndex.install(applicationClass));
+            assertEquals(Arrays.asList("demo.ServiceA", "demo.ServiceB"), ClasspathIndex.getInstalled(classLoader).getServices(SERVICE));
+            assertEquals(Arrays.asList("demo.A", "demo.B", "demo.C"), SpringFactoriesLoader.loadFactoryNames(FactoryType.class, classLoader));
+            ClasspathIndex.uninstall(classLoader);
+            assertNull(ClasspathIndex.getInstalled(classLoader));
+        }
+    }
+
+    /**
+     * 应用类与索引不在同一 classpath 条目下时不安装
+     */
+    @Test
+    void ignoresIndexOfOtherCodeSource() throws Exception {
+        Path classes = classes();
+        new ClasspathIndexCompiler().write(classes);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())) {
+            assertFalse(ClasspathIndex.install(classLoader.loadClass(Application.class.getName())));
+        }
+    }
+
+    static class Application {
+    }
+
+    interface FactoryType {
+    }
+
+    private Path classes() throws IOException {
+        Path classes = Files.createDirectories(temp.resolve("classes"));
+        write(classes.resolve("META-INF/spring.factories"), FACTORY + "=demo.A,\\\n  demo.B\n");
+        write(classes.resolve("META-INF/services/" + SERVICE), "# comment\ndemo.ServiceA # first\n");
+        return classes;
+    }
+
+    private Path jar() throws IOException {
+        Path jar = temp.resolve("library.jar");
+        try (OutputStream output = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(output)) {
+            zip.putNextEntry(new ZipEntry("META-INF/spring.factories"));
+            zip.write((FACTORY + "=demo.B,demo.C\n").getBytes(UTF_8));
+            zip.putNextEntry(new ZipEntry("META-INF/services/" + SERVICE));
+            zip.write("demo.ServiceB\ndemo.ServiceA\n".getBytes(UTF_8));
+            zip.putNextEntry(new ZipEntry("META-INF/services/nested/ignored"));
+            zip.write("demo.Ignored\n".getBytes(UTF_8));
+        }
+        return jar;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(UTF_8));
+    }
+
+}